@@ -0,0 +1,62 @@
+package RomanNumberSimple;
+
+import RomanNumbersSubstract.ArabicNumbers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+RomanNumberSimple.RomanNumerals.convertArabic with the same inputs as RomanNumbersSubstract.EncoderBenchmark,
+so the numbers of both katas can be compared directly.
+
+This benchmark lives in the package RomanNumberSimple because RomanNumerals is package private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimpleEncoderBenchmark {
+
+    @Param({"SINGLE", "UNIFORM", "HOT"})
+    public ArabicNumbers.Distribution distribution;
+
+    private ArabicNumbers arabicNumbers;
+    private RomanNumerals romanNumerals;
+    private RomanNumerals subtractive;
+
+    @Setup
+    public void setUp() {
+        arabicNumbers = new ArabicNumbers(distribution);
+        romanNumerals = new RomanNumerals();
+        subtractive = new RomanNumerals(RomanNumerals.Style.SUBTRACTIVE);
+    }
+
+    @Benchmark
+    public String convertArabic() {
+        return romanNumerals.convertArabic(arabicNumbers.next());
+    }
+
+    @Benchmark
+    public String convertArabicSubtractive() {
+        return subtractive.convertArabic(arabicNumbers.next());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String convertArabicMultiThreaded() {
+        return romanNumerals.convertArabic(arabicNumbers.next());
+    }
+}
@@ -0,0 +1,68 @@
+package RomanNumbersSubstract;
+
+import java.util.Random;
+
+/*
+Input data for the benchmarks.
+
+Every benchmark invocation takes the next number of a pre-generated array, so the numbers are not constant
+(the JIT can't fold them) and generating them isn't measured.
+
+ SINGLE  - always the same number (1990)
+ UNIFORM - uniform random 1..3999
+ HOT     - 90% of the numbers are taken from 64 "hot" values, the rest is uniform random,
+           like chapter or sequence numbers where the same few values recur constantly
+ */
+public final class ArabicNumbers {
+
+    public enum Distribution {
+        SINGLE,
+        UNIFORM,
+        HOT
+    }
+
+    public static final int SIZE = 4096; // power of 2, see next()
+    private static final int HOT_VALUES = 64;
+    private static final long SEED = 42;
+
+    private final int[] numbers;
+    private int cursor;
+
+    public ArabicNumbers(Distribution distribution) {
+        this.numbers = generate(distribution, SIZE);
+    }
+
+    public int next() {
+        return numbers[cursor++ & (SIZE - 1)];
+    }
+
+    public static int[] generate(Distribution distribution, int size) {
+        Random random = new Random(SEED);
+        int[] hotValues = new int[HOT_VALUES];
+        for (int i = 0; i < hotValues.length; i++) {
+            hotValues[i] = uniform(random);
+        }
+
+        int[] numbers = new int[size];
+        for (int i = 0; i < size; i++) {
+            switch (distribution) {
+                case SINGLE:
+                    numbers[i] = 1990;
+                    break;
+                case UNIFORM:
+                    numbers[i] = uniform(random);
+                    break;
+                case HOT:
+                    numbers[i] = random.nextInt(10) < 9 ? hotValues[random.nextInt(HOT_VALUES)] : uniform(random);
+                    break;
+                default:
+                    throw new IllegalArgumentException();
+            }
+        }
+        return numbers;
+    }
+
+    private static int uniform(Random random) {
+        return RomanNumeralEncoder.MIN_ARABIC_NUMBER + random.nextInt(RomanNumeralEncoder.MAX_ARABIC_NUMBER);
+    }
+}
@@ -0,0 +1,91 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+Adding two roman labelled values (1 - 1999 each, so the sum has a numeral), time per addition:
+
+ - strings:      what clients do today - decode both numerals, add, encode the sum
+ - romanNumbers: RomanNumber.add, the numerals of the operands and the sum are the cached Strings
+ - array:        RomanNumberArray.add(RomanNumberArray), the sums of SIZE pairs at once
+
+Run with -prof gc to see the allocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArithmeticBenchmark {
+
+    private static final int SIZE = ArabicNumbers.SIZE;
+
+    private final String[] leftNumerals = new String[SIZE];
+    private final String[] rightNumerals = new String[SIZE];
+    private final RomanNumber[] leftNumbers = new RomanNumber[SIZE];
+    private final RomanNumber[] rightNumbers = new RomanNumber[SIZE];
+    private RomanNumberArray leftArray;
+    private RomanNumberArray rightArray;
+
+    @Setup
+    public void setUp() {
+        int[] left = ArabicNumbers.generate(ArabicNumbers.Distribution.UNIFORM, 2 * SIZE);
+        int[] lefts = new int[SIZE];
+        int[] rights = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            lefts[i] = 1 + (left[2 * i] - 1) % 1999;
+            rights[i] = 1 + (left[2 * i + 1] - 1) % 1999;
+            leftNumerals[i] = RomanNumeralEncoder.INSTANCE.convertArabicNumber(lefts[i]);
+            rightNumerals[i] = RomanNumeralEncoder.INSTANCE.convertArabicNumber(rights[i]);
+            leftNumbers[i] = RomanNumber.of(lefts[i]);
+            rightNumbers[i] = RomanNumber.of(rights[i]);
+            leftNumbers[i].toString();
+            leftNumbers[i].add(rightNumbers[i]).toString(); // fills the cache
+        }
+        leftArray = RomanNumberArray.of(lefts);
+        rightArray = RomanNumberArray.of(rights);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int strings() {
+        int length = 0;
+        for (int i = 0; i < SIZE; i++) {
+            int sum = RomanNumeralDecoder.INSTANCE.convertRomanNumeral(leftNumerals[i])
+                    + RomanNumeralDecoder.INSTANCE.convertRomanNumeral(rightNumerals[i]);
+            length += RomanNumeralEncoder.INSTANCE.convertArabicNumber(sum).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int romanNumbers() {
+        int length = 0;
+        for (int i = 0; i < SIZE; i++) {
+            length += leftNumbers[i].add(rightNumbers[i]).toString().length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public RomanNumberArray array() {
+        RomanNumberArray sums = leftArray.copy();
+        sums.add(rightArray);
+        return sums;
+    }
+}
@@ -0,0 +1,84 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/*
+converting ArabicNumbers.SIZE uniform random numbers at once, reported per number (ns/op, B/op),
+the batch methods against one convertArabicNumber call per number.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(ArabicNumbers.SIZE)
+public class BatchEncoderBenchmark {
+
+    private static final RomanNumeralEncoder ENCODER = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE);
+
+    private int[] arabicNumbers;
+    private StringBuilder stringBuilder;
+    private char[] chars;
+    private ByteBuffer heapByteBuffer;
+    private ByteBuffer directByteBuffer;
+
+    @Setup
+    public void setUp() {
+        arabicNumbers = ArabicNumbers.generate(ArabicNumbers.Distribution.UNIFORM, ArabicNumbers.SIZE);
+        int length = ENCODER.getRomanNumbersLength(arabicNumbers);
+        stringBuilder = new StringBuilder(length);
+        chars = new char[length];
+        heapByteBuffer = ByteBuffer.allocate(length);
+        directByteBuffer = ByteBuffer.allocateDirect(length);
+    }
+
+    @Benchmark
+    public StringBuilder callPerNumber() {
+        stringBuilder.setLength(0);
+        for (int i = 0; i < arabicNumbers.length; i++) {
+            if (i > 0) {
+                stringBuilder.append(',');
+            }
+            stringBuilder.append(ENCODER.convertArabicNumber(arabicNumbers[i]));
+        }
+        return stringBuilder;
+    }
+
+    @Benchmark
+    public StringBuilder batchToStringBuilder() {
+        stringBuilder.setLength(0);
+        return ENCODER.convertArabicNumbers(arabicNumbers, ',', stringBuilder);
+    }
+
+    @Benchmark
+    public char[] batchToCharArray() {
+        ENCODER.convertArabicNumbers(arabicNumbers, ',', chars, 0);
+        return chars;
+    }
+
+    @Benchmark
+    public ByteBuffer batchToHeapByteBuffer() {
+        heapByteBuffer.clear();
+        return ENCODER.convertArabicNumbers(arabicNumbers, (byte) ',', heapByteBuffer);
+    }
+
+    @Benchmark
+    public ByteBuffer batchToDirectByteBuffer() {
+        directByteBuffer.clear();
+        return ENCODER.convertArabicNumbers(arabicNumbers, (byte) ',', directByteBuffer);
+    }
+}
@@ -0,0 +1,92 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/*
+A column of ROWS fixed width, space padded numerals: BulkRomanNumeralDecoder with the scalar and the
+vector kernel, and RomanNumeralDecoder row by row. Score = ns per row.
+
+The JVM gets --add-modules jdk.incubator.vector, without it (or on CPUs without 256 bit vectors)
+the vector benchmark fails with UnsupportedOperationException.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class BulkDecoderBenchmark {
+
+    private static final int ROWS = 1 << 16;
+
+    @Param({"15", "16"})
+    public int width;
+
+    @Param({"UNIFORM"})
+    public ArabicNumbers.Distribution distribution;
+
+    private BulkRomanNumeralDecoder scalar;
+    private BulkRomanNumeralDecoder vector;
+    private byte[] column;
+    private int[] values;
+
+    @Setup
+    public void setUp() {
+        scalar = new BulkRomanNumeralDecoder(BulkRomanNumeralDecoder.Implementation.SCALAR);
+        vector = new BulkRomanNumeralDecoder(BulkRomanNumeralDecoder.Implementation.VECTOR);
+
+        int[] arabicNumbers = ArabicNumbers.generate(distribution, ROWS);
+        column = new byte[ROWS * width];
+        Arrays.fill(column, BulkRomanNumeralDecoder.PAD);
+        for (int i = 0; i < ROWS; i++) {
+            byte[] romanNumeral = RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumbers[i]).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(romanNumeral, 0, column, i * width, romanNumeral.length);
+        }
+        values = new int[ROWS];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int[] scalarKernel() {
+        scalar.convertRomanNumerals(column, 0, width, ROWS, values, 0);
+        return values;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int[] vectorKernel() {
+        vector.convertRomanNumerals(column, 0, width, ROWS, values, 0);
+        return values;
+    }
+
+    // RomanNumeralDecoder needs the length of the numeral, so the padding is searched first
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int[] decoderPerRow() {
+        RomanNumeralDecoder decoder = RomanNumeralDecoder.INSTANCE;
+        for (int row = 0; row < ROWS; row++) {
+            int start = row * width;
+            int length = 0;
+            while (length < width && column[start + length] != BulkRomanNumeralDecoder.PAD) {
+                length++;
+            }
+            values[row] = decoder.convertRomanNumeral(column, start, length);
+        }
+        return values;
+    }
+}
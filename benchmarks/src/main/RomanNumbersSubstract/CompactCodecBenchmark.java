@@ -0,0 +1,114 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/*
+RomanNumeralColumn (2 bytes per numeral) against plain UTF-8 text (the numerals separated by ',').
+
+Size: uniform 1 - 3999 the roman numerals have 7.5 characters on average, so UTF-8 needs 8.5 bytes per numeral
+with the delimiter (and 15 + 1 in the worst case), the packed column always 2 - about 4 times less.
+setUp() prints the sizes for the generated numbers.
+
+Per numeral:
+ - write:    int -> UTF-8 text (RomanNumeralEncoder)      vs  int -> packed column
+ - read:     UTF-8 text -> int (RomanNumeralDecoder)      vs  packed column -> int
+ - toText:   packed column -> UTF-8 text
+ - fromText: UTF-8 text -> packed column (canonical numerals only)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactCodecBenchmark {
+
+    private static final byte DELIMITER = ',';
+
+    private int[] arabicNumbers;
+    private int[] values;
+    private ByteBuffer utf8;
+    private byte[] utf8Bytes;
+    private ByteBuffer packed;
+    private RomanNumeralColumn column;
+
+    @Setup
+    public void setUp() {
+        arabicNumbers = ArabicNumbers.generate(ArabicNumbers.Distribution.UNIFORM, ArabicNumbers.SIZE);
+        values = new int[arabicNumbers.length];
+
+        StringBuilder text = RomanNumeralEncoder.INSTANCE.convertArabicNumbers(arabicNumbers, (char) DELIMITER, new StringBuilder());
+        utf8Bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        utf8 = ByteBuffer.allocate(utf8Bytes.length);
+
+        packed = ByteBuffer.allocate(RomanNumeralCodec.ENCODED_SIZE * arabicNumbers.length);
+        column = RomanNumeralColumn.writer(packed.duplicate()).addAll(arabicNumbers, 0, arabicNumbers.length).toColumn();
+
+        System.out.printf("%n%d numerals: UTF-8 %d bytes (%.2f per numeral), packed %d bytes (%d per numeral)%n",
+                arabicNumbers.length, utf8Bytes.length, (double) utf8Bytes.length / arabicNumbers.length,
+                packed.capacity(), RomanNumeralCodec.ENCODED_SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ArabicNumbers.SIZE)
+    public ByteBuffer writeUtf8() {
+        utf8.clear();
+        return RomanNumeralEncoder.INSTANCE.convertArabicNumbers(arabicNumbers, DELIMITER, utf8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ArabicNumbers.SIZE)
+    public int writePacked() {
+        packed.clear();
+        return RomanNumeralColumn.writer(packed).addAll(arabicNumbers, 0, arabicNumbers.length).size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ArabicNumbers.SIZE)
+    public int[] readUtf8() {
+        int row = 0;
+        int from = 0;
+        for (int i = 0; i <= utf8Bytes.length; i++) {
+            if (i == utf8Bytes.length || utf8Bytes[i] == DELIMITER) {
+                values[row++] = RomanNumeralDecoder.INSTANCE.convertRomanNumeral(utf8Bytes, from, i - from);
+                from = i + 1;
+            }
+        }
+        return values;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ArabicNumbers.SIZE)
+    public int[] readPacked() {
+        column.getArabicNumbers(0, values, 0, values.length);
+        return values;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ArabicNumbers.SIZE)
+    public ByteBuffer toText() {
+        utf8.clear();
+        return column.getRomanNumerals(0, column.size(), DELIMITER, utf8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ArabicNumbers.SIZE)
+    public int fromText() {
+        packed.clear();
+        return RomanNumeralColumn.writer(packed).addAll(utf8Bytes, 0, utf8Bytes.length, DELIMITER).size();
+    }
+}
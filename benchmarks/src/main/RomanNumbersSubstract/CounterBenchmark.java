@@ -0,0 +1,81 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+Labelling 1 - 3999 in order: a conversion per number (the original RomanNumerals and the lookup table encoder,
+into a String and into a reused char[]) against RomanCounter, which only rewrites the digits that changed.
+The time is per number.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CounterBenchmark {
+
+    private static final int COUNT = RomanNumeralEncoder.MAX_ARABIC_NUMBER;
+    private static final RomanNumeralEncoder ENCODER = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE);
+
+    private final RomanNumerals romanNumerals = new RomanNumerals();
+    private final char[] buffer = new char[RomanDigitFragments.MAX_ROMAN_LENGTH];
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void romanNumerals(Blackhole blackhole) {
+        for (int arabicNumber = 1; arabicNumber <= COUNT; arabicNumber++) {
+            blackhole.consume(romanNumerals.convertArabicNumber(arabicNumber));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void encoderString(Blackhole blackhole) {
+        for (int arabicNumber = 1; arabicNumber <= COUNT; arabicNumber++) {
+            blackhole.consume(ENCODER.convertArabicNumber(arabicNumber));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void encoderChars(Blackhole blackhole) {
+        for (int arabicNumber = 1; arabicNumber <= COUNT; arabicNumber++) {
+            blackhole.consume(ENCODER.convertArabicNumber(arabicNumber, buffer, 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void counter(Blackhole blackhole) {
+        RomanCounter counter = new RomanCounter(1);
+        blackhole.consume(counter.charAt(counter.length() - 1));
+        while (counter.canIncrement()) {
+            counter.increment();
+            blackhole.consume(counter.charAt(counter.length() - 1));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void counterString(Blackhole blackhole) {
+        RomanCounter counter = new RomanCounter(1);
+        blackhole.consume(counter.toString());
+        while (counter.canIncrement()) {
+            counter.increment();
+            blackhole.consume(counter.toString());
+        }
+    }
+}
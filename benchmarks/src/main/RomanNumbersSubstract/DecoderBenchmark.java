@@ -0,0 +1,72 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/*
+roman -> arabic, one numeral per invocation, from a String, a char[] and an ASCII byte[].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecoderBenchmark {
+
+    private static final RomanNumeralDecoder DECODER = RomanNumeralDecoder.INSTANCE;
+
+    @Param({"SINGLE", "UNIFORM", "HOT"})
+    public ArabicNumbers.Distribution distribution;
+
+    private String[] strings;
+    private char[][] chars;
+    private byte[][] bytes;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        int[] arabicNumbers = ArabicNumbers.generate(distribution, ArabicNumbers.SIZE);
+        strings = new String[arabicNumbers.length];
+        chars = new char[arabicNumbers.length][];
+        bytes = new byte[arabicNumbers.length][];
+        for (int i = 0; i < arabicNumbers.length; i++) {
+            strings[i] = RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumbers[i]);
+            chars[i] = strings[i].toCharArray();
+            bytes[i] = strings[i].getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private int next() {
+        return cursor++ & (ArabicNumbers.SIZE - 1);
+    }
+
+    @Benchmark
+    public int charSequence() {
+        return DECODER.convertRomanNumeral(strings[next()]);
+    }
+
+    @Benchmark
+    public int charArray() {
+        char[] romanNumeral = chars[next()];
+        return DECODER.convertRomanNumeral(romanNumeral, 0, romanNumeral.length);
+    }
+
+    @Benchmark
+    public int byteArray() {
+        byte[] romanNumeral = bytes[next()];
+        return DECODER.convertRomanNumeral(romanNumeral, 0, romanNumeral.length);
+    }
+}
@@ -0,0 +1,94 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/*
+arabic -> roman, one number per invocation.
+
+RomanNumerals can't be shared, so every benchmark thread gets its own instance (the state is per thread),
+all the other encoders are shared by all threads.
+See EncoderMultiThreadedBenchmark for the same benchmarks with several threads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncoderBenchmark {
+
+    private static final RomanNumeralEncoder RANGE_WALK = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.RANGE_WALK);
+    private static final RomanNumeralEncoder LOOKUP_TABLE = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE);
+    private static final CachedRomanNumerals CACHED = new CachedRomanNumerals(CachedRomanNumerals.Population.EAGER);
+
+    @Param({"SINGLE", "UNIFORM", "HOT"})
+    public ArabicNumbers.Distribution distribution;
+
+    private ArabicNumbers arabicNumbers;
+    private RomanNumerals romanNumerals;
+    private StringBuilder stringBuilder;
+    private char[] chars;
+    private ByteBuffer byteBuffer;
+
+    @Setup
+    public void setUp() {
+        arabicNumbers = new ArabicNumbers(distribution);
+        romanNumerals = new RomanNumerals();
+        stringBuilder = new StringBuilder(16);
+        chars = new char[16];
+        byteBuffer = ByteBuffer.allocateDirect(16);
+    }
+
+    @Benchmark
+    public String romanNumerals() {
+        return romanNumerals.convertArabicNumber(arabicNumbers.next());
+    }
+
+    @Benchmark
+    public String rangeWalk() {
+        return RANGE_WALK.convertArabicNumber(arabicNumbers.next());
+    }
+
+    @Benchmark
+    public String lookupTable() {
+        return LOOKUP_TABLE.convertArabicNumber(arabicNumbers.next());
+    }
+
+    @Benchmark
+    public String cached() {
+        return CACHED.convertArabicNumber(arabicNumbers.next());
+    }
+
+    // sinks: no String at all
+
+    @Benchmark
+    public StringBuilder appendToStringBuilder() throws IOException {
+        stringBuilder.setLength(0);
+        return LOOKUP_TABLE.convertArabicNumber(arabicNumbers.next(), stringBuilder);
+    }
+
+    @Benchmark
+    public int writeToCharArray() {
+        return LOOKUP_TABLE.convertArabicNumber(arabicNumbers.next(), chars, 0);
+    }
+
+    @Benchmark
+    public ByteBuffer putToByteBuffer() {
+        byteBuffer.clear();
+        return LOOKUP_TABLE.convertArabicNumber(arabicNumbers.next(), byteBuffer);
+    }
+}
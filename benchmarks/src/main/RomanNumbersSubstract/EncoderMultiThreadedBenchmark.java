@@ -0,0 +1,11 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/*
+the benchmarks of EncoderBenchmark with 4 threads - the shared encoders should scale with the cores,
+compare the ns/op with the single threaded run.
+ */
+@Threads(4)
+public class EncoderMultiThreadedBenchmark extends EncoderBenchmark {
+}
@@ -0,0 +1,73 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ExtendedRomanNumerals by number of arabic digits: 4 digits (<= 3999) must cost the same as RomanNumeralEncoder,
+above that the time should grow with the number of groups (one per three digits), not faster.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtendedEncoderBenchmark {
+
+    private static final ExtendedRomanNumerals EXTENDED = ExtendedRomanNumerals.INSTANCE;
+    private static final RomanNumeralEncoder LOOKUP_TABLE = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE);
+
+    // 4 = 1 - 3999
+    @Param({"4", "7", "10", "13", "19"})
+    public int digits;
+
+    private long[] arabicNumbers;
+    private String[] romanNumerals;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long min = digits == 4 ? RomanNumeralEncoder.MIN_ARABIC_NUMBER : (long) Math.pow(10, digits - 1);
+        long max = digits == 4 ? RomanNumeralEncoder.MAX_ARABIC_NUMBER : digits == 19 ? Long.MAX_VALUE : (long) Math.pow(10, digits) - 1;
+        arabicNumbers = new long[ArabicNumbers.SIZE];
+        romanNumerals = new String[ArabicNumbers.SIZE];
+        for (int i = 0; i < ArabicNumbers.SIZE; i++) {
+            arabicNumbers[i] = min + (long) (random.nextDouble() * (max - min));
+            romanNumerals[i] = EXTENDED.convertArabicNumber(arabicNumbers[i]);
+        }
+    }
+
+    private int next() {
+        return cursor++ & (ArabicNumbers.SIZE - 1);
+    }
+
+    @Benchmark
+    public String encode() {
+        return EXTENDED.convertArabicNumber(arabicNumbers[next()]);
+    }
+
+    @Benchmark
+    public long decode() {
+        return EXTENDED.convertRomanNumeral(romanNumerals[next()]);
+    }
+
+    // the baseline for digits = 4
+    @Benchmark
+    public String lookupTable() {
+        return LOOKUP_TABLE.convertArabicNumber((int) Math.min(arabicNumbers[next()], RomanNumeralEncoder.MAX_ARABIC_NUMBER));
+    }
+}
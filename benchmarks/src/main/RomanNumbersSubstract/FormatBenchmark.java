@@ -0,0 +1,86 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/*
+RomanFormat per style: formatting into a String and into a reused char[], and parsing the style's numerals.
+Every style should format as fast as UPPER_CASE, which is the lookup table encoder.
+
+The baselines are what callers would do without RomanFormat: the encoder's String made lower case afterwards
+(encoderToLowerCase), and the encoder and decoder themselves.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+    private static final RomanNumeralEncoder ENCODER = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE);
+
+    @Param({"UPPER_CASE", "LOWER_CASE", "UNICODE", "ADDITIVE"})
+    public RomanFormat.Style style;
+
+    private RomanFormat format;
+    private ArabicNumbers arabicNumbers;
+    private final String[] romanNumerals = new String[ArabicNumbers.SIZE];
+    private final String[] upperCaseNumerals = new String[ArabicNumbers.SIZE];
+    private int next;
+    private char[] buffer;
+
+    @Setup
+    public void setUp() {
+        format = RomanFormat.of(style);
+        arabicNumbers = new ArabicNumbers(ArabicNumbers.Distribution.UNIFORM);
+        for (int i = 0; i < romanNumerals.length; i++) {
+            int arabicNumber = arabicNumbers.next();
+            romanNumerals[i] = format.format(arabicNumber);
+            upperCaseNumerals[i] = ENCODER.convertArabicNumber(arabicNumber);
+        }
+        buffer = new char[format.getMaxLength()];
+    }
+
+    @Benchmark
+    public String formatString() {
+        return format.format(arabicNumbers.next());
+    }
+
+    @Benchmark
+    public int formatChars() {
+        return format.format(arabicNumbers.next(), buffer, 0);
+    }
+
+    @Benchmark
+    public int parse() {
+        return format.parse(romanNumerals[next++ & (ArabicNumbers.SIZE - 1)]);
+    }
+
+    @Benchmark
+    public String encoderString() {
+        return ENCODER.convertArabicNumber(arabicNumbers.next());
+    }
+
+    @Benchmark
+    public String encoderToLowerCase() {
+        return ENCODER.convertArabicNumber(arabicNumbers.next()).toLowerCase(Locale.ROOT);
+    }
+
+    @Benchmark
+    public int decoder() {
+        return RomanNumeralDecoder.INSTANCE.convertRomanNumeral(upperCaseNumerals[next++ & (ArabicNumbers.SIZE - 1)]);
+    }
+}
@@ -0,0 +1,76 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+Range queries [lo, lo + 100] over 10^7 roman numerals (uniform 1 - 3999, so about 250 000 rows per query):
+
+ - countIndex: RomanNumeralIndex.count, two array reads
+ - countScan:  decoding every numeral and comparing it with the bounds
+ - rowsIndex:  RomanNumeralIndex.getRows, copying the row numbers
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class IndexBenchmark {
+
+    private static final int RANGE = 100;
+
+    @Param({"10000000"})
+    public int size;
+
+    private String[] numerals;
+    private RomanNumeralIndex index;
+    private ArabicNumbers bounds;
+
+    @Setup
+    public void setUp() {
+        int[] arabicNumbers = ArabicNumbers.generate(ArabicNumbers.Distribution.UNIFORM, size);
+        numerals = new String[size];
+        for (int i = 0; i < size; i++) {
+            numerals[i] = RomanNumeral.valueOf(arabicNumbers[i]).toString().intern();
+        }
+        index = RomanNumeralIndex.of(numerals);
+        bounds = new ArabicNumbers(ArabicNumbers.Distribution.UNIFORM);
+    }
+
+    @Benchmark
+    public int countIndex() {
+        int lo = bounds.next();
+        return index.count(lo, lo + RANGE);
+    }
+
+    @Benchmark
+    public int[] rowsIndex() {
+        int lo = bounds.next();
+        return index.getRows(lo, lo + RANGE);
+    }
+
+    @Benchmark
+    public int countScan() {
+        int lo = bounds.next();
+        int count = 0;
+        for (String numeral : numerals) {
+            int value = RomanNumeralDecoder.INSTANCE.convertRomanNumeral(numeral);
+            if (value >= lo && value <= lo + RANGE) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
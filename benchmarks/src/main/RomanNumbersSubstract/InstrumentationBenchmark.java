@@ -0,0 +1,83 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+The cost of InstrumentedRomanNumerals: disabled must be within 1 ns of calling the encoder / decoder directly.
+The encoder goes through a CachedRomanNumerals, so the conversion itself is only a few ns
+and the overhead isn't hidden behind it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    private static final CachedRomanNumerals CACHED = new CachedRomanNumerals(CachedRomanNumerals.Population.EAGER);
+    private static final RomanNumeralDecoder DECODER = RomanNumeralDecoder.INSTANCE;
+
+    private final InstrumentedRomanNumerals disabled = new InstrumentedRomanNumerals(CACHED);
+    private final InstrumentedRomanNumerals enabled = new InstrumentedRomanNumerals(CACHED);
+
+    private ArabicNumbers arabicNumbers;
+    private String[] romanNumerals;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        enabled.setEnabled(true);
+        arabicNumbers = new ArabicNumbers(ArabicNumbers.Distribution.UNIFORM);
+        int[] values = ArabicNumbers.generate(ArabicNumbers.Distribution.UNIFORM, ArabicNumbers.SIZE);
+        romanNumerals = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            romanNumerals[i] = CACHED.convertArabicNumber(values[i]);
+        }
+    }
+
+    private String nextRomanNumeral() {
+        return romanNumerals[cursor++ & (ArabicNumbers.SIZE - 1)];
+    }
+
+    @Benchmark
+    public String encodeDirect() {
+        return CACHED.convertArabicNumber(arabicNumbers.next());
+    }
+
+    @Benchmark
+    public String encodeDisabled() {
+        return disabled.convertArabicNumber(arabicNumbers.next());
+    }
+
+    @Benchmark
+    public String encodeEnabled() {
+        return enabled.convertArabicNumber(arabicNumbers.next());
+    }
+
+    @Benchmark
+    public int decodeDirect() {
+        return DECODER.convertRomanNumeral(nextRomanNumeral());
+    }
+
+    @Benchmark
+    public int decodeDisabled() {
+        return disabled.convertRomanNumeral(nextRomanNumeral());
+    }
+
+    @Benchmark
+    public int decodeEnabled() {
+        return enabled.convertRomanNumeral(nextRomanNumeral());
+    }
+}
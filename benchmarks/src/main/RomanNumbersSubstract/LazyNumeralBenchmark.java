@@ -0,0 +1,83 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/*
+What callers typically do with a numeral, with a String (convertArabicNumber) and with the lazy RomanNumeral
+(convertArabicNumberLazily): ask for its length or first character, or write it into an output.
+Run with -prof gc: the lazy variants allocate nothing. length, charAt and hashCode are a few ns instead of
+creating a String first; appending is 4 appends (one per fragment) instead of 1, so it isn't faster than
+appending a new String, only free of garbage.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyNumeralBenchmark {
+
+    private static final RomanNumeralEncoder ENCODER = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE);
+
+    private ArabicNumbers arabicNumbers;
+    private final StringBuilder output = new StringBuilder(64);
+
+    @Setup
+    public void setUp() {
+        arabicNumbers = new ArabicNumbers(ArabicNumbers.Distribution.UNIFORM);
+    }
+
+    @Benchmark
+    public int lengthString() {
+        return ENCODER.convertArabicNumber(arabicNumbers.next()).length();
+    }
+
+    @Benchmark
+    public int lengthLazy() {
+        return ENCODER.convertArabicNumberLazily(arabicNumbers.next()).length();
+    }
+
+    @Benchmark
+    public char firstCharString() {
+        return ENCODER.convertArabicNumber(arabicNumbers.next()).charAt(0);
+    }
+
+    @Benchmark
+    public char firstCharLazy() {
+        return ENCODER.convertArabicNumberLazily(arabicNumbers.next()).charAt(0);
+    }
+
+    @Benchmark
+    public StringBuilder appendString() {
+        output.setLength(0);
+        return output.append(ENCODER.convertArabicNumber(arabicNumbers.next()));
+    }
+
+    @Benchmark
+    public StringBuilder appendLazy() throws IOException {
+        output.setLength(0);
+        return ENCODER.convertArabicNumberLazily(arabicNumbers.next()).appendTo(output);
+    }
+
+    @Benchmark
+    public int hashCodeString() {
+        return ENCODER.convertArabicNumber(arabicNumbers.next()).hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeLazy() {
+        return ENCODER.convertArabicNumberLazily(arabicNumbers.next()).hashCode();
+    }
+}
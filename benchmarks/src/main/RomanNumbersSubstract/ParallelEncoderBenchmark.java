@@ -0,0 +1,74 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/*
+converting a column of 4M uniform random numbers into one char[], reported per number.
+run with -p parallelism=1,2,4,8,...,32 to see how ParallelRomanNumerals scales with the cores
+(the sequential batch method is the baseline).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(ParallelEncoderBenchmark.SIZE)
+public class ParallelEncoderBenchmark {
+
+    static final int SIZE = 1 << 22;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    @Param({"8192"})
+    public int threshold;
+
+    private int[] arabicNumbers;
+    private char[] romanNumbers;
+    private ForkJoinPool pool;
+    private ParallelRomanNumerals parallel;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        arabicNumbers = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            arabicNumbers[i] = 1 + random.nextInt(RomanNumeralEncoder.MAX_ARABIC_NUMBER);
+        }
+        romanNumbers = new char[RomanNumeralEncoder.INSTANCE.getRomanNumbersLength(arabicNumbers)];
+        pool = new ForkJoinPool(parallelism);
+        parallel = new ParallelRomanNumerals(pool, threshold);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int sequential() {
+        return RomanNumeralEncoder.INSTANCE.convertArabicNumbers(arabicNumbers, ',', romanNumbers, 0);
+    }
+
+    @Benchmark
+    public int parallel() {
+        return parallel.convertArabicNumbers(arabicNumbers, ',', romanNumbers, 0);
+    }
+}
@@ -0,0 +1,125 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+Scanning a synthetic English-like corpus (size MB, about every 10th word a roman numeral, some arabic numbers
+and words like MIX or I) for roman numerals, ms per scan of the whole corpus:
+
+ - scanBytes / scanChars:  RomanNumeralScanner over 64 KB chunks, like reading a file or a socket
+ - scanBytesParallel:      scanParallel over the whole corpus in 1 MB chunks (common pool)
+ - regexFind:              only finding the candidates with \b[IVXLCDM]+\b, without decoding them - the lower
+                           bound of a regex based scanner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class ScannerBenchmark {
+
+    private static final int CHUNK_SIZE = 64 << 10;
+    private static final int PARALLEL_CHUNK_SIZE = 1 << 20;
+    private static final Pattern CANDIDATE = Pattern.compile("\\b[IVXLCDM]+\\b");
+
+    private static final String[] WORDS = {
+            "the", "of", "and", "to", "in", "a", "is", "that", "for", "it", "as", "was", "with", "be", "by",
+            "on", "not", "he", "this", "are", "or", "his", "from", "at", "which", "but", "have", "an", "had",
+            "they", "you", "were", "their", "one", "all", "we", "can", "her", "has", "there", "been", "if",
+            "Chapter", "King", "Henry", "Louis", "Pope", "Volume", "Part", "Act", "Scene", "MIX", "I", "CD"
+    };
+    private static final String[] SEPARATORS = {" ", " ", " ", " ", ", ", ". ", "\n", "; ", " - "};
+
+    @Param({"64"})
+    public int size;
+
+    private byte[] bytes;
+    private char[] chars;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder corpus = new StringBuilder(size << 20);
+        while (corpus.length() < size << 20) {
+            int kind = random.nextInt(20);
+            if (kind < 2) {
+                corpus.append(RomanNumeralEncoder.INSTANCE.convertArabicNumber(1 + random.nextInt(3999)));
+            } else if (kind == 2) {
+                corpus.append(random.nextInt(3000));
+            } else {
+                corpus.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            corpus.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+        }
+        corpus.setLength(size << 20);
+        chars = corpus.toString().toCharArray();
+        bytes = corpus.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public long scanBytes() {
+        Sum sum = new Sum();
+        RomanNumeralScanner scanner = new RomanNumeralScanner(RomanNumeralScanner.Kind.ROMAN_NUMERALS, sum);
+        for (int from = 0; from < bytes.length; from += CHUNK_SIZE) {
+            scanner.scan(ByteBuffer.wrap(bytes, from, Math.min(CHUNK_SIZE, bytes.length - from)));
+        }
+        scanner.finish();
+        return sum.sum;
+    }
+
+    @Benchmark
+    public long scanChars() {
+        Sum sum = new Sum();
+        RomanNumeralScanner scanner = new RomanNumeralScanner(RomanNumeralScanner.Kind.ROMAN_NUMERALS, sum);
+        for (int from = 0; from < chars.length; from += CHUNK_SIZE) {
+            scanner.scan(CharBuffer.wrap(chars, from, Math.min(CHUNK_SIZE, chars.length - from)));
+        }
+        scanner.finish();
+        return sum.sum;
+    }
+
+    @Benchmark
+    public long scanBytesParallel() {
+        Sum sum = new Sum();
+        RomanNumeralScanner.scanParallel(RomanNumeralScanner.Kind.ROMAN_NUMERALS, ByteBuffer.wrap(bytes), PARALLEL_CHUNK_SIZE, sum);
+        return sum.sum;
+    }
+
+    @Benchmark
+    public long regexFind() {
+        long count = 0;
+        Matcher matcher = CANDIDATE.matcher(CharBuffer.wrap(chars));
+        while (matcher.find()) {
+            count += matcher.end() - matcher.start();
+        }
+        return count;
+    }
+
+    private static final class Sum implements RomanNumeralScanner.MatchHandler {
+        long sum;
+
+        @Override
+        public void onMatch(long offset, int length, int value) {
+            sum += value;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/*
+Sorting 10^7 roman numerals (uniform 1 - 3999) by value, one sort per iteration:
+
+ - decodingComparator: Arrays.sort with a comparator that decodes both numerals of every comparison
+ - romanComparator:    Arrays.sort with RomanNumeralComparator (stops at the first different digit)
+ - countingSort:       RomanNumeralSorter, every numeral decoded once
+ - countingSortColumn: RomanNumeralSorter on a fixed width byte[] column (15 bytes per row)
+ - buildIndex:         RomanNumeralIndex over the numerals (range queries: IndexBenchmark)
+
+The numerals share the 3999 Strings of the encoder output, like labels read into an interning cache would,
+otherwise 10^7 Strings alone would need more than half a GB.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class SortBenchmark {
+
+    private static final int WIDTH = RomanDigitFragments.MAX_ROMAN_LENGTH;
+
+    private static final Comparator<String> DECODING_COMPARATOR =
+            Comparator.comparingInt(RomanNumeralDecoder.INSTANCE::convertRomanNumeral);
+
+    @Param({"10000000"})
+    public int size;
+
+    private String[] numerals;
+    private byte[] column;
+
+    private String[] numeralsToSort;
+    private byte[] columnToSort;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] table = new String[RomanNumeralEncoder.MAX_ARABIC_NUMBER + 1];
+        for (int arabicNumber = 1; arabicNumber < table.length; arabicNumber++) {
+            table[arabicNumber] = RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumber);
+        }
+
+        int[] arabicNumbers = ArabicNumbers.generate(ArabicNumbers.Distribution.UNIFORM, size);
+        numerals = new String[size];
+        column = new byte[size * WIDTH];
+        Arrays.fill(column, BulkRomanNumeralDecoder.PAD);
+        for (int i = 0; i < size; i++) {
+            numerals[i] = table[arabicNumbers[i]];
+            RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumbers[i], ByteBuffer.wrap(column, i * WIDTH, WIDTH));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        numeralsToSort = numerals.clone();
+        columnToSort = column.clone();
+    }
+
+    @Benchmark
+    public String[] decodingComparator() {
+        Arrays.sort(numeralsToSort, DECODING_COMPARATOR);
+        return numeralsToSort;
+    }
+
+    @Benchmark
+    public String[] romanComparator() {
+        Arrays.sort(numeralsToSort, RomanNumeralComparator.INSTANCE);
+        return numeralsToSort;
+    }
+
+    @Benchmark
+    public String[] countingSort() {
+        RomanNumeralSorter.sort(numeralsToSort);
+        return numeralsToSort;
+    }
+
+    @Benchmark
+    public byte[] countingSortColumn() {
+        RomanNumeralSorter.sort(columnToSort, WIDTH);
+        return columnToSort;
+    }
+
+    @Benchmark
+    public RomanNumeralIndex buildIndex() {
+        return RomanNumeralIndex.of(numerals);
+    }
+}
@@ -0,0 +1,67 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+What a short lived JVM (CLI, serverless function) pays before its first roman numeral.
+
+Every fork is a new JVM and measures exactly one call, so the time includes loading and initializing the classes
+it touches - nothing of the package is loaded before (the classes are only named by string or in the benchmark
+methods):
+
+ - firstConversion*: time to the first converted number with the encoder modes and the original RomanNumerals
+ - classInit*:       loading and initializing only the tables (Class.forName initializes the class)
+
+newRomanNumerals is the (warm) cost of an instance of RomanNumerals, for callers creating one per request.
+Compare the runs with -jvmArgsAppend -Xshare:off / an AppCDS archive to see the part of the class loading.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+    @Benchmark
+    public String firstConversionRangeWalk() {
+        return new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.RANGE_WALK).convertArabicNumber(1990);
+    }
+
+    @Benchmark
+    public String firstConversionLookupTable() {
+        return new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE).convertArabicNumber(1990);
+    }
+
+    @Benchmark
+    public String firstConversionRomanNumerals() {
+        return new RomanNumerals().convertArabicNumber(1990);
+    }
+
+    @Benchmark
+    public Class<?> classInitDigitFragments() throws ClassNotFoundException {
+        return Class.forName("RomanNumbersSubstract.RomanDigitFragments");
+    }
+
+    @Benchmark
+    public Class<?> classInitSymbolIndex() throws ClassNotFoundException {
+        return Class.forName("RomanNumbersSubstract.RomanSymbolIndex");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public RomanNumerals newRomanNumerals() {
+        return new RomanNumerals();
+    }
+}
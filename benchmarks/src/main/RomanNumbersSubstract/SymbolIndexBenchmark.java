@@ -0,0 +1,69 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+One symbol lookup in each direction: RomanSymbolIndex against the TreeMaps RomanNumerals used before.
+Run with -prof gc: the TreeMap lookups box every key outside of the Integer cache (500, 1000).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolIndexBenchmark {
+
+    private static final int[] VALUES = {1, 5, 10, 50, 100, 500, 1000};
+    private static final char[] SYMBOLS = {'I', 'V', 'X', 'L', 'C', 'D', 'M'};
+
+    private final Map<Integer, String> symbolByValue = new TreeMap<>();
+    private final Map<Character, Integer> valueBySymbol = new TreeMap<>();
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < VALUES.length; i++) {
+            symbolByValue.put(VALUES[i], String.valueOf(SYMBOLS[i]));
+            valueBySymbol.put(SYMBOLS[i], VALUES[i]);
+        }
+    }
+
+    private int next() {
+        cursor = cursor == VALUES.length - 1 ? 0 : cursor + 1;
+        return cursor;
+    }
+
+    @Benchmark
+    public String symbolTreeMap() {
+        return symbolByValue.get(VALUES[next()]);
+    }
+
+    @Benchmark
+    public String symbolIndex() {
+        return RomanSymbolIndex.getSymbolString(VALUES[next()]);
+    }
+
+    @Benchmark
+    public int valueTreeMap() {
+        return valueBySymbol.get(SYMBOLS[next()]);
+    }
+
+    @Benchmark
+    public int valueIndex() {
+        return RomanSymbolIndex.getValue(SYMBOLS[next()]);
+    }
+}
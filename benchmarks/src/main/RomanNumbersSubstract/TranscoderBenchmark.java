@@ -0,0 +1,109 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/*
+transcoding a file of 4M arabic numbers (about 19 MB) to roman numerals and back.
+
+The bytesRead counter is reported as bytes per second (bytesRead:... ops/s),
+lineByLine is the old way: BufferedReader.readLine, Integer.parseInt, convertArabicNumber, BufferedWriter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TranscoderBenchmark {
+
+    private static final int LINES = 1 << 22;
+
+    @Param({"ARABIC_TO_ROMAN", "ROMAN_TO_ARABIC"})
+    public RomanNumeralTranscoder.Direction direction;
+
+    private Path source;
+    private Path target;
+    private RomanNumeralTranscoder transcoder;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public long bytesRead;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesRead = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        source = Files.createTempFile("arabic", ".txt");
+        target = Files.createTempFile("roman", ".txt");
+        int[] arabicNumbers = ArabicNumbers.generate(ArabicNumbers.Distribution.UNIFORM, ArabicNumbers.SIZE);
+        try (BufferedWriter writer = Files.newBufferedWriter(source, StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < LINES; i++) {
+                int arabicNumber = arabicNumbers[i & (ArabicNumbers.SIZE - 1)];
+                writer.write(direction == RomanNumeralTranscoder.Direction.ARABIC_TO_ROMAN
+                        ? Integer.toString(arabicNumber)
+                        : RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumber));
+                writer.write('\n');
+            }
+        }
+        transcoder = new RomanNumeralTranscoder(direction);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(source);
+        Files.deleteIfExists(target);
+    }
+
+    @Benchmark
+    public long transcoder(Bytes bytes) throws IOException {
+        RomanNumeralTranscoder.Report report = transcoder.transcode(source, target);
+        bytes.bytesRead += report.getBytesRead();
+        return report.getLines();
+    }
+
+    @Benchmark
+    public long lineByLine(Bytes bytes) throws IOException {
+        long lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.US_ASCII);
+             BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                bytes.bytesRead += line.length() + 1;
+                if (direction == RomanNumeralTranscoder.Direction.ARABIC_TO_ROMAN) {
+                    writer.write(RomanNumeralEncoder.INSTANCE.convertArabicNumber(Integer.parseInt(line)));
+                } else {
+                    writer.write(Integer.toString(RomanNumeralDecoder.INSTANCE.convertRomanNumeral(line)));
+                }
+                writer.write('\n');
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
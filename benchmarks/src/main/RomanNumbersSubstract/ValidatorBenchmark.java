@@ -0,0 +1,71 @@
+package RomanNumbersSubstract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+Canonical check + value of ASCII numerals: RomanNumeralValidator against the usual regex,
+followed by RomanNumeralDecoder for the value (the regex can only say yes or no).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private static final RomanNumeralValidator VALIDATOR = RomanNumeralValidator.INSTANCE;
+    private static final Pattern CANONICAL = Pattern.compile("M{0,3}(CM|CD|D?C{0,3})(XC|XL|L?X{0,3})(IX|IV|V?I{0,3})");
+
+    @Param({"SINGLE", "UNIFORM", "HOT"})
+    public ArabicNumbers.Distribution distribution;
+
+    private byte[][] bytes;
+    private Matcher matcher;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        int[] arabicNumbers = ArabicNumbers.generate(distribution, ArabicNumbers.SIZE);
+        bytes = new byte[arabicNumbers.length][];
+        for (int i = 0; i < arabicNumbers.length; i++) {
+            bytes[i] = RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumbers[i]).getBytes(StandardCharsets.US_ASCII);
+        }
+        matcher = CANONICAL.matcher("");
+    }
+
+    private byte[] next() {
+        return bytes[cursor++ & (ArabicNumbers.SIZE - 1)];
+    }
+
+    @Benchmark
+    public int automaton() {
+        byte[] romanNumeral = next();
+        return VALIDATOR.validate(romanNumeral, 0, romanNumeral.length);
+    }
+
+    @Benchmark
+    public int regex() {
+        byte[] romanNumeral = next();
+        String s = new String(romanNumeral, StandardCharsets.US_ASCII);
+        if (s.isEmpty() || !matcher.reset(s).matches()) {
+            return RomanNumeralValidator.INVALID;
+        }
+        return RomanNumeralDecoder.INSTANCE.convertRomanNumeral(romanNumeral, 0, romanNumeral.length);
+    }
+}
@@ -0,0 +1,214 @@
+package RomanNumbersSubstract;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/*
+Writes RomanTables.java: the symbol tables of RomanSymbolIndex and the digit fragments of RomanDigitFragments
+as array constants, so the classes only copy constants when they are loaded instead of computing the tables.
+
+It runs in the generate-sources phase of the Maven build (see pom.xml), as a single source file program:
+
+    java src/codegen/RomanNumbersSubstract/RomanTablesGenerator.java target/generated-sources/roman-tables
+
+It can't use the classes it writes the tables for, so it walks the ranges on its own, with the decisions of
+RomanNumerals.convertArabicDigit. RomanTablesTest checks the generated tables against RomanNumerals.
+ */
+public final class RomanTablesGenerator {
+
+    // ascending, rank = index
+    private static final char[] SYMBOLS = {'I', 'V', 'X', 'L', 'C', 'D', 'M'};
+    private static final int[] VALUES = {1, 5, 10, 50, 100, 500, 1000};
+
+    private static final int MAX_VALUE = 1000;
+    private static final int MAGNITUDES = 4;
+    // highest digit that can be written in a range: there are no symbols for 5000 and 10000
+    private static final int[] MAX_DIGIT = {9, 9, 9, 3};
+    private static final char NO_SYMBOL = '?';
+
+    private final StringBuilder source = new StringBuilder();
+
+    private RomanTablesGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: java RomanTablesGenerator.java <generated sources directory>");
+            System.exit(2);
+        }
+        Path file = Paths.get(args[0], "RomanNumbersSubstract", "RomanTables.java");
+        byte[] content = new RomanTablesGenerator().generate().getBytes(StandardCharsets.UTF_8);
+
+        // an unchanged file keeps its timestamp, so the compiler doesn't recompile the package every build
+        if (Files.exists(file) && java.util.Arrays.equals(Files.readAllBytes(file), content)) {
+            return;
+        }
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+    }
+
+    // ****
+    // main
+    // ****
+    private String generate() {
+        line("package RomanNumbersSubstract;");
+        line("");
+        line("/*");
+        line("Generated by src/codegen/RomanNumbersSubstract/RomanTablesGenerator.java during the build - don't edit.");
+        line("");
+        line("The tables of RomanSymbolIndex and RomanDigitFragments as constants, see there.");
+        line(" */");
+        line("final class RomanTables {");
+        line("");
+        line("    // ascending, rank = index");
+        line("    static final char[] SYMBOLS = " + chars(SYMBOLS) + ";");
+        line("    static final int[] VALUES = " + ints(VALUES) + ";");
+        line("    // as (interned) Strings");
+        line("    static final String[] SYMBOL_STRINGS = " + strings(SYMBOLS) + ";");
+        line("");
+        line("    // symbol -> value, indexed by the char (ASCII), 0 for no symbol");
+        line("    static final int[] VALUE_BY_SYMBOL = {");
+        int[] valueBySymbol = new int[128];
+        for (int rank = 0; rank < SYMBOLS.length; rank++) {
+            valueBySymbol[SYMBOLS[rank]] = VALUES[rank];
+        }
+        for (int from = 0; from < valueBySymbol.length; from += 16) {
+            StringBuilder row = new StringBuilder("            ");
+            for (int c = from; c < from + 16; c++) {
+                row.append(valueBySymbol[c]).append(", ");
+            }
+            row.setLength(row.length() - 1); // the last blank
+            line(row.toString());
+        }
+        line("    };");
+        line("");
+        line("    // value -> symbol, indexed by the value (0 - " + MAX_VALUE + "), '\\0' for no symbol");
+        line("    static final char[] SYMBOL_BY_VALUE = (");
+        char[] symbolByValue = new char[MAX_VALUE + 1];
+        for (int rank = 0; rank < SYMBOLS.length; rank++) {
+            symbolByValue[VALUES[rank]] = SYMBOLS[rank];
+        }
+        for (int from = 0; from < symbolByValue.length; from += 40) {
+            StringBuilder row = new StringBuilder("            ").append(from == 0 ? "  \"" : "+ \"");
+            for (int value = from; value < Math.min(from + 40, symbolByValue.length); value++) {
+                row.append(symbolByValue[value] == 0 ? "\\0" : String.valueOf(symbolByValue[value]));
+            }
+            line(row.append('"').toString());
+        }
+        line("    ).toCharArray();");
+        line("");
+        line("    // symbols of the upper, middle and lower limit of each range, index = magnitude - 1,");
+        line("    // '" + NO_SYMBOL + "' for 10000 and 5000, which have no symbol");
+        char[][] limits = new char[3][MAGNITUDES];
+        for (int magnitude = 1; magnitude <= MAGNITUDES; magnitude++) {
+            int lower = pow10(magnitude - 1);
+            limits[0][magnitude - 1] = getSymbol(10 * lower);
+            limits[1][magnitude - 1] = getSymbol(5 * lower);
+            limits[2][magnitude - 1] = getSymbol(lower);
+        }
+        line("    static final char[] UPPER_SYMBOLS = " + chars(limits[0]) + ";");
+        line("    static final char[] MIDDLE_SYMBOLS = " + chars(limits[1]) + ";");
+        line("    static final char[] LOWER_SYMBOLS = " + chars(limits[2]) + ";");
+        line("");
+        char[][][] fragments = new char[MAGNITUDES][10][];
+        for (int magnitude = 1; magnitude <= MAGNITUDES; magnitude++) {
+            for (int digit = 0; digit <= MAX_DIGIT[magnitude - 1]; digit++) {
+                fragments[magnitude - 1][digit] = convertArabicDigit(digit,
+                        limits[0][magnitude - 1], limits[1][magnitude - 1], limits[2][magnitude - 1]).toCharArray();
+            }
+        }
+        line("    // FRAGMENTS[magnitude - 1][arabicDigit], null for the digits a range can't write (4000 - 9000)");
+        fragmentTable("char", fragments);
+        line("    // the same as ASCII bytes");
+        fragmentTable("byte", fragments);
+        line("    private RomanTables() {");
+        line("    }");
+        line("}");
+        return source.toString();
+    }
+
+    // ----------------------------------------------------------
+
+    private void fragmentTable(String type, char[][][] fragments) {
+        line("    static final " + type + "[][][] " + ("char".equals(type) ? "FRAGMENTS" : "FRAGMENT_BYTES") + " = {");
+        for (char[][] magnitude : fragments) {
+            line("            {");
+            for (char[] fragment : magnitude) {
+                line("                    " + (fragment == null ? "null" : chars(fragment)) + ",");
+            }
+            line("            },");
+        }
+        line("    };");
+        line("");
+    }
+
+    // same decisions as RomanNumerals.convertArabicDigit
+    private static String convertArabicDigit(int arabicDigitValue, char upper, char middle, char lower) {
+        if (arabicDigitValue <= 3) {        // add to lower limit,         e.g. III
+            return repeat(lower, arabicDigitValue);
+        }
+        if (arabicDigitValue <= 5) {        // subtract from middle limit, e.g. IV, V
+            return repeat(lower, 5 - arabicDigitValue) + middle;
+        }
+        if (arabicDigitValue <= 8) {        // add to middle limit,        e.g. VII
+            return middle + repeat(lower, arabicDigitValue - 5);
+        }
+        return "" + lower + upper;          // subtract from upper limit,  e.g. IX
+    }
+
+    private static String repeat(char c, int amount) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < amount; i++) {
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    private static char getSymbol(int value) {
+        for (int rank = 0; rank < VALUES.length; rank++) {
+            if (VALUES[rank] == value) {
+                return SYMBOLS[rank];
+            }
+        }
+        return NO_SYMBOL;
+    }
+
+    private static int pow10(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    private static String chars(char[] chars) {
+        StringBuilder result = new StringBuilder("{");
+        for (int i = 0; i < chars.length; i++) {
+            result.append(i == 0 ? "" : ", ").append('\'').append(chars[i]).append('\'');
+        }
+        return result.append('}').toString();
+    }
+
+    private static String strings(char[] chars) {
+        StringBuilder result = new StringBuilder("{");
+        for (int i = 0; i < chars.length; i++) {
+            result.append(i == 0 ? "" : ", ").append('"').append(chars[i]).append('"');
+        }
+        return result.append('}').toString();
+    }
+
+    private static String ints(int[] ints) {
+        StringBuilder result = new StringBuilder("{");
+        for (int i = 0; i < ints.length; i++) {
+            result.append(i == 0 ? "" : ", ").append(ints[i]);
+        }
+        return result.append('}').toString();
+    }
+
+    private void line(String line) {
+        source.append(line).append('\n');
+    }
+}
@@ -1,7 +1,5 @@
 package RomanNumberSimple;
 
-import java.util.*;
-
 /*
 The Romans wrote numbers using letters - I, V, X, L, C, D, M. (notice these letters have lots of straight lines and are hence easy to hack into stone tablets)
 The Kata says you should write a function to convert from normal numbers to Roman Numerals: eg
@@ -29,40 +27,67 @@ Simple Algo
 mit den großen römischen Ziffern beginnend,
 deren Wert so häufig wie möglich von der umzurechnenden Zahl abzuziehen
 und die römischen Ziffern dabei zu notieren.
+
+Greedy with tables
+Instead of a TreeMap<Integer,String> the values and their numerals are kept in two parallel tables,
+largest first. Every value is taken as often as it fits, then the next one is tried - one pass over
+the table, and the numerals are appended to a StringBuilder that is big enough from the start.
+
+    ADDITIVE:     1000 M, 500 D, 100 C, 50 L, 10 X, 5 V, 1 I               1990 -> MDCCCCLXXXX
+    SUBTRACTIVE:  1000 M, 900 CM, 500 D, 400 CD, 100 C, 90 XC, ...         1990 -> MCMXC
+
+ADDITIVE is the style of the kata (4 -> IIII) and stays the default.
  */
 class RomanNumerals {
-    TreeMap<Integer,String> romanNumbers = new TreeMap<Integer,String>();
+
+    enum Style {
+        ADDITIVE,
+        SUBTRACTIVE
+    }
+
+    private static final int[] ADDITIVE_VALUES = {1000, 500, 100, 50, 10, 5, 1};
+    private static final char[][] ADDITIVE_NUMERALS = {
+            {'M'}, {'D'}, {'C'}, {'L'}, {'X'}, {'V'}, {'I'}
+    };
+
+    private static final int[] SUBTRACTIVE_VALUES = {1000, 900, 500, 400, 100, 90, 50, 40, 10, 9, 5, 4, 1};
+    private static final char[][] SUBTRACTIVE_NUMERALS = {
+            {'M'}, {'C', 'M'}, {'D'}, {'C', 'D'}, {'C'}, {'X', 'C'}, {'L'}, {'X', 'L'}, {'X'}, {'I', 'X'}, {'V'}, {'I', 'V'}, {'I'}
+    };
+
+    // the longest numeral below 1000: DCCCCLXXXXVIIII (additive), DCCCLXXXVIII (subtractive)
+    private static final int MAX_LENGTH_BELOW_1000 = 15;
+
+    private final int[] values;
+    private final char[][] numerals;
+
     public RomanNumerals() {
-        romanNumbers.put(1000,"M");
-        romanNumbers.put(500,"D");
-        romanNumbers.put(100,"C");
-        romanNumbers.put(50,"L");
-        romanNumbers.put(10,"X");
-        romanNumbers.put(5,"V");
-        romanNumbers.put(1,"I");
+        this(Style.ADDITIVE);
+    }
+
+    public RomanNumerals(Style style) {
+        if (style == null) {
+            throw new IllegalArgumentException();
+        }
+        this.values = style == Style.ADDITIVE ? ADDITIVE_VALUES : SUBTRACTIVE_VALUES;
+        this.numerals = style == Style.ADDITIVE ? ADDITIVE_NUMERALS : SUBTRACTIVE_NUMERALS;
     }
-    Map<Integer,String> descendingRomanNumbers = romanNumbers.descendingMap();
 
+    /**
+     * @param arabic int, numbers < 1 give an empty String, there is no upper limit (one M per 1000)
+     */
     public String convertArabic(int arabic) {
+        if (arabic <= 0) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder(arabic / 1000 + MAX_LENGTH_BELOW_1000);
         int i = arabic;
-
-        String result = "";
-        while (i > 0) {
-            for (Map.Entry<Integer, String> entry : descendingRomanNumbers.entrySet()) {
-                Integer arabicCurr = entry.getKey();
-                String romanValue = entry.getValue();
-                String currTranslated = romanValue.toString();
-                int subtractValue = 0;
-                int ii = i;
-                while (ii >= arabicCurr) {
-                    result += currTranslated;
-                    ii -= arabicCurr;
-                    subtractValue += arabicCurr;
-                }
-                i -= subtractValue;
+        for (int n = 0; n < values.length; n++) {
+            while (i >= values[n]) {
+                result.append(numerals[n]);
+                i -= values[n];
             }
         }
-
-        return result;
+        return result.toString();
     }
 }
@@ -0,0 +1,186 @@
+package RomanNumbersSubstract;
+
+/*
+Decodes a whole column of roman numerals at once, e.g. one numeral per row of a columnar file.
+
+The column is fixed width: every row has width bytes, the numeral starts at the first byte of its row
+and the rest of the row is padded with PAD (space):
+
+    row 0   M C M X C _ _ _
+    row 1   M M V I I I _ _
+    row 2   I V _ _ _ _ _ _
+
+Every numeral is summed up with the rule from the class comment of RomanNumerals: a numeral is subtracted
+if its right neighbour is larger, otherwise it is added (MCMXC = 1000 - 100 + 1000 - 10 + 100).
+That rule only compares each byte with its neighbour, so a whole row can be done at once in the lanes of a
+SIMD register: map the bytes to their values, compare every lane with the next one, negate, add up the lanes.
+
+There are two kernels that do exactly that (see Implementation):
+ - SCALAR: a plain loop over the bytes, runs everywhere
+ - VECTOR: jdk.incubator.vector, compiled with the "vector" profile on JDK 17+ (src/vector).
+   It's only available if the JVM runs with --add-modules jdk.incubator.vector and the CPU has vectors
+   of at least 16 short lanes (e.g. AVX2)
+The best one is selected when the class is loaded (getBestImplementation()).
+
+Checked are only the bytes (roman numerals, then padding) and the range of the sum (1 - 3999):
+the kernels don't check the order of the numerals, so IIV or VX give some number. This decoder is meant for
+columns written by the encoder; validate untrusted input with RomanNumeralValidator or RomanNumeralDecoder.
+ */
+public final class BulkRomanNumeralDecoder {
+
+    public static final byte PAD = ' ';
+
+    public enum Implementation {
+        SCALAR,
+        VECTOR
+    }
+
+    private static final String VECTOR_KERNEL = "RomanNumbersSubstract.VectorBulkDecoderKernel";
+    private static final Kernel VECTOR = loadVectorKernel();
+    private static final Kernel SCALAR = new ScalarKernel();
+
+    private final Implementation implementation;
+    private final Kernel kernel;
+
+    public BulkRomanNumeralDecoder() {
+        this(getBestImplementation());
+    }
+
+    /**
+     * @throws UnsupportedOperationException if VECTOR is not available in this JVM
+     */
+    public BulkRomanNumeralDecoder(Implementation implementation) {
+        if (implementation == null) {
+            throw new IllegalArgumentException();
+        }
+        if (implementation == Implementation.VECTOR && VECTOR == null) {
+            throw new UnsupportedOperationException("jdk.incubator.vector is not available, run with --add-modules jdk.incubator.vector");
+        }
+        this.implementation = implementation;
+        this.kernel = implementation == Implementation.VECTOR ? VECTOR : SCALAR;
+    }
+
+    public static Implementation getBestImplementation() {
+        return VECTOR != null ? Implementation.VECTOR : Implementation.SCALAR;
+    }
+
+    public Implementation getImplementation() {
+        return implementation;
+    }
+
+    // ****
+    // main
+    // ****
+
+    /**
+     * @param column byte[] rows of width ASCII bytes, column.length must be a multiple of width
+     * @return int[] the value of every row
+     */
+    public int[] convertRomanNumerals(byte[] column, int width) throws RomanNumeralFormatException {
+        if (column == null || width < 1 || column.length % width != 0) {
+            throw new IllegalArgumentException();
+        }
+        int[] values = new int[column.length / width];
+        convertRomanNumerals(column, 0, width, values.length, values, 0);
+        return values;
+    }
+
+    /**
+     * decodes rows numerals from column at offset into values at valuesOffset.
+     * If a row is wrong, the rows before it are decoded and the exception tells the position of the wrong byte
+     * (or of the row, if its value is out of range).
+     */
+    public void convertRomanNumerals(byte[] column, int offset, int width, int rows, int[] values, int valuesOffset)
+            throws RomanNumeralFormatException {
+        if (column == null || values == null || width < 1 || rows < 0 || offset < 0 || valuesOffset < 0
+                || offset > column.length - (long) width * rows || valuesOffset > values.length - rows) {
+            throw new IllegalArgumentException();
+        }
+
+        int wrongRow = kernel.decode(column, offset, width, rows, values, valuesOffset);
+        if (wrongRow >= 0) {
+            throw getRowError(column, offset + wrongRow * width, width);
+        }
+    }
+
+    // ----------------------------------------------------------
+
+    /**
+     * decodes the rows, stops at the first wrong one
+     *
+     * @return int index of the first wrong row, -1 if all rows are ok
+     */
+    interface Kernel {
+        int decode(byte[] column, int offset, int width, int rows, int[] values, int valuesOffset);
+    }
+
+    private static Kernel loadVectorKernel() {
+        try {
+            return (Kernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (Exception | LinkageError e) {
+            // not compiled (JDK < 17), older class file version, module not added or vectors too small
+            return null;
+        }
+    }
+
+    // only on the error path: finds the wrong byte of a row the kernel rejected
+    private static RomanNumeralFormatException getRowError(byte[] column, int start, int width) {
+        boolean padding = false;
+        for (int i = start; i < start + width; i++) {
+            if (column[i] == PAD) {
+                padding = true;
+            } else if (padding) {
+                return new RomanNumeralFormatException("roman numeral behind the padding", i);
+            } else if (ScalarKernel.VALUE[column[i] & 0xFF] == 0) {
+                return new RomanNumeralFormatException("not a roman numeral", i);
+            }
+        }
+        return new RomanNumeralFormatException("not a roman numeral 1 - " + RomanNumeralEncoder.MAX_ARABIC_NUMBER, start);
+    }
+
+    /**
+     * the same as the vector kernel, one byte after the other
+     */
+    static final class ScalarKernel implements Kernel {
+
+        // value by byte, 0 = no roman numeral (PAD included)
+        static final int[] VALUE = new int[256];
+        static {
+            for (int b = 0; b < VALUE.length; b++) {
+                VALUE[b] = RomanSymbolIndex.getValue(b);
+            }
+        }
+
+        @Override
+        public int decode(byte[] column, int offset, int width, int rows, int[] values, int valuesOffset) {
+            for (int row = 0; row < rows; row++) {
+                int start = offset + row * width;
+                int end = start;
+                while (end < start + width && column[end] != PAD) {
+                    end++;
+                }
+                for (int i = end; i < start + width; i++) {
+                    if (column[i] != PAD) {
+                        return row;
+                    }
+                }
+
+                int sum = 0;
+                int value = end > start ? VALUE[column[start] & 0xFF] : 0;
+                for (int i = start; i < end; i++) {
+                    int next = i + 1 < end ? VALUE[column[i + 1] & 0xFF] : 0;
+                    if (value == 0) {
+                        return row;
+                    }
+                    sum += value < next ? -value : value;
+                    value = next;
+                }
+                if (sum < RomanNumeralEncoder.MIN_ARABIC_NUMBER || sum > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+                    return row;
+                }
+                values[valuesOffset + row] = sum;
+            }
+            return -1;
+        }
+    }
+}
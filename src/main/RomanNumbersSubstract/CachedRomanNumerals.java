@@ -0,0 +1,118 @@
+package RomanNumbersSubstract;
+
+/*
+There are only 3999 roman numerals we can write, so we can keep all of them.
+
+convertArabicNumber returns the same (interned) String for the same arabic number every time,
+so repeated conversions don't create any garbage.
+
+The cache can be filled
+ - EAGER: all 3999 numerals when the cache is created (startup cost, see getPopulationNanos())
+ - LAZY:  a numeral when it's asked for the first time
+
+The cache is safe to share between threads. In LAZY mode two threads may both compute the same
+numeral the first time - that's harmless, they produce the same interned String,
+and a String can be published without synchronization because all its fields are final.
+
+Footprint (estimated, 64 bit JVM with compressed oops and compact strings, see estimateFootprintBytes()):
+about 16 KB for the array plus 48 - 56 bytes per numeral, about 215 KB when fully populated.
+ */
+public final class CachedRomanNumerals {
+
+    public enum Population {
+        EAGER,
+        LAZY
+    }
+
+    private static final RomanNumeralEncoder ENCODER = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE);
+
+    // index = arabic number, index 0 is unused
+    private final String[] romanNumbers = new String[RomanNumeralEncoder.MAX_ARABIC_NUMBER + 1];
+    private final Population population;
+    private final long populationNanos;
+
+    public CachedRomanNumerals() {
+        this(Population.EAGER);
+    }
+
+    public CachedRomanNumerals(Population population) {
+        if (population == null) {
+            throw new IllegalArgumentException();
+        }
+        this.population = population;
+
+        long start = System.nanoTime();
+        if (population == Population.EAGER) {
+            for (int arabicNumber = RomanNumeralEncoder.MIN_ARABIC_NUMBER; arabicNumber <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; arabicNumber++) {
+                romanNumbers[arabicNumber] = ENCODER.convertArabicNumber(arabicNumber).intern();
+            }
+        }
+        this.populationNanos = System.nanoTime() - start;
+    }
+
+    // ****
+    // main
+    // ****
+    public String convertArabicNumber(int arabicNumber) throws IllegalArgumentException {
+
+        // contract: we operate only in the specified range
+        if (arabicNumber < RomanNumeralEncoder.MIN_ARABIC_NUMBER || arabicNumber > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+            throw new IllegalArgumentException();
+        }
+
+        String romanNumber = romanNumbers[arabicNumber];
+        if (romanNumber == null) { // only in LAZY mode
+            romanNumber = ENCODER.convertArabicNumber(arabicNumber).intern();
+            romanNumbers[arabicNumber] = romanNumber;
+        }
+        return romanNumber;
+    }
+
+    // for InstrumentedRomanNumerals: would convertArabicNumber be answered from the cache?
+    boolean isCached(int arabicNumber) {
+        return arabicNumber >= RomanNumeralEncoder.MIN_ARABIC_NUMBER && arabicNumber <= RomanNumeralEncoder.MAX_ARABIC_NUMBER
+                && romanNumbers[arabicNumber] != null;
+    }
+
+    public Population getPopulation() {
+        return population;
+    }
+
+    /**
+     * time spent filling the cache in the constructor, 0 (or close to it) for LAZY
+     */
+    public long getPopulationNanos() {
+        return populationNanos;
+    }
+
+    public int getCachedCount() {
+        int count = 0;
+        for (String romanNumber : romanNumbers) {
+            if (romanNumber != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * rough estimate of the heap held by the cache, assuming a 64 bit JVM with compressed oops and compact strings:
+     * array = 16 byte header + 4 byte per reference,
+     * each String = 24 byte object + byte[] with 16 byte header + 1 byte per character, both aligned to 8 byte.
+     *
+     * @return long estimated bytes
+     */
+    public long estimateFootprintBytes() {
+        long bytes = align(16 + 4L * romanNumbers.length);
+        for (String romanNumber : romanNumbers) {
+            if (romanNumber != null) {
+                bytes += 24 + align(16 + romanNumber.length());
+            }
+        }
+        return bytes;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
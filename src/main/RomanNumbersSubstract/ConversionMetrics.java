@@ -0,0 +1,213 @@
+package RomanNumbersSubstract;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+What one kind of conversion (e.g. encoding) did, recorded by InstrumentedRomanNumerals:
+ - calls and rejected calls (the IllegalArgumentException / RomanNumeralFormatException)
+ - cache hits and misses, if the conversion goes through CachedRomanNumerals
+ - the latency of every call, in a LatencyHistogram
+ - the arabic numbers, counted per VALUE_BUCKET_SIZE (1 - 99, 100 - 199, ..., 3900 - 3999)
+
+All counters are LongAdders, so recording doesn't serialize the threads.
+The values are pulled with snapshot() (or through JMX, see ConversionMetricsMXBean).
+ */
+public final class ConversionMetrics implements ConversionMetricsMXBean {
+
+    public static final int VALUE_BUCKET_SIZE = 100;
+    public static final int VALUE_BUCKETS = RomanNumeralEncoder.MAX_ARABIC_NUMBER / VALUE_BUCKET_SIZE + 1;
+
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder[] values = new LongAdder[VALUE_BUCKETS];
+
+    ConversionMetrics(String name) {
+        this.name = name;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new LongAdder();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // ----------------------------------------------------------
+    // recording, called by InstrumentedRomanNumerals
+
+    void recordCall(int arabicNumber, long nanos) {
+        calls.increment();
+        latencies.record(nanos);
+        values[arabicNumber / VALUE_BUCKET_SIZE].increment();
+    }
+
+    void recordRejected(long nanos) {
+        calls.increment();
+        rejected.increment();
+        latencies.record(nanos);
+    }
+
+    void recordCacheAccess(boolean hit) {
+        (hit ? cacheHits : cacheMisses).increment();
+    }
+
+    // ----------------------------------------------------------
+
+    /**
+     * @return Snapshot the current values, each counter is read once (not atomically with the others)
+     */
+    public Snapshot snapshot() {
+        long[] valueCounts = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            valueCounts[i] = values[i].sum();
+        }
+        return new Snapshot(name, calls.sum(), rejected.sum(), cacheHits.sum(), cacheMisses.sum(),
+                latencies.getCounts(), valueCounts);
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public double getCacheHitRatio() {
+        return snapshot().getCacheHitRatio();
+    }
+
+    @Override
+    public long getLatency50thPercentileNanos() {
+        return snapshot().getLatencyPercentileNanos(50);
+    }
+
+    @Override
+    public long getLatency99thPercentileNanos() {
+        return snapshot().getLatencyPercentileNanos(99);
+    }
+
+    @Override
+    public long getLatency999thPercentileNanos() {
+        return snapshot().getLatencyPercentileNanos(99.9);
+    }
+
+    @Override
+    public long getLatencyMaxNanos() {
+        return snapshot().getLatencyPercentileNanos(100);
+    }
+
+    @Override
+    public long[] getValueDistribution() {
+        return snapshot().getValueDistribution();
+    }
+
+    /**
+     * immutable copy of a ConversionMetrics
+     */
+    public static final class Snapshot {
+        private final String name;
+        private final long calls;
+        private final long rejected;
+        private final long cacheHits;
+        private final long cacheMisses;
+        private final long[] latencyCounts;
+        private final long[] valueCounts;
+
+        Snapshot(String name, long calls, long rejected, long cacheHits, long cacheMisses, long[] latencyCounts, long[] valueCounts) {
+            this.name = name;
+            this.calls = calls;
+            this.rejected = rejected;
+            this.cacheHits = cacheHits;
+            this.cacheMisses = cacheMisses;
+            this.latencyCounts = latencyCounts;
+            this.valueCounts = valueCounts;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public long getCacheHits() {
+            return cacheHits;
+        }
+
+        public long getCacheMisses() {
+            return cacheMisses;
+        }
+
+        /**
+         * @return double hits / (hits + misses), 0 without any cache access
+         */
+        public double getCacheHitRatio() {
+            long accesses = cacheHits + cacheMisses;
+            return accesses == 0 ? 0 : (double) cacheHits / accesses;
+        }
+
+        /**
+         * @param percentile double 0 - 100
+         * @return long the upper bound of the bucket the percentile falls into, 0 without any call
+         */
+        public long getLatencyPercentileNanos(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException();
+            }
+            long total = 0;
+            for (long count : latencyCounts) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long seen = 0;
+            int bucket = 0;
+            for (; bucket < latencyCounts.length - 1; bucket++) {
+                seen += latencyCounts[bucket];
+                if (seen >= rank) {
+                    break;
+                }
+            }
+            return LatencyHistogram.getUpperBound(bucket);
+        }
+
+        /**
+         * @return long[] calls per VALUE_BUCKET_SIZE arabic numbers, see ConversionMetricsMXBean
+         */
+        public long[] getValueDistribution() {
+            return valueCounts.clone();
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + calls + " calls, " + rejected + " rejected, cache hit ratio " + getCacheHitRatio()
+                    + ", latency p50 " + getLatencyPercentileNanos(50) + " ns, p99 " + getLatencyPercentileNanos(99)
+                    + " ns, p99.9 " + getLatencyPercentileNanos(99.9) + " ns";
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package RomanNumbersSubstract;
+
+/**
+ * the JMX view of a ConversionMetrics, registered by InstrumentedRomanNumerals.registerMBeans.
+ * Every getter takes a fresh snapshot, so the values of two getters can differ a little under load.
+ */
+public interface ConversionMetricsMXBean {
+
+    long getCalls();
+
+    long getRejected();
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    double getCacheHitRatio();
+
+    long getLatency50thPercentileNanos();
+
+    long getLatency99thPercentileNanos();
+
+    long getLatency999thPercentileNanos();
+
+    long getLatencyMaxNanos();
+
+    /**
+     * @return long[] calls per VALUE_BUCKET_SIZE arabic numbers, index 0 = 1 - 99, index 1 = 100 - 199, ...
+     */
+    long[] getValueDistribution();
+}
@@ -0,0 +1,175 @@
+package RomanNumbersSubstract;
+
+/*
+Roman numerals beyond 3999, written with the vinculum (overline): a line over a numeral multiplies it by 1000.
+
+     4000 = I̅V̅          (4 * 1000)
+    12345 = X̅I̅I̅CCCXLV    (12 * 1000 + 345)
+  5000000 = V̿            (5 * 1000 * 1000, two lines)
+
+This is the same structure as the RomanNumeralRange magnitudes, just one level up: above 3999 the number is
+split into groups of three digits, and every group is written with the usual ones / tens / hundreds fragments
+and as many lines as its level (level 0 = no line, level 1 = * 1000, level 2 = * 1000000, ...).
+Only the highest group may use M (up to 3999), so the numbers below 4000 are written exactly as before.
+
+    encode(n, level):  n < 4000 ?  group(n, level)
+                                :  encode(n / 1000, level + 1)  group(n % 1000, level)
+
+The line is the combining character U+0305 behind every numeral of a group (V̅ = "V̅").
+
+Numbers up to 3999 are converted by the table-driven RomanNumeralEncoder / RomanNumeralDecoder,
+above that the cost grows with the number of digits (one group per three digits).
+ */
+public final class ExtendedRomanNumerals {
+
+    public static final char VINCULUM = '\u0305';
+
+    private static final int NO_GROUP = Integer.MAX_VALUE; // level before the first group
+
+    public static final ExtendedRomanNumerals INSTANCE = new ExtendedRomanNumerals();
+
+    private static final RomanNumeralEncoder ENCODER = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE);
+    private static final RomanNumeralDecoder DECODER = RomanNumeralDecoder.INSTANCE;
+
+    // ****
+    // main
+    // ****
+    public String convertArabicNumber(long arabicNumber) throws IllegalArgumentException {
+        if (arabicNumber < RomanNumeralEncoder.MIN_ARABIC_NUMBER) { // before the cast, that drops the high bits
+            throw new IllegalArgumentException();
+        }
+        if (arabicNumber <= RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+            return ENCODER.convertArabicNumber((int) arabicNumber); // fast path
+        }
+        return convertArabicNumber(arabicNumber, new StringBuilder(getRomanLength(arabicNumber, 0))).toString();
+    }
+
+    /**
+     * appends the roman numeral to romanNumber
+     *
+     * @return StringBuilder romanNumber
+     */
+    public StringBuilder convertArabicNumber(long arabicNumber, StringBuilder romanNumber) throws IllegalArgumentException {
+        if (arabicNumber < RomanNumeralEncoder.MIN_ARABIC_NUMBER) {
+            throw new IllegalArgumentException();
+        }
+        appendGroups(arabicNumber, 0, romanNumber);
+        return romanNumber;
+    }
+
+    public long convertRomanNumeral(CharSequence romanNumeral) throws RomanNumeralFormatException {
+        if (romanNumeral == null) {
+            throw new IllegalArgumentException();
+        }
+        int end = romanNumeral.length();
+        if (end < 2 || romanNumeral.charAt(1) != VINCULUM) {
+            return DECODER.convertRomanNumeral(romanNumeral); // fast path: the highest group has no line, so there's only one group
+        }
+
+        long arabicNumber = 0;
+        int previousLevel = NO_GROUP;
+        long group = RomanNumeralDecoder.START;
+        int groupStart = 0;
+
+        for (int i = 0; i < end; ) {
+            int value = RomanNumeralDecoder.getValue(romanNumeral.charAt(i), i);
+            int level = countVinculums(romanNumeral, i + 1);
+            int nextPosition = i + 1 + level;
+            int nextLevel = getLevel(romanNumeral, nextPosition);
+
+            int next = nextLevel == level ? RomanNumeralDecoder.getValue(romanNumeral.charAt(nextPosition), nextPosition) : 0;
+            group = RomanNumeralDecoder.addNumeral(group, value, next, i);
+            if (value < next) { // subtractive pair within the group, e.g. I̅V̅
+                nextPosition += 1 + level;
+                nextLevel = getLevel(romanNumeral, nextPosition);
+            }
+
+            if (nextLevel != level) { // end of the group
+                if (level >= previousLevel) {
+                    throw new RomanNumeralFormatException("groups must be written from the most lines to the least", groupStart);
+                }
+                int groupValue = RomanNumeralDecoder.getSum(group);
+                if (previousLevel == NO_GROUP ? level > 0 && groupValue < 4 : groupValue > 999) {
+                    throw new RomanNumeralFormatException("numbers below 4000 are written without lines, and only the highest group may use M", groupStart);
+                }
+                arabicNumber = previousLevel == NO_GROUP ? groupValue : addGroup(arabicNumber, previousLevel, groupValue, level, groupStart);
+                previousLevel = level;
+                group = RomanNumeralDecoder.START;
+                groupStart = nextPosition;
+            }
+            i = nextPosition;
+        }
+
+        // the lowest group may have lines as well, e.g. I̅V̅ = 4000
+        return multiply(arabicNumber, previousLevel, 0, 0);
+    }
+
+    // ----------------------------------------------------------
+
+    private static void appendGroups(long arabicNumber, int level, StringBuilder romanNumber) {
+        if (arabicNumber > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+            appendGroups(arabicNumber / 1000, level + 1, romanNumber);
+            appendGroup((int) (arabicNumber % 1000), level, romanNumber);
+        } else {
+            appendGroup((int) arabicNumber, level, romanNumber);
+        }
+    }
+
+    private static void appendGroup(int group, int level, StringBuilder romanNumber) {
+        appendFragment(RomanDigitFragments.FRAGMENTS[3][group / 1000],     level, romanNumber);
+        appendFragment(RomanDigitFragments.FRAGMENTS[2][group / 100 % 10], level, romanNumber);
+        appendFragment(RomanDigitFragments.FRAGMENTS[1][group / 10 % 10],  level, romanNumber);
+        appendFragment(RomanDigitFragments.FRAGMENTS[0][group % 10],       level, romanNumber);
+    }
+
+    private static void appendFragment(char[] fragment, int level, StringBuilder romanNumber) {
+        for (char c : fragment) {
+            romanNumber.append(c);
+            for (int i = 0; i < level; i++) {
+                romanNumber.append(VINCULUM);
+            }
+        }
+    }
+
+    private static int getRomanLength(long arabicNumber, int level) {
+        if (arabicNumber > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+            return getRomanLength(arabicNumber / 1000, level + 1)
+                    + RomanDigitFragments.getRomanLength((int) (arabicNumber % 1000)) * (level + 1);
+        }
+        return RomanDigitFragments.getRomanLength((int) arabicNumber) * (level + 1);
+    }
+
+    // number of lines over the numeral at position, -1 behind the end
+    private static int getLevel(CharSequence romanNumeral, int position) {
+        return position < romanNumeral.length() ? countVinculums(romanNumeral, position + 1) : -1;
+    }
+
+    private static int countVinculums(CharSequence romanNumeral, int from) {
+        int level = 0;
+        while (from + level < romanNumeral.length() && romanNumeral.charAt(from + level) == VINCULUM) {
+            level++;
+        }
+        return level;
+    }
+
+    // arabicNumber holds the groups up to previousLevel, the new group is added at level
+    private static long addGroup(long arabicNumber, int previousLevel, int group, int level, int position) {
+        try {
+            return Math.addExact(multiply(arabicNumber, previousLevel, level, position), group);
+        } catch (ArithmeticException e) {
+            throw new RomanNumeralFormatException("roman numeral larger than " + Long.MAX_VALUE, position);
+        }
+    }
+
+    // arabicNumber * 1000 ^ (fromLevel - toLevel)
+    private static long multiply(long arabicNumber, int fromLevel, int toLevel, int position) {
+        try {
+            for (int level = fromLevel; level > toLevel; level--) {
+                arabicNumber = Math.multiplyExact(arabicNumber, 1000);
+            }
+            return arabicNumber;
+        } catch (ArithmeticException e) {
+            throw new RomanNumeralFormatException("roman numeral larger than " + Long.MAX_VALUE, position);
+        }
+    }
+}
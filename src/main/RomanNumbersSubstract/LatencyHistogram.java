@@ -0,0 +1,70 @@
+package RomanNumbersSubstract;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Counts latencies in buckets, the way HdrHistogram does, just much smaller:
+every power of two is split into SUB_BUCKETS linear buckets, so a bucket is never wider than
+1/8 of its value (about 12% error) - from 1 ns up to Long.MAX_VALUE ns in less than 500 buckets.
+
+    nanos  0 -  7:   one bucket per nanosecond
+    nanos  8 - 15:   one bucket per nanosecond
+    nanos 16 - 31:   8 buckets of 2 ns
+    nanos 32 - 63:   8 buckets of 4 ns
+    ...
+
+Every bucket is a LongAdder, so threads recording at the same time don't fight over one counter.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // the highest bit of a long latency is bit 62
+    static final int BUCKETS = getBucket(Long.MAX_VALUE) + 1;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+    LatencyHistogram() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        counts[getBucket(Math.max(nanos, 0))].increment();
+    }
+
+    /**
+     * @return long[] the count of every bucket, not an atomic snapshot (recording threads keep going)
+     */
+    long[] getCounts() {
+        long[] result = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            result[i] = counts[i].sum();
+        }
+        return result;
+    }
+
+    static int getBucket(long nanos) {
+        if (nanos < SUB_BUCKETS * 2) {
+            return (int) nanos;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (highestBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (highestBit - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return long the highest latency that falls into bucket
+     */
+    static long getUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS * 2) {
+            return bucket;
+        }
+        int highestBit = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int shift = highestBit - SUB_BUCKET_BITS;
+        long lowerBound = ((long) (SUB_BUCKETS + bucket % SUB_BUCKETS)) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,199 @@
+package RomanNumbersSubstract;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+Converts very large arrays or ranges of arabic numbers on all cores.
+
+The input is split with fork/join until a part has at most threshold numbers,
+every part is converted by RomanNumeralEncoder (which can be shared, see its class comment)
+and the results are written into output that was sized before, so the order of the input is kept.
+
+Writing all numerals into one char[] needs two passes, because a part only knows where to write
+when the length of all parts before it is known:
+ 1. every part checks its numbers and computes its length            (parallel)
+ 2. the start of every part is the sum of the lengths before it     (sequential, one number per part)
+ 3. every part writes its numerals at its start                      (parallel)
+
+The lengths and starts are longs: hundreds of millions of numerals of up to 16 characters (with the delimiter)
+are more than 2^31 characters, which is rejected before anything is written.
+
+The threshold should be large enough that a part takes much longer than forking a task
+(some microseconds), DEFAULT_THRESHOLD is a good start.
+ */
+public final class ParallelRomanNumerals {
+
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    // the longest array most JVMs can allocate
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private static final RomanNumeralEncoder ENCODER = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE);
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelRomanNumerals() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param pool ForkJoinPool that does the work
+     * @param threshold int max. numbers converted by one task
+     */
+    public ParallelRomanNumerals(ForkJoinPool pool, int threshold) {
+        if (pool == null || threshold < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    // ****
+    // main
+    // ****
+
+    /**
+     * @return String[] the roman numeral of arabicNumbers[i] at index i
+     */
+    public String[] convertArabicNumbers(int[] arabicNumbers) throws IllegalArgumentException {
+        if (arabicNumbers == null) {
+            throw new IllegalArgumentException();
+        }
+        String[] romanNumbers = new String[arabicNumbers.length];
+        forEachPart(arabicNumbers.length, threshold, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                romanNumbers[i] = ENCODER.convertArabicNumber(arabicNumbers[i]);
+            }
+        });
+        return romanNumbers;
+    }
+
+    /**
+     * @return String[] the roman numerals of fromArabicNumber .. toArabicNumber (both inclusive)
+     */
+    public String[] convertRange(int fromArabicNumber, int toArabicNumber) throws IllegalArgumentException {
+        if (fromArabicNumber < RomanNumeralEncoder.MIN_ARABIC_NUMBER || toArabicNumber > RomanNumeralEncoder.MAX_ARABIC_NUMBER
+                || fromArabicNumber > toArabicNumber) {
+            throw new IllegalArgumentException();
+        }
+        String[] romanNumbers = new String[toArabicNumber - fromArabicNumber + 1];
+        forEachPart(romanNumbers.length, threshold, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                romanNumbers[i] = ENCODER.convertArabicNumber(fromArabicNumber + i);
+            }
+        });
+        return romanNumbers;
+    }
+
+    /**
+     * writes the roman numerals of arabicNumbers, separated by delimiter, into romanNumbers starting at offset -
+     * the same result as RomanNumeralEncoder.convertArabicNumbers(int[], char, char[], int)
+     *
+     * @return int number of written characters
+     * @throws IndexOutOfBoundsException if romanNumbers is too small, nothing is written then
+     * @throws IllegalArgumentException if the numerals need more characters than a char[] can have
+     */
+    public int convertArabicNumbers(int[] arabicNumbers, char delimiter, char[] romanNumbers, int offset) throws IllegalArgumentException {
+        if (arabicNumbers == null || romanNumbers == null) {
+            throw new IllegalArgumentException();
+        }
+        int parts = (arabicNumbers.length + threshold - 1) / threshold;
+        long[] partStart = new long[parts + 1];
+
+        // 1. check and compute the length of every part (partStart[part + 1] holds the length for now)
+        forEachPart(parts, 1, (fromPart, toPart) -> {
+            for (int part = fromPart; part < toPart; part++) {
+                long length = 0;
+                for (int i = part * threshold, end = getPartEnd(part, arabicNumbers.length); i < end; i++) {
+                    int arabicNumber = arabicNumbers[i];
+                    if (arabicNumber < RomanNumeralEncoder.MIN_ARABIC_NUMBER || arabicNumber > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+                        throw new IllegalArgumentException("arabicNumbers[" + i + "] = " + arabicNumber);
+                    }
+                    length += RomanDigitFragments.getRomanLength(arabicNumber) + 1; // + delimiter in front
+                }
+                partStart[part + 1] = part == 0 ? length - 1 : length; // no delimiter in front of the first numeral
+            }
+        });
+
+        // 2. where every part starts
+        partStart[0] = offset;
+        for (int part = 1; part <= parts; part++) {
+            partStart[part] += partStart[part - 1];
+        }
+        long length = partStart[parts] - offset;
+        if (length > MAX_ARRAY_LENGTH) {
+            throw new IllegalArgumentException("the numerals need " + length + " characters, more than a char[] can have");
+        }
+        if (offset < 0 || offset > romanNumbers.length - length) {
+            throw new IndexOutOfBoundsException("need " + length + " characters at offset " + offset + ", have " + romanNumbers.length);
+        }
+
+        // 3. write
+        forEachPart(parts, 1, (fromPart, toPart) -> {
+            for (int part = fromPart; part < toPart; part++) {
+                int pos = (int) partStart[part];
+                for (int i = part * threshold, end = getPartEnd(part, arabicNumbers.length); i < end; i++) {
+                    if (i > 0) {
+                        romanNumbers[pos++] = delimiter;
+                    }
+                    pos = RomanNumeralEncoder.writeRomanNumber(arabicNumbers[i], romanNumbers, pos);
+                }
+            }
+        });
+        return (int) length;
+    }
+
+    // ----------------------------------------------------------
+
+    private int getPartEnd(int part, int length) {
+        return (int) Math.min(length, (long) (part + 1) * threshold);
+    }
+
+    private void forEachPart(int length, int partSize, Part part) {
+        if (length > 0) {
+            pool.invoke(new ForEachPart(0, length, partSize, part));
+        }
+    }
+
+    /**
+     * the work for the indexes from (inclusive) to (exclusive)
+     */
+    private interface Part {
+        void convert(int from, int to);
+    }
+
+    /**
+     * splits from .. to in halves until at most partSize indexes are left, and converts these.
+     */
+    private static final class ForEachPart extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int partSize;
+        private final Part part;
+
+        ForEachPart(int from, int to, int partSize, Part part) {
+            this.from = from;
+            this.to = to;
+            this.partSize = partSize;
+            this.part = part;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= partSize) {
+                part.convert(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ForEachPart(from, middle, partSize, part), new ForEachPart(middle, to, partSize, part));
+        }
+    }
+}
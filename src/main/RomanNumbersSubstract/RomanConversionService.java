@@ -0,0 +1,317 @@
+package RomanNumbersSubstract;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+Embeddable asynchronous conversion service: every request returns a CompletableFuture right away.
+
+    try (RomanConversionService service = new RomanConversionService()) {
+        CompletableFuture<String> romanNumber = service.convertArabicNumber(1990);
+        ...
+    }
+
+Converting one number takes some ns, handing it to another thread some µs. So single requests are not converted
+one by one: they are queued, and a dispatcher thread collects them into micro batches
+
+ - a batch is closed when it has maxBatchSize requests, or maxWait after its first request arrived
+ - every batch is converted by one task of the executor, which completes the futures of its requests
+
+A request with several numbers (convertArabicNumbers) is a batch of its own and goes to the executor directly.
+
+The executor runs every task on a virtual thread if the JVM has them (JDK 21+, found by reflection,
+so the service still runs on older JVMs), otherwise on a cached pool of daemon threads.
+
+getStatistics() tells the current and the highest queue depth and how big the batches were.
+
+close() stops taking requests, converts the ones already queued and waits for the running batches.
+Taking a request (the check of closed and the add to the queue or the executor) holds the read lock of closeLock,
+close() sets closed with the write lock: a request is either rejected, or queued before the dispatcher can see
+closed - never queued after the dispatcher has stopped.
+ */
+public final class RomanConversionService implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    public static final long DEFAULT_MAX_WAIT_MICROS = 100;
+
+    private static final RomanNumeralEncoder ENCODER = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE);
+    private static final RomanNumeralDecoder DECODER = RomanNumeralDecoder.INSTANCE;
+
+    // how often the dispatcher checks for close() while the queue is empty
+    private static final long IDLE_POLL_MILLIS = 50;
+
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final LinkedBlockingQueue<Request<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedRequests = new LongAdder();
+    private final AtomicInteger maxBatch = new AtomicInteger();
+
+    public RomanConversionService() {
+        this(DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_WAIT_MICROS, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * @param maxBatchSize int max. number of single requests converted together
+     * @param maxWait long max. time the first request of a batch waits for more requests
+     */
+    public RomanConversionService(int maxBatchSize, long maxWait, TimeUnit unit) {
+        if (maxBatchSize < 1 || maxWait < 0 || unit == null) {
+            throw new IllegalArgumentException();
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = unit.toNanos(maxWait);
+
+        ExecutorService virtualThreadExecutor = newVirtualThreadExecutor();
+        this.virtualThreads = virtualThreadExecutor != null;
+        this.executor = virtualThreads ? virtualThreadExecutor : Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "roman-conversion");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.dispatcher = new Thread(this::dispatch, "roman-conversion-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    // ****
+    // main
+    // ****
+    public CompletableFuture<String> convertArabicNumber(int arabicNumber) {
+        return enqueue(new Request<String>() {
+            @Override
+            String convert() {
+                return ENCODER.convertArabicNumber(arabicNumber);
+            }
+        });
+    }
+
+    public CompletableFuture<Integer> convertRomanNumeral(CharSequence romanNumeral) {
+        return enqueue(new Request<Integer>() {
+            @Override
+            Integer convert() {
+                return DECODER.convertRomanNumeral(romanNumeral);
+            }
+        });
+    }
+
+    /**
+     * converts all numbers in one task, without waiting for other requests
+     */
+    public CompletableFuture<String[]> convertArabicNumbers(int[] arabicNumbers) {
+        if (arabicNumbers == null) {
+            throw new IllegalArgumentException();
+        }
+        CompletableFuture<String[]> future = new CompletableFuture<>();
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                future.completeExceptionally(new RejectedExecutionException("service is closed"));
+                return future;
+            }
+            executor.execute(() -> {
+                try {
+                    String[] romanNumbers = new String[arabicNumbers.length];
+                    for (int i = 0; i < arabicNumbers.length; i++) {
+                        romanNumbers[i] = ENCODER.convertArabicNumber(arabicNumbers[i]);
+                    }
+                    future.complete(romanNumbers);
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) { // the executor is out of threads, or shut down by close()
+            future.completeExceptionally(e);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        return future;
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(queueDepth.get(), maxQueueDepth.get(), batches.sum(), batchedRequests.sum(), maxBatch.get());
+    }
+
+    /**
+     * if the calling thread is interrupted while waiting, close() returns early with its interrupt flag set,
+     * the queued requests are still converted by the dispatcher
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            dispatcher.join();
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ----------------------------------------------------------
+
+    private <T> CompletableFuture<T> enqueue(Request<T> request) {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                request.future.completeExceptionally(new RejectedExecutionException("service is closed"));
+            } else {
+                int depth = queueDepth.incrementAndGet();
+                maxQueueDepth.accumulateAndGet(depth, Math::max);
+                queue.add(request);
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        return request.future;
+    }
+
+    // the dispatcher thread: collects the batches until the service is closed and the queue is empty
+    private void dispatch() {
+        try {
+            while (!closed || !queue.isEmpty()) {
+                Request<?> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<Request<?>> batch = collectBatch(first);
+                    queueDepth.addAndGet(-batch.size());
+                    batches.increment();
+                    batchedRequests.add(batch.size());
+                    maxBatch.accumulateAndGet(batch.size(), Math::max);
+                    executor.execute(() -> convert(batch));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<Request<?>> collectBatch(Request<?> first) throws InterruptedException {
+        List<Request<?>> batch = new ArrayList<>(Math.min(maxBatchSize, queue.size() + 1));
+        batch.add(first);
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size()); // whatever is there already
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() == maxBatchSize || remaining <= 0 || closed) {
+                break;
+            }
+            Request<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private static void convert(List<Request<?>> batch) {
+        for (Request<?> request : batch) {
+            request.complete();
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor(), if this JVM has it
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private abstract static class Request<T> {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        abstract T convert();
+
+        void complete() {
+            try {
+                future.complete(convert());
+            } catch (RuntimeException e) { // only this request failed, e.g. IllegalArgumentException
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * queue and batch sizes since the service was started
+     */
+    public static final class Statistics {
+        private final int queueDepth;
+        private final int maxQueueDepth;
+        private final long batches;
+        private final long batchedRequests;
+        private final int maxBatchSize;
+
+        Statistics(int queueDepth, int maxQueueDepth, long batches, long batchedRequests, int maxBatchSize) {
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.batches = batches;
+            this.batchedRequests = batchedRequests;
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        /**
+         * @return int single requests waiting for their batch right now
+         */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public int getMaxQueueDepth() {
+            return maxQueueDepth;
+        }
+
+        public long getBatches() {
+            return batches;
+        }
+
+        public long getBatchedRequests() {
+            return batchedRequests;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public double getAverageBatchSize() {
+            return batches == 0 ? 0 : (double) batchedRequests / batches;
+        }
+
+        @Override
+        public String toString() {
+            return "queue depth " + queueDepth + " (max " + maxQueueDepth + "), " + batches + " batches, "
+                    + batchedRequests + " requests, batch size avg " + getAverageBatchSize() + " max " + maxBatchSize;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package RomanNumbersSubstract;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static RomanNumbersSubstract.RomanDigitFragments.FRAGMENTS;
+import static RomanNumbersSubstract.RomanDigitFragments.MAGNITUDES;
+import static RomanNumbersSubstract.RomanDigitFragments.MAX_ROMAN_LENGTH;
+
+/*
+Counts in roman numerals: the numeral of the next number is derived from the current one.
+
+The counter keeps the arabic digits and the roman numeral in a char[], and where the fragment of each magnitude
+starts. Counting up changes the ones and, with a carry, the digits above them - so only the fragments
+from the highest changed digit on are written again, the ones before stay where they are:
+
+    MCMXCVIII  (1998)   M | CM | XC | VIII
+    increment  (1999)   M | CM | XC | IX        ones only
+    increment  (2000)   MM |   |    |           carry into the thousands: everything from the thousands on
+
+9 of 10 increments only rewrite the ones, 99 of 100 at most ones and tens.
+
+The counter is mutable and not thread safe, like a StringBuilder: it is a CharSequence of the current numeral,
+and getChars() / toString() copy it.
+
+For parallel consumers range() (or spliterator()) gives a stream over [from, to) that can be split:
+every part gets its own counter for a disjoint subrange. The stream passes the part's counter
+for each number, so it must be read during the call, e.g.
+
+    RomanCounter.range(1, 4000).parallel().map(RomanCounter::toString)
+ */
+public final class RomanCounter implements CharSequence {
+
+    private final char[] romanNumeral = new char[MAX_ROMAN_LENGTH];
+    private final int[] digits = new int[MAGNITUDES];  // index = magnitude - 1
+    private final int[] starts = new int[MAGNITUDES];  // position of the fragment of each magnitude
+    private int value;
+    private int length;
+
+    /**
+     * @param arabicNumber int 1 - 3999, the first number
+     */
+    public RomanCounter(int arabicNumber) throws IllegalArgumentException {
+        set(arabicNumber);
+    }
+
+    /**
+     * jumps to arabicNumber, writing all digits
+     */
+    public void set(int arabicNumber) throws IllegalArgumentException {
+        checkArabicNumber(arabicNumber);
+        value = arabicNumber;
+        for (int magnitude = 1; magnitude <= MAGNITUDES; magnitude++) {
+            digits[magnitude - 1] = arabicNumber % 10;
+            arabicNumber /= 10;
+        }
+        write(MAGNITUDES);
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public boolean canIncrement() {
+        return value < RomanNumeralEncoder.MAX_ARABIC_NUMBER;
+    }
+
+    // ****
+    // main
+    // ****
+
+    /**
+     * counts one up, rewriting only the digits that changed
+     *
+     * @throws IllegalStateException at 3999
+     */
+    public void increment() throws IllegalStateException {
+        if (!canIncrement()) {
+            throw new IllegalStateException("no roman numeral above " + RomanNumeralEncoder.MAX_ARABIC_NUMBER);
+        }
+        value++;
+        int magnitude = 1;
+        while (++digits[magnitude - 1] == 10) { // carry
+            digits[magnitude - 1] = 0;
+            magnitude++;
+        }
+        write(magnitude);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return romanNumeral[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        return new String(romanNumeral, start, end - start);
+    }
+
+    /**
+     * copies the current numeral into target starting at offset
+     *
+     * @return int number of copied characters
+     */
+    public int getChars(char[] target, int offset) {
+        if (offset < 0 || offset > target.length - length) {
+            throw new IndexOutOfBoundsException("need " + length + " characters at offset " + offset + ", have " + target.length);
+        }
+        System.arraycopy(romanNumeral, 0, target, offset, length);
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return new String(romanNumeral, 0, length);
+    }
+
+    // *****
+    // range
+    // *****
+
+    /**
+     * the numbers from - to (exclusive), see the class comment
+     *
+     * @param from int 1 - 3999
+     * @param to int from - 4000
+     */
+    public static Spliterator<RomanCounter> spliterator(int from, int to) throws IllegalArgumentException {
+        if (from < RomanNumeralEncoder.MIN_ARABIC_NUMBER || to < from || to > RomanNumeralEncoder.MAX_ARABIC_NUMBER + 1) {
+            throw new IllegalArgumentException();
+        }
+        return new RangeSpliterator(from, to);
+    }
+
+    /**
+     * sequential stream of spliterator(from, to), call parallel() for parallel consumers
+     */
+    public static Stream<RomanCounter> range(int from, int to) throws IllegalArgumentException {
+        return StreamSupport.stream(spliterator(from, to), false);
+    }
+
+    // ----------------------------------------------------------
+
+    private static void checkArabicNumber(int arabicNumber) {
+        if (arabicNumber < RomanNumeralEncoder.MIN_ARABIC_NUMBER || arabicNumber > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    // writes the fragments of fromMagnitude down to the ones, behind the fragments above fromMagnitude
+    private void write(int fromMagnitude) {
+        int pos = fromMagnitude == MAGNITUDES ? 0 : starts[fromMagnitude - 1];
+        for (int magnitude = fromMagnitude; magnitude >= 1; magnitude--) {
+            char[] fragment = FRAGMENTS[magnitude - 1][digits[magnitude - 1]];
+            starts[magnitude - 1] = pos;
+            System.arraycopy(fragment, 0, romanNumeral, pos, fragment.length);
+            pos += fragment.length;
+        }
+        length = pos;
+    }
+
+    /**
+     * [next, to), the counter is created when the first number is taken, so splitting creates no counters
+     */
+    private static final class RangeSpliterator implements Spliterator<RomanCounter> {
+
+        private static final int MIN_SPLIT = 64;
+
+        private int next;
+        private final int to;
+        private RomanCounter counter;
+
+        RangeSpliterator(int from, int to) {
+            this.next = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super RomanCounter> action) {
+            if (next >= to) {
+                return false;
+            }
+            advance();
+            action.accept(counter);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super RomanCounter> action) {
+            while (next < to) {
+                advance();
+                action.accept(counter);
+            }
+        }
+
+        /**
+         * splits off the first half, this keeps the second one
+         */
+        @Override
+        public Spliterator<RomanCounter> trySplit() {
+            int size = to - next;
+            if (size < 2 * MIN_SPLIT) {
+                return null;
+            }
+            int middle = next + size / 2;
+            RangeSpliterator prefix = new RangeSpliterator(next, middle);
+            if (counter != null) { // hand the counter over to the part that continues from here
+                prefix.counter = counter;
+                counter = null;
+            }
+            next = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - next;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        private void advance() {
+            if (counter == null) {
+                counter = new RomanCounter(next);
+            } else {
+                counter.increment();
+            }
+            next++;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package RomanNumbersSubstract;
+
+/*
+The roman numeral of a number is just the roman digits of its arabic digits written one after the other
+(see the class comment of RomanNumerals: 1990 -> 1000=M, 900=CM, 90=XC -> MCMXC).
+
+Each arabic digit has only 10 possible values and there are only 4 ranges (ones, tens, hundreds, thousands),
+so all roman digits fit into a 4 x 10 table. It's computed at build time by RomanTablesGenerator (src/codegen),
+walking the ranges with the same decisions as RomanNumerals.convertArabicDigit, and compiled in as the constants
+of RomanTables - loading the class walks nothing.
+
+    FRAGMENTS[magnitude - 1][arabicDigit]
+
+    magnitude 1 (ones):      "", I, II, III, IV, V, VI, VII, VIII, IX
+    magnitude 2 (tens):      "", X, XX, XXX, XL, L, LX, LXX, LXXX, XC
+    magnitude 3 (hundreds):  "", C, CC, CCC, CD, D, DC, DCC, DCCC, CM
+    magnitude 4 (thousands): "", M, MM, MMM   (no symbols for 5000 / 10000, so 4 - 9 stay null)
+ */
+final class RomanDigitFragments {
+
+    static final int MAGNITUDES = 4;
+
+    // number of roman characters needed for an arabic digit - the same in every range, e.g. 8 -> VIII, LXXX, DCCC
+    static final int[] ROMAN_DIGIT_LENGTH = {0, 1, 2, 3, 2, 1, 2, 3, 4, 2};
+
+    // index = magnitude - 1, see RomanNumerals.ROMAN_NUMERAL_RANGE_1 .. ROMAN_NUMERAL_RANGE_4
+    // 10000 / 5000 have no symbol ('?'), only the lower limit of the thousands can be used (1000 - 3000)
+    static final Range[] RANGES = {
+            new Range(RomanTables.UPPER_SYMBOLS[0], RomanTables.MIDDLE_SYMBOLS[0], RomanTables.LOWER_SYMBOLS[0]),
+            new Range(RomanTables.UPPER_SYMBOLS[1], RomanTables.MIDDLE_SYMBOLS[1], RomanTables.LOWER_SYMBOLS[1]),
+            new Range(RomanTables.UPPER_SYMBOLS[2], RomanTables.MIDDLE_SYMBOLS[2], RomanTables.LOWER_SYMBOLS[2]),
+            new Range(RomanTables.UPPER_SYMBOLS[3], RomanTables.MIDDLE_SYMBOLS[3], RomanTables.LOWER_SYMBOLS[3]),
+    };
+
+    // MMMDCCCLXXXVIII
+    static final int MAX_ROMAN_LENGTH = 15;
+
+    // highest digit that can be written in a range
+    static final int[] MAX_DIGIT = {9, 9, 9, 3};
+
+    static final char[][][] FRAGMENTS = RomanTables.FRAGMENTS;
+    // the same as ASCII bytes, for writing into byte buffers
+    static final byte[][][] FRAGMENT_BYTES = RomanTables.FRAGMENT_BYTES;
+
+    private RomanDigitFragments() {
+    }
+
+    /**
+     * @param arabicNumber int 0 - 3999
+     * @return int number of characters of the roman numeral
+     */
+    static int getRomanLength(int arabicNumber) {
+        return ROMAN_DIGIT_LENGTH[arabicNumber / 1000]
+                + ROMAN_DIGIT_LENGTH[arabicNumber / 100 % 10]
+                + ROMAN_DIGIT_LENGTH[arabicNumber / 10 % 10]
+                + ROMAN_DIGIT_LENGTH[arabicNumber % 10];
+    }
+
+    // same decisions as RomanNumerals.convertArabicDigit (and RomanTablesGenerator), but the characters are written to romanNumber at pos.
+    // returns the position behind the last written character
+    static int convertArabicDigit(int arabicDigitValue, Range r, char[] romanNumber, int pos) {
+
+        if (arabicDigitValue <= 3) {        // add to lower limit,       e.g. III
+            return repeat(r.lower, arabicDigitValue, romanNumber, pos);
+        }
+        if (arabicDigitValue <= 5) {        // subtract from middle limit, e.g. IV, V
+            pos = repeat(r.lower, 5 - arabicDigitValue, romanNumber, pos);
+            romanNumber[pos++] = r.middle;
+            return pos;
+        }
+        if (arabicDigitValue <= 8) {        // add to middle limit,       e.g. VII
+            romanNumber[pos++] = r.middle;
+            return repeat(r.lower, arabicDigitValue - 5, romanNumber, pos);
+        }
+        romanNumber[pos++] = r.lower;       // subtract from upper limit, e.g. IX
+        romanNumber[pos++] = r.upper;
+        return pos;
+    }
+
+    private static int repeat(char c, int amount, char[] romanNumber, int pos) {
+        for (int i = 0; i < amount; i++) {
+            romanNumber[pos++] = c;
+        }
+        return pos;
+    }
+
+    /**
+     * immutable counterpart of RomanNumerals.RomanNumeralRange, holding the symbols instead of the values.
+     */
+    static final class Range {
+        final char upper;
+        final char middle;
+        final char lower;
+
+        Range(char upper, char middle, char lower) {
+            this.upper  = upper;
+            this.middle = middle;
+            this.lower  = lower;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package RomanNumbersSubstract;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static RomanNumbersSubstract.RomanDigitFragments.MAGNITUDES;
+import static RomanNumbersSubstract.RomanDigitFragments.MAX_DIGIT;
+import static RomanNumbersSubstract.RomanDigitFragments.RANGES;
+
+/*
+Writes and reads roman numerals in different styles:
+
+    UPPER_CASE           MCMXC     the numerals of RomanNumeralEncoder
+    LOWER_CASE           mcmxc     e.g. for list markers
+    UNICODE              ⅯⅭⅯⅩⅭ     the Unicode roman numeral symbols (U+2160 - U+216F), 1 - 12 as one symbol each: Ⅻ
+    UNICODE_LOWER_CASE   ⅿⅽⅿⅹⅽ     the same in lower case (U+2170 - U+217F): ⅻ
+    ADDITIVE             MDCCCCLXXXX   no subtraction, like RomanNumberSimple: 4 = IIII, 9 = VIIII
+
+A style is not a pass over the String of the encoder: every style compiles its own table of digit fragments
+(see RomanDigitFragments) once, when its RomanFormat is created, and formatting copies the 4 fragments of the
+number from it - the same work in every style:
+
+    UPPER_CASE    FRAGMENTS[2][9] = CM
+    LOWER_CASE    FRAGMENTS[2][9] = cm
+    ADDITIVE      FRAGMENTS[2][9] = DCCCC
+
+parse() is the way back, in the same style: the numeral is read digit by digit, from the thousands down,
+taking the longest fragment of the style's table that matches. It's strict - it accepts exactly what format()
+writes, so IIII is rejected in UPPER_CASE and IV in ADDITIVE.
+
+The formats are immutable, one per style (of(Style)), and can be shared by any number of threads.
+ */
+public final class RomanFormat {
+
+    public enum Style {
+        UPPER_CASE,
+        LOWER_CASE,
+        UNICODE,
+        UNICODE_LOWER_CASE,
+        ADDITIVE
+    }
+
+    // Unicode: ROMAN NUMERAL ONE, the numbers up to TWELVE follow, then L, C, D and M; the small ones are 0x10 later
+    private static final char UNICODE_ONE = '\u2160';
+    private static final char UNICODE_LOWER_CASE_ONE = '\u2170';
+    private static final int UNICODE_COMPOUNDS = 12;
+
+    private static final RomanFormat[] FORMATS = new RomanFormat[Style.values().length];
+    static {
+        for (Style style : Style.values()) {
+            FORMATS[style.ordinal()] = new RomanFormat(style);
+        }
+    }
+
+    private final Style style;
+    // [magnitude - 1][arabicDigit], like RomanDigitFragments.FRAGMENTS
+    private final char[][][] fragments;
+    // parse() looks at the first symbol of a digit and tries only the fragments starting with it, longest first:
+    // firstSymbols[magnitude - 1][k] starts the fragments of the digits candidates[magnitude - 1][k]
+    private final char[][] firstSymbols;
+    private final int[][][] candidates;
+    // numerals written as a single symbol ([arabicNumber], UNICODE styles only), null otherwise
+    private final char[] compounds;
+    private final int maxLength;
+
+    private RomanFormat(Style style) {
+        this.style = style;
+        this.fragments = compileFragments(style);
+        this.firstSymbols = new char[MAGNITUDES][];
+        this.candidates = new int[MAGNITUDES][][];
+        compileCandidates();
+        this.compounds = compileCompounds(style);
+        int length = 0;
+        for (char[][] digits : fragments) {
+            int longest = 0;
+            for (char[] fragment : digits) {
+                longest = Math.max(longest, fragment.length);
+            }
+            length += longest;
+        }
+        this.maxLength = length;
+    }
+
+    /**
+     * @return RomanFormat the (shared) format of style
+     */
+    public static RomanFormat of(Style style) throws IllegalArgumentException {
+        if (style == null) {
+            throw new IllegalArgumentException();
+        }
+        return FORMATS[style.ordinal()];
+    }
+
+    public Style getStyle() {
+        return style;
+    }
+
+    /**
+     * @return int the longest numeral of this style, e.g. 15 for MMMDCCCLXXXVIII, 18 for MMMDCCCCLXXXXVIIII (ADDITIVE)
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    // ****
+    // main
+    // ****
+
+    /**
+     * @param arabicNumber int 1 - 3999
+     */
+    public String format(int arabicNumber) throws IllegalArgumentException {
+        char[] romanNumber = new char[getLength(arabicNumber)];
+        write(arabicNumber, romanNumber, 0);
+        return new String(romanNumber);
+    }
+
+    /**
+     * writes the roman numeral into romanNumber starting at offset
+     *
+     * @return int number of written characters
+     * @throws IndexOutOfBoundsException if romanNumber is too small, nothing is written then
+     */
+    public int format(int arabicNumber, char[] romanNumber, int offset) throws IllegalArgumentException {
+        int length = getLength(arabicNumber);
+        if (offset < 0 || offset > romanNumber.length - length) {
+            throw new IndexOutOfBoundsException("need " + length + " characters at offset " + offset + ", have " + romanNumber.length);
+        }
+        return write(arabicNumber, romanNumber, offset) - offset;
+    }
+
+    /**
+     * appends the roman numeral to romanNumber
+     *
+     * @return A romanNumber
+     */
+    public <A extends Appendable> A format(int arabicNumber, A romanNumber) throws IllegalArgumentException, IOException {
+        checkArabicNumber(arabicNumber);
+        if (isCompound(arabicNumber)) {
+            romanNumber.append(compounds[arabicNumber]);
+            return romanNumber;
+        }
+        appendFragment(fragments[3][arabicNumber / 1000],     romanNumber);
+        appendFragment(fragments[2][arabicNumber / 100 % 10], romanNumber);
+        appendFragment(fragments[1][arabicNumber / 10 % 10],  romanNumber);
+        appendFragment(fragments[0][arabicNumber % 10],       romanNumber);
+        return romanNumber;
+    }
+
+    /**
+     * reads a roman numeral written in this style
+     *
+     * @return int 1 - 3999
+     * @throws RomanNumeralFormatException if romanNumeral isn't exactly what format() writes for a number
+     */
+    public int parse(CharSequence romanNumeral) throws RomanNumeralFormatException {
+        if (romanNumeral == null) {
+            throw new IllegalArgumentException();
+        }
+        int end = romanNumeral.length();
+        if (end == 0) {
+            throw new RomanNumeralFormatException("empty roman numeral", 0);
+        }
+        if (compounds != null && end == 1) {
+            for (int arabicNumber = 1; arabicNumber <= UNICODE_COMPOUNDS; arabicNumber++) {
+                if (compounds[arabicNumber] == romanNumeral.charAt(0)) {
+                    return arabicNumber;
+                }
+            }
+        }
+
+        int arabicNumber = 0;
+        int pos = 0;
+        for (int magnitude = MAGNITUDES; magnitude >= 1; magnitude--) {
+            int digit = readDigit(romanNumeral, pos, magnitude);
+            pos += fragments[magnitude - 1][digit].length;
+            arabicNumber = arabicNumber * 10 + digit;
+        }
+        if (pos < end || arabicNumber == 0) {
+            throw new RomanNumeralFormatException("not a roman numeral of style " + style, pos);
+        }
+        if (isCompound(arabicNumber)) { // written with several symbols, but format() uses the single one
+            throw new RomanNumeralFormatException("not a roman numeral of style " + style + ", " + arabicNumber + " is one symbol", 0);
+        }
+        return arabicNumber;
+    }
+
+    // ----------------------------------------------------------
+
+    private static void checkArabicNumber(int arabicNumber) {
+        if (arabicNumber < RomanNumeralEncoder.MIN_ARABIC_NUMBER || arabicNumber > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    private boolean isCompound(int arabicNumber) {
+        return compounds != null && arabicNumber <= UNICODE_COMPOUNDS;
+    }
+
+    private int getLength(int arabicNumber) {
+        checkArabicNumber(arabicNumber);
+        if (isCompound(arabicNumber)) {
+            return 1;
+        }
+        return fragments[3][arabicNumber / 1000].length
+                + fragments[2][arabicNumber / 100 % 10].length
+                + fragments[1][arabicNumber / 10 % 10].length
+                + fragments[0][arabicNumber % 10].length;
+    }
+
+    // returns the position behind the numeral
+    private int write(int arabicNumber, char[] romanNumber, int pos) {
+        if (isCompound(arabicNumber)) {
+            romanNumber[pos] = compounds[arabicNumber];
+            return pos + 1;
+        }
+        pos = copyFragment(fragments[3][arabicNumber / 1000],     romanNumber, pos);
+        pos = copyFragment(fragments[2][arabicNumber / 100 % 10], romanNumber, pos);
+        pos = copyFragment(fragments[1][arabicNumber / 10 % 10],  romanNumber, pos);
+        return copyFragment(fragments[0][arabicNumber % 10],      romanNumber, pos);
+    }
+
+    private static int copyFragment(char[] fragment, char[] romanNumber, int pos) {
+        System.arraycopy(fragment, 0, romanNumber, pos, fragment.length);
+        return pos + fragment.length;
+    }
+
+    private static void appendFragment(char[] fragment, Appendable romanNumber) throws IOException {
+        for (char c : fragment) {
+            romanNumber.append(c);
+        }
+    }
+
+    // the digit whose fragment is found at pos, 0 (the empty fragment) if none
+    private int readDigit(CharSequence romanNumeral, int pos, int magnitude) {
+        if (pos >= romanNumeral.length()) {
+            return 0;
+        }
+        char symbol = romanNumeral.charAt(pos);
+        char[] symbols = firstSymbols[magnitude - 1];
+        for (int k = 0; k < symbols.length; k++) {
+            if (symbols[k] == symbol) {
+                for (int digit : candidates[magnitude - 1][k]) {
+                    if (matches(romanNumeral, pos, fragments[magnitude - 1][digit])) {
+                        return digit;
+                    }
+                }
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean matches(CharSequence romanNumeral, int pos, char[] fragment) {
+        if (pos + fragment.length > romanNumeral.length()) {
+            return false;
+        }
+        for (int i = 0; i < fragment.length; i++) {
+            if (romanNumeral.charAt(pos + i) != fragment[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---
+
+    private static char[][][] compileFragments(Style style) {
+        char[][][] fragments = new char[MAGNITUDES][][];
+        for (int magnitude = 1; magnitude <= MAGNITUDES; magnitude++) {
+            fragments[magnitude - 1] = new char[MAX_DIGIT[magnitude - 1] + 1][];
+            for (int digit = 0; digit <= MAX_DIGIT[magnitude - 1]; digit++) {
+                char[] fragment = style == Style.ADDITIVE
+                        ? getAdditiveFragment(digit, RANGES[magnitude - 1])
+                        : RomanDigitFragments.FRAGMENTS[magnitude - 1][digit].clone();
+                for (int i = 0; i < fragment.length; i++) {
+                    fragment[i] = getSymbol(style, fragment[i]);
+                }
+                fragments[magnitude - 1][digit] = fragment;
+            }
+        }
+        return fragments;
+    }
+
+    // like RomanNumberSimple: the middle limit if the digit reaches it, then the lower limit as often as needed
+    private static char[] getAdditiveFragment(int digit, RomanDigitFragments.Range range) {
+        char[] fragment = new char[digit / 5 + digit % 5];
+        int pos = 0;
+        if (digit >= 5) {
+            fragment[pos++] = range.middle;
+        }
+        while (pos < fragment.length) {
+            fragment[pos++] = range.lower;
+        }
+        return fragment;
+    }
+
+    private static char getSymbol(Style style, char symbol) {
+        switch (style) {
+            case LOWER_CASE:
+                return Character.toLowerCase(symbol);
+            case UNICODE:
+                return getUnicodeSymbol(UNICODE_ONE, symbol);
+            case UNICODE_LOWER_CASE:
+                return getUnicodeSymbol(UNICODE_LOWER_CASE_ONE, symbol);
+            default:
+                return symbol;
+        }
+    }
+
+    // the Unicode symbols of I, V, X are the numbers ONE, FIVE, TEN; L, C, D, M follow TWELVE
+    private static char getUnicodeSymbol(char one, char symbol) {
+        switch (symbol) {
+            case 'I': return one;
+            case 'V': return (char) (one + 4);
+            case 'X': return (char) (one + 9);
+            case 'L': return (char) (one + 12);
+            case 'C': return (char) (one + 13);
+            case 'D': return (char) (one + 14);
+            case 'M': return (char) (one + 15);
+            default: throw new IllegalArgumentException("no Unicode roman numeral for " + symbol);
+        }
+    }
+
+    private static char[] compileCompounds(Style style) {
+        if (style != Style.UNICODE && style != Style.UNICODE_LOWER_CASE) {
+            return null;
+        }
+        char one = style == Style.UNICODE ? UNICODE_ONE : UNICODE_LOWER_CASE_ONE;
+        char[] compounds = new char[UNICODE_COMPOUNDS + 1];
+        for (int arabicNumber = 1; arabicNumber <= UNICODE_COMPOUNDS; arabicNumber++) {
+            compounds[arabicNumber] = (char) (one + arabicNumber - 1);
+        }
+        return compounds;
+    }
+
+    // groups the digits of each magnitude by the first symbol of their fragment, longest fragment first
+    private void compileCandidates() {
+        for (int magnitude = 1; magnitude <= MAGNITUDES; magnitude++) {
+            char[][] digits = fragments[magnitude - 1];
+            StringBuilder symbols = new StringBuilder();
+            for (int digit = 1; digit < digits.length; digit++) {
+                if (symbols.indexOf(String.valueOf(digits[digit][0])) < 0) {
+                    symbols.append(digits[digit][0]);
+                }
+            }
+            firstSymbols[magnitude - 1] = symbols.toString().toCharArray();
+            candidates[magnitude - 1] = new int[symbols.length()][];
+            for (int k = 0; k < symbols.length(); k++) {
+                int[] order = new int[digits.length];
+                int n = 0;
+                for (int length = RomanDigitFragments.MAX_ROMAN_LENGTH; length >= 1; length--) {
+                    for (int digit = 1; digit < digits.length; digit++) {
+                        if (digits[digit].length == length && digits[digit][0] == symbols.charAt(k)) {
+                            order[n++] = digit;
+                        }
+                    }
+                }
+                candidates[magnitude - 1][k] = Arrays.copyOf(order, n);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package RomanNumbersSubstract;
+
+import static RomanNumbersSubstract.RomanDigitFragments.FRAGMENTS;
+import static RomanNumbersSubstract.RomanDigitFragments.MAGNITUDES;
+
+/*
+A number that is written as a roman numeral, for calculating with roman labelled values
+without decoding and encoding Strings around every operation:
+
+    RomanNumber.parse("XLII").add(RomanNumber.of(8)).toString()    -> "L"
+
+It's nothing but the int 1 - 3999. Every result of add / subtract / multiply is checked against that range
+(like Math.addExact checks the int range) and is an ArithmeticException if it's outside, e.g. X - X or MM + MM.
+
+The class is written to become a value class (Project Valhalla) by adding one keyword:
+final, a single final int field, equals / hashCode / compareTo by that value, and nothing uses the identity
+of an instance (no synchronized, no ==, no cache of instances). So the text can't be cached in the instance
+either - it's cached per value in a static table instead, put together from the roman digit fragments of
+RomanDigitFragments the first time it's needed:
+
+    TEXTS[1990]   null  --toString()-->  "M" + "CM" + "XC" + ""  =  "MCMXC"
+
+A race between two threads only computes the same String twice (like String.hashCode).
+
+For many numbers at once see RomanNumberArray.
+ */
+public final class RomanNumber implements Comparable<RomanNumber> {
+
+    private static final String[] TEXTS = new String[RomanNumeralEncoder.MAX_ARABIC_NUMBER + 1];
+
+    private final int value;
+
+    private RomanNumber(int value) {
+        this.value = value;
+    }
+
+    /**
+     * @param arabicNumber int 1 - 3999
+     */
+    public static RomanNumber of(int arabicNumber) throws IllegalArgumentException {
+        if (!isInRange(arabicNumber)) {
+            throw new IllegalArgumentException();
+        }
+        return new RomanNumber(arabicNumber);
+    }
+
+    /**
+     * @param romanNumeral CharSequence a canonical roman numeral, e.g. XLII
+     */
+    public static RomanNumber parse(CharSequence romanNumeral) throws RomanNumeralFormatException {
+        return new RomanNumber(RomanFormat.of(RomanFormat.Style.UPPER_CASE).parse(romanNumeral));
+    }
+
+    public int intValue() {
+        return value;
+    }
+
+    // ****
+    // main
+    // ****
+
+    public RomanNumber add(RomanNumber other) throws ArithmeticException {
+        return result(value + other.value);
+    }
+
+    public RomanNumber subtract(RomanNumber other) throws ArithmeticException {
+        return result(value - other.value);
+    }
+
+    public RomanNumber multiply(RomanNumber other) throws ArithmeticException {
+        return result(value * other.value); // at most 3999 * 3999, no int overflow
+    }
+
+    @Override
+    public int compareTo(RomanNumber other) {
+        return Integer.compare(value, other.value);
+    }
+
+    /**
+     * @return RomanNumeral the shared CharSequence of the numeral, see RomanNumeral
+     */
+    public RomanNumeral toRomanNumeral() {
+        return RomanNumeral.valueOf(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RomanNumber && ((RomanNumber) o).value == value;
+    }
+
+    @Override
+    public int hashCode() {
+        return value;
+    }
+
+    /**
+     * @return String the roman numeral, the same String for the same value
+     */
+    @Override
+    public String toString() {
+        return getText(value);
+    }
+
+    // ----------------------------------------------------------
+
+    static boolean isInRange(int arabicNumber) {
+        return arabicNumber >= RomanNumeralEncoder.MIN_ARABIC_NUMBER && arabicNumber <= RomanNumeralEncoder.MAX_ARABIC_NUMBER;
+    }
+
+    private static RomanNumber result(int arabicNumber) {
+        if (!isInRange(arabicNumber)) {
+            throw new ArithmeticException(arabicNumber + " has no roman numeral");
+        }
+        return new RomanNumber(arabicNumber);
+    }
+
+    // the cached String of arabicNumber (1 - 3999), see the class comment
+    static String getText(int arabicNumber) {
+        String text = TEXTS[arabicNumber];
+        if (text == null) {
+            StringBuilder builder = new StringBuilder(RomanDigitFragments.getRomanLength(arabicNumber));
+            for (int magnitude = MAGNITUDES, divisor = 1000; magnitude >= 1; magnitude--, divisor /= 10) {
+                builder.append(FRAGMENTS[magnitude - 1][arabicNumber / divisor % 10]);
+            }
+            text = builder.toString();
+            TEXTS[arabicNumber] = text;
+        }
+        return text;
+    }
+}
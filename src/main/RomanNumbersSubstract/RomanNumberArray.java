@@ -0,0 +1,251 @@
+package RomanNumbersSubstract;
+
+import java.util.Arrays;
+
+/*
+A fixed size array of RomanNumbers that is a plain int[] inside - no RomanNumber objects, no boxing -
+for arithmetic on many numbers at once:
+
+    RomanNumberArray pages = RomanNumberArray.of(10, 250, 42);
+    pages.add(RomanNumber.of(8));            // 18, 258, 50
+    pages.multiply(RomanNumberArray.of(2, 1, 3));   // 36, 258, 150
+    pages.sum();                             // CDXLIV
+
+Like RomanNumber every element stays 1 - 3999. An operation that would take any element out of that range
+is an ArithmeticException and changes nothing: each bulk operation is two simple loops over the int[],
+the first only checks all results (no branch per element, so the JIT can vectorize it), the second writes them.
+
+The array is mutable and not thread safe.
+ */
+public final class RomanNumberArray {
+
+    private static final int MIN = RomanNumeralEncoder.MIN_ARABIC_NUMBER;
+    private static final int MAX = RomanNumeralEncoder.MAX_ARABIC_NUMBER;
+
+    private final int[] values;
+
+    private RomanNumberArray(int[] values) {
+        this.values = values;
+    }
+
+    /**
+     * @param arabicNumbers int... each 1 - 3999, copied
+     */
+    public static RomanNumberArray of(int... arabicNumbers) throws IllegalArgumentException {
+        if (arabicNumbers == null || !isInRange(arabicNumbers)) {
+            throw new IllegalArgumentException();
+        }
+        return new RomanNumberArray(arabicNumbers.clone());
+    }
+
+    /**
+     * @return RomanNumberArray size times the number
+     */
+    public static RomanNumberArray filled(int size, RomanNumber number) throws IllegalArgumentException {
+        if (size < 0 || number == null) {
+            throw new IllegalArgumentException();
+        }
+        int[] values = new int[size];
+        Arrays.fill(values, number.intValue());
+        return new RomanNumberArray(values);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public RomanNumber get(int index) {
+        return RomanNumber.of(values[index]);
+    }
+
+    public int getInt(int index) {
+        return values[index];
+    }
+
+    public void set(int index, RomanNumber number) throws IllegalArgumentException {
+        if (number == null) {
+            throw new IllegalArgumentException();
+        }
+        values[index] = number.intValue();
+    }
+
+    /**
+     * @param arabicNumber int 1 - 3999
+     */
+    public void setInt(int index, int arabicNumber) throws IllegalArgumentException {
+        if (!RomanNumber.isInRange(arabicNumber)) {
+            throw new IllegalArgumentException();
+        }
+        values[index] = arabicNumber;
+    }
+
+    /**
+     * @return int[] a copy of the numbers
+     */
+    public int[] toIntArray() {
+        return values.clone();
+    }
+
+    public RomanNumberArray copy() {
+        return new RomanNumberArray(values.clone());
+    }
+
+    // ****
+    // main
+    // ****
+
+    /**
+     * adds number to every element
+     */
+    public void add(RomanNumber number) throws ArithmeticException {
+        int n = number.intValue();
+        int invalid = 0;
+        for (int value : values) {
+            invalid |= outOfRange(value + n);
+        }
+        check(invalid);
+        for (int i = 0; i < values.length; i++) {
+            values[i] += n;
+        }
+    }
+
+    /**
+     * subtracts number from every element
+     */
+    public void subtract(RomanNumber number) throws ArithmeticException {
+        int n = number.intValue();
+        int invalid = 0;
+        for (int value : values) {
+            invalid |= outOfRange(value - n);
+        }
+        check(invalid);
+        for (int i = 0; i < values.length; i++) {
+            values[i] -= n;
+        }
+    }
+
+    /**
+     * multiplies every element by number
+     */
+    public void multiply(RomanNumber number) throws ArithmeticException {
+        int n = number.intValue();
+        int invalid = 0;
+        for (int value : values) {
+            invalid |= outOfRange(value * n); // at most 3999 * 3999, no int overflow
+        }
+        check(invalid);
+        for (int i = 0; i < values.length; i++) {
+            values[i] *= n;
+        }
+    }
+
+    /**
+     * adds the elements of other to the elements with the same index
+     */
+    public void add(RomanNumberArray other) throws IllegalArgumentException, ArithmeticException {
+        int[] others = checkSize(other);
+        int invalid = 0;
+        for (int i = 0; i < values.length; i++) {
+            invalid |= outOfRange(values[i] + others[i]);
+        }
+        check(invalid);
+        for (int i = 0; i < values.length; i++) {
+            values[i] += others[i];
+        }
+    }
+
+    /**
+     * subtracts the elements of other from the elements with the same index
+     */
+    public void subtract(RomanNumberArray other) throws IllegalArgumentException, ArithmeticException {
+        int[] others = checkSize(other);
+        int invalid = 0;
+        for (int i = 0; i < values.length; i++) {
+            invalid |= outOfRange(values[i] - others[i]);
+        }
+        check(invalid);
+        for (int i = 0; i < values.length; i++) {
+            values[i] -= others[i];
+        }
+    }
+
+    /**
+     * multiplies the elements by the elements of other with the same index
+     */
+    public void multiply(RomanNumberArray other) throws IllegalArgumentException, ArithmeticException {
+        int[] others = checkSize(other);
+        int invalid = 0;
+        for (int i = 0; i < values.length; i++) {
+            invalid |= outOfRange(values[i] * others[i]);
+        }
+        check(invalid);
+        for (int i = 0; i < values.length; i++) {
+            values[i] *= others[i];
+        }
+    }
+
+    /**
+     * @return RomanNumber the sum of all elements
+     * @throws ArithmeticException if the array is empty or the sum is above 3999
+     */
+    public RomanNumber sum() throws ArithmeticException {
+        long sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        if (sum < MIN || sum > MAX) {
+            throw new ArithmeticException(sum + " has no roman numeral");
+        }
+        return RomanNumber.of((int) sum);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RomanNumberArray && Arrays.equals(((RomanNumberArray) o).values, values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    /**
+     * @return String the numerals, e.g. [X, CCL, XLII]
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < values.length; i++) {
+            builder.append(i == 0 ? "" : ", ").append(RomanNumber.getText(values[i]));
+        }
+        return builder.append(']').toString();
+    }
+
+    // ----------------------------------------------------------
+
+    // negative if arabicNumber isn't 1 - 3999
+    private static int outOfRange(int arabicNumber) {
+        return (arabicNumber - MIN) | (MAX - arabicNumber);
+    }
+
+    private static void check(int invalid) {
+        if (invalid < 0) {
+            throw new ArithmeticException("a result has no roman numeral");
+        }
+    }
+
+    private static boolean isInRange(int[] arabicNumbers) {
+        int invalid = 0;
+        for (int arabicNumber : arabicNumbers) {
+            invalid |= outOfRange(arabicNumber);
+        }
+        return invalid >= 0;
+    }
+
+    private int[] checkSize(RomanNumberArray other) {
+        if (other == null || other.values.length != values.length) {
+            throw new IllegalArgumentException();
+        }
+        return other.values;
+    }
+}
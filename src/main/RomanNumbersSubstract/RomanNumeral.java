@@ -0,0 +1,212 @@
+package RomanNumbersSubstract;
+
+import java.io.IOException;
+
+import static RomanNumbersSubstract.RomanDigitFragments.FRAGMENTS;
+import static RomanNumbersSubstract.RomanDigitFragments.MAGNITUDES;
+import static RomanNumbersSubstract.RomanDigitFragments.ROMAN_DIGIT_LENGTH;
+
+/*
+A roman numeral that is never written out: a CharSequence computed from the arabic digits on demand.
+
+It only keeps the digits, packed like RomanNumeralCodec does (one nibble per magnitude), its length and hash code.
+Every character is looked up in the shared fragment table of RomanDigitFragments:
+
+    MCMXC    packed 0x1990:   M | CM | XC | ""
+    charAt(3)                 skip M (1), skip CM (2) -> XC[0] = X
+
+There is exactly one instance per number (valueOf), created when the class is loaded, so
+ - getting a numeral allocates nothing, and an index of millions of numerals holds only references
+   to the same 3999 small objects, instead of millions of Strings with their char arrays
+ - length(), charAt() or writing it into an output (getChars, appendTo) need no String either
+
+It behaves like the String with the same characters:
+hashCode(), compareTo() and toString() give the same results as for that String.
+equals() is true only for the same numeral - like String.equals, which is false for any other CharSequence
+(compare with a String using contentEquals).
+ */
+public final class RomanNumeral implements CharSequence, Comparable<RomanNumeral> {
+
+    private static final RomanNumeral[] NUMERALS = new RomanNumeral[RomanNumeralEncoder.MAX_ARABIC_NUMBER + 1];
+    static {
+        for (int arabicNumber = RomanNumeralEncoder.MIN_ARABIC_NUMBER; arabicNumber <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; arabicNumber++) {
+            NUMERALS[arabicNumber] = new RomanNumeral(RomanNumeralCodec.INSTANCE.encode(arabicNumber),
+                    RomanDigitFragments.getRomanLength(arabicNumber));
+        }
+    }
+
+    private final short packed;
+    private final byte length;
+    private final int hash; // numerals are mostly used as keys, and there are only 3999 of them
+
+    private RomanNumeral(short packed, int length) {
+        this.packed = packed;
+        this.length = (byte) length;
+        this.hash = computeHash();
+    }
+
+    /**
+     * @param arabicNumber int 1 - 3999
+     */
+    public static RomanNumeral valueOf(int arabicNumber) throws IllegalArgumentException {
+        if (arabicNumber < RomanNumeralEncoder.MIN_ARABIC_NUMBER || arabicNumber > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+            throw new IllegalArgumentException();
+        }
+        return NUMERALS[arabicNumber];
+    }
+
+    public int intValue() {
+        return RomanNumeralCodec.getArabicNumber(packed);
+    }
+
+    // ****
+    // main
+    // ****
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        for (int magnitude = MAGNITUDES; ; magnitude--) {
+            int digit = getDigit(magnitude);
+            if (index < ROMAN_DIGIT_LENGTH[digit]) {
+                return FRAGMENTS[magnitude - 1][digit][index];
+            }
+            index -= ROMAN_DIGIT_LENGTH[digit];
+        }
+    }
+
+    /**
+     * @return CharSequence this for the whole numeral, otherwise a String (a part of a numeral is no numeral)
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        if (start == 0 && end == length) {
+            return this;
+        }
+        char[] chars = new char[length];
+        getChars(chars, 0);
+        return new String(chars, start, end - start);
+    }
+
+    /**
+     * copies the characters into romanNumeral starting at offset
+     *
+     * @return int number of copied characters
+     * @throws IndexOutOfBoundsException if romanNumeral is too small, nothing is copied then
+     */
+    public int getChars(char[] romanNumeral, int offset) {
+        if (offset < 0 || offset > romanNumeral.length - length) {
+            throw new IndexOutOfBoundsException("need " + length + " characters at offset " + offset + ", have " + romanNumeral.length);
+        }
+        int pos = offset;
+        for (int magnitude = MAGNITUDES; magnitude >= 1; magnitude--) {
+            char[] fragment = FRAGMENTS[magnitude - 1][getDigit(magnitude)];
+            System.arraycopy(fragment, 0, romanNumeral, pos, fragment.length);
+            pos += fragment.length;
+        }
+        return length;
+    }
+
+    public <A extends Appendable> A appendTo(A romanNumeral) throws IOException {
+        if (romanNumeral instanceof StringBuilder) { // whole fragments, not char by char
+            StringBuilder builder = (StringBuilder) romanNumeral;
+            for (int magnitude = MAGNITUDES; magnitude >= 1; magnitude--) {
+                builder.append(FRAGMENTS[magnitude - 1][getDigit(magnitude)]);
+            }
+            return romanNumeral;
+        }
+        for (int magnitude = MAGNITUDES; magnitude >= 1; magnitude--) {
+            for (char c : FRAGMENTS[magnitude - 1][getDigit(magnitude)]) {
+                romanNumeral.append(c);
+            }
+        }
+        return romanNumeral;
+    }
+
+    /**
+     * @return boolean true if romanNumeral has the same characters (like String.contentEquals)
+     */
+    public boolean contentEquals(CharSequence romanNumeral) {
+        if (romanNumeral instanceof RomanNumeral) {
+            return equals(romanNumeral);
+        }
+        if (romanNumeral == null || romanNumeral.length() != length) {
+            return false;
+        }
+        int index = 0;
+        for (int magnitude = MAGNITUDES; magnitude >= 1; magnitude--) {
+            for (char c : FRAGMENTS[magnitude - 1][getDigit(magnitude)]) {
+                if (romanNumeral.charAt(index++) != c) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * the same as toString().compareTo(other.toString())
+     */
+    @Override
+    public int compareTo(RomanNumeral other) {
+        int limit = Math.min(length, other.length);
+        for (int index = 0; index < limit; index++) {
+            char c = charAt(index);
+            char o = other.charAt(index);
+            if (c != o) {
+                return c - o;
+            }
+        }
+        return length - other.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RomanNumeral && ((RomanNumeral) o).packed == packed;
+    }
+
+    /**
+     * the same as toString().hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * @return String a new String each time
+     */
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        getChars(chars, 0);
+        return new String(chars);
+    }
+
+    // ----------------------------------------------------------
+
+    private int getDigit(int magnitude) {
+        return packed >>> 4 * (magnitude - 1) & 0xF;
+    }
+
+    // String.hashCode of the characters
+    private int computeHash() {
+        int h = 0;
+        for (int magnitude = MAGNITUDES; magnitude >= 1; magnitude--) {
+            for (char c : FRAGMENTS[magnitude - 1][getDigit(magnitude)]) {
+                h = 31 * h + c;
+            }
+        }
+        return h;
+    }
+}
@@ -0,0 +1,245 @@
+package RomanNumbersSubstract;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static RomanNumbersSubstract.RomanDigitFragments.FRAGMENTS;
+import static RomanNumbersSubstract.RomanDigitFragments.FRAGMENT_BYTES;
+import static RomanNumbersSubstract.RomanDigitFragments.MAGNITUDES;
+import static RomanNumbersSubstract.RomanDigitFragments.MAX_DIGIT;
+import static RomanNumbersSubstract.RomanDigitFragments.RANGES;
+import static RomanNumbersSubstract.RomanDigitFragments.ROMAN_DIGIT_LENGTH;
+
+/*
+Compact binary form of a roman numeral: 2 bytes instead of up to 15 ASCII characters.
+
+A roman numeral is its 4 roman digits written one after the other (see RomanDigitFragments),
+and each roman digit is one of at most 10 fragments. So the numeral is stored as the index of its fragment
+per magnitude, one nibble each, thousands first:
+
+    MMMDCCCLXXXVIII   = MMM   DCCC  LXXX  VIII
+    fragment index       3     8     8     8      -> 0x3888
+    MCMXC             = M     CM    XC    ""
+                         1     9     9     0      -> 0x1990
+
+The nibbles are just the arabic digits (packed BCD), so the packed form can be read as a hex dump,
+sorts like the numbers when compared unsigned, and converting to text is copying 4 fragments from the table.
+0x0000 (the empty numeral) and nibbles above the highest digit of their magnitude are no numerals.
+
+Text -> packed reads a CharSequence fragment by fragment (the longest fragment of each magnitude that matches),
+ASCII bytes go through the automaton of RomanNumeralValidator. Both accept only canonical numerals
+and need no String in between.
+Packed -> text writes into char[], ByteBuffer or an Appendable.
+
+Columns of packed numerals: RomanNumeralColumn.
+ */
+public final class RomanNumeralCodec {
+
+    public static final RomanNumeralCodec INSTANCE = new RomanNumeralCodec();
+
+    // bytes per packed numeral
+    public static final int ENCODED_SIZE = 2;
+
+    // arabic value of the high byte (thousands, hundreds) and the low byte (tens, ones), -1 = not a numeral
+    private static final int[] HIGH_BYTE_VALUE = new int[256];
+    private static final int[] LOW_BYTE_VALUE = new int[256];
+    static {
+        for (int b = 0; b < 256; b++) {
+            int high = b >>> 4;
+            int low = b & 0xF;
+            HIGH_BYTE_VALUE[b] = high <= MAX_DIGIT[3] && low <= MAX_DIGIT[2] ? high * 1000 + low * 100 : -1;
+            LOW_BYTE_VALUE[b] = high <= MAX_DIGIT[1] && low <= MAX_DIGIT[0] ? high * 10 + low : -1;
+        }
+    }
+
+    private RomanNumeralCodec() {
+    }
+
+    // ****
+    // main
+    // ****
+
+    /**
+     * @param arabicNumber int 1 - 3999
+     * @return short the packed numeral
+     */
+    public short encode(int arabicNumber) throws IllegalArgumentException {
+        if (arabicNumber < RomanNumeralEncoder.MIN_ARABIC_NUMBER || arabicNumber > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+            throw new IllegalArgumentException();
+        }
+        return (short) (arabicNumber / 1000 << 12 | arabicNumber / 100 % 10 << 8 | arabicNumber / 10 % 10 << 4 | arabicNumber % 10);
+    }
+
+    /**
+     * packs a canonical roman numeral
+     */
+    public short encode(CharSequence romanNumeral) throws RomanNumeralFormatException {
+        if (romanNumeral == null) {
+            throw new IllegalArgumentException();
+        }
+        int packed = 0;
+        int pos = 0;
+        for (int magnitude = MAGNITUDES; magnitude >= 1; magnitude--) {
+            int digit = readDigit(romanNumeral, pos, magnitude);
+            packed = packed << 4 | digit;
+            pos += ROMAN_DIGIT_LENGTH[digit];
+        }
+        return checkEncoded(packed, pos, romanNumeral.length());
+    }
+
+    /**
+     * packs a canonical roman numeral given as ASCII bytes
+     *
+     * @throws RomanNumeralFormatException position is the index in the array
+     */
+    public short encode(byte[] romanNumeral, int offset, int length) throws RomanNumeralFormatException {
+        // the same grammar as above, but the automaton of the validator is faster than trying the fragments
+        return encode(RomanNumeralValidator.INSTANCE.convertRomanNumeral(romanNumeral, offset, length));
+    }
+
+    /**
+     * @return int 1 - 3999
+     * @throws IllegalArgumentException if packed is not a packed numeral
+     */
+    public int decode(short packed) throws IllegalArgumentException {
+        int value = getArabicNumber(packed);
+        if (value < 0) {
+            throw new IllegalArgumentException("not a packed roman numeral: 0x" + Integer.toHexString(packed & 0xFFFF));
+        }
+        return value;
+    }
+
+    public boolean isValid(short packed) {
+        return getArabicNumber(packed) >= 0;
+    }
+
+    /**
+     * @return int number of characters of the roman numeral
+     */
+    public int getRomanLength(short packed) throws IllegalArgumentException {
+        decode(packed);
+        return ROMAN_DIGIT_LENGTH[packed >>> 12 & 0xF] + ROMAN_DIGIT_LENGTH[packed >>> 8 & 0xF]
+                + ROMAN_DIGIT_LENGTH[packed >>> 4 & 0xF] + ROMAN_DIGIT_LENGTH[packed & 0xF];
+    }
+
+    /**
+     * writes the roman numeral into romanNumeral starting at offset
+     *
+     * @return int number of written characters
+     * @throws IndexOutOfBoundsException if romanNumeral is too small, nothing is written then
+     */
+    public int decode(short packed, char[] romanNumeral, int offset) throws IllegalArgumentException {
+        int length = getRomanLength(packed);
+        if (offset < 0 || offset > romanNumeral.length - length) {
+            throw new IndexOutOfBoundsException("need " + length + " characters at offset " + offset + ", have " + romanNumeral.length);
+        }
+        int pos = offset;
+        for (int magnitude = MAGNITUDES; magnitude >= 1; magnitude--) {
+            char[] fragment = FRAGMENTS[magnitude - 1][packed >>> 4 * (magnitude - 1) & 0xF];
+            System.arraycopy(fragment, 0, romanNumeral, pos, fragment.length);
+            pos += fragment.length;
+        }
+        return length;
+    }
+
+    /**
+     * puts the roman numeral as ASCII into romanNumeral at its position
+     *
+     * @return ByteBuffer romanNumeral, its position behind the last written byte
+     * @throws BufferOverflowException if romanNumeral has not enough space remaining, nothing is written then
+     */
+    public ByteBuffer decode(short packed, ByteBuffer romanNumeral) throws IllegalArgumentException {
+        if (romanNumeral.remaining() < getRomanLength(packed)) {
+            throw new BufferOverflowException();
+        }
+        if (romanNumeral.hasArray()) { // heap buffer: write straight into its array
+            int pos = romanNumeral.arrayOffset() + romanNumeral.position();
+            for (int magnitude = MAGNITUDES; magnitude >= 1; magnitude--) {
+                byte[] fragment = FRAGMENT_BYTES[magnitude - 1][packed >>> 4 * (magnitude - 1) & 0xF];
+                System.arraycopy(fragment, 0, romanNumeral.array(), pos, fragment.length);
+                pos += fragment.length;
+            }
+            romanNumeral.position(pos - romanNumeral.arrayOffset());
+            return romanNumeral;
+        }
+        for (int magnitude = MAGNITUDES; magnitude >= 1; magnitude--) {
+            romanNumeral.put(FRAGMENT_BYTES[magnitude - 1][packed >>> 4 * (magnitude - 1) & 0xF]);
+        }
+        return romanNumeral;
+    }
+
+    /**
+     * appends the roman numeral to romanNumeral, character by character
+     *
+     * @return A romanNumeral
+     */
+    public <A extends Appendable> A decode(short packed, A romanNumeral) throws IllegalArgumentException, IOException {
+        decode(packed);
+        for (int magnitude = MAGNITUDES; magnitude >= 1; magnitude--) {
+            for (char c : FRAGMENTS[magnitude - 1][packed >>> 4 * (magnitude - 1) & 0xF]) {
+                romanNumeral.append(c);
+            }
+        }
+        return romanNumeral;
+    }
+
+    // ----------------------------------------------------------
+
+    /**
+     * the digit of magnitude whose fragment starts at pos, the longest one that matches
+     * (walks the range like RomanDigitFragments.convertArabicDigit, backwards)
+     *
+     * @return int 0 if no fragment of magnitude starts at pos
+     */
+    static int readDigit(CharSequence romanNumeral, int pos, int magnitude) {
+        int length = romanNumeral.length();
+        if (pos >= length) {
+            return 0;
+        }
+        RomanDigitFragments.Range range = RANGES[magnitude - 1];
+        boolean withMiddle = MAX_DIGIT[magnitude - 1] == 9; // the thousands have no middle and upper numeral
+        char c = romanNumeral.charAt(pos);
+
+        int digit;
+        if (withMiddle && c == range.middle) {          // V, VI, VII, VIII
+            digit = 5;
+            pos++;
+        } else if (c == range.lower) {
+            if (withMiddle && pos + 1 < length) {
+                char next = romanNumeral.charAt(pos + 1);
+                if (next == range.middle) {             // IV
+                    return 4;
+                }
+                if (next == range.upper) {              // IX
+                    return 9;
+                }
+            }
+            digit = 0;                                  // I, II, III
+        } else {
+            return 0;
+        }
+        for (int max = digit + 3; digit < max && pos < length && romanNumeral.charAt(pos) == range.lower; pos++) {
+            digit++;
+        }
+        return digit;
+    }
+
+    // -1 if packed is not a numeral
+    static int getArabicNumber(short packed) {
+        int high = HIGH_BYTE_VALUE[packed >>> 8 & 0xFF];
+        int low = LOW_BYTE_VALUE[packed & 0xFF];
+        return high < 0 || low < 0 || high + low == 0 ? -1 : high + low;
+    }
+
+    // every character must belong to a fragment, and there must be at least one
+    private static short checkEncoded(int packed, int pos, int end) {
+        if (pos < end) {
+            throw new RomanNumeralFormatException("not a canonical roman numeral", pos);
+        }
+        if (packed == 0) {
+            throw new RomanNumeralFormatException("empty roman numeral", pos);
+        }
+        return (short) packed;
+    }
+}
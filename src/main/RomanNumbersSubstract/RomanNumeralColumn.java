@@ -0,0 +1,269 @@
+package RomanNumbersSubstract;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/*
+A column of packed roman numerals (see RomanNumeralCodec): row after row, 2 bytes each, big endian.
+
+    bytes   0x19 0x90 | 0x20 0x08 | 0x00 0x04
+    rows    MCMXC     | MMVIII    | IV
+
+The column is only a view: wrap() takes any ByteBuffer (heap, direct, memory mapped, read only) without copying,
+and every row is read where it lies, e.g. straight from a mapped file. slice() is a view of some rows.
+
+A column is written with a Writer, which packs numbers or numerals (as text or ASCII bytes) into a ByteBuffer:
+
+    RomanNumeralColumn.Writer writer = RomanNumeralColumn.writer(ByteBuffer.allocate(2 * rows));
+    writer.addAll(arabicNumbers, 0, rows);
+    RomanNumeralColumn column = writer.toColumn();
+
+The bulk methods (addAll, getArabicNumbers, getRomanNumerals) convert many rows in one call
+and create no objects per row.
+ */
+public final class RomanNumeralColumn {
+
+    private static final RomanNumeralCodec CODEC = RomanNumeralCodec.INSTANCE;
+
+    private final ByteBuffer rows; // position 0, limit = size * ENCODED_SIZE
+
+    private RomanNumeralColumn(ByteBuffer rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * a view of the rows between the position and the limit of buffer (which stay unchanged)
+     *
+     * @throws IllegalArgumentException if the remaining bytes are no whole rows
+     */
+    public static RomanNumeralColumn wrap(ByteBuffer buffer) throws IllegalArgumentException {
+        if (buffer == null || buffer.remaining() % RomanNumeralCodec.ENCODED_SIZE != 0) {
+            throw new IllegalArgumentException();
+        }
+        return new RomanNumeralColumn(buffer.slice().order(ByteOrder.BIG_ENDIAN));
+    }
+
+    /**
+     * @param target ByteBuffer the rows are put at its position
+     */
+    public static Writer writer(ByteBuffer target) {
+        if (target == null || target.isReadOnly()) {
+            throw new IllegalArgumentException();
+        }
+        return new Writer(target);
+    }
+
+    public int size() {
+        return rows.limit() / RomanNumeralCodec.ENCODED_SIZE;
+    }
+
+    // ****
+    // main
+    // ****
+
+    public short getPacked(int row) {
+        return rows.getShort(getIndex(row));
+    }
+
+    /**
+     * @throws RomanNumeralFormatException if the row is no packed numeral, position is the byte in the column
+     */
+    public int getArabicNumber(int row) throws RomanNumeralFormatException {
+        int index = getIndex(row);
+        int value = RomanNumeralCodec.getArabicNumber(rows.getShort(index));
+        if (value < 0) {
+            throw new RomanNumeralFormatException("not a packed roman numeral", index);
+        }
+        return value;
+    }
+
+    /**
+     * writes the roman numeral of row into romanNumeral starting at offset
+     *
+     * @return int number of written characters
+     */
+    public int getRomanNumeral(int row, char[] romanNumeral, int offset) throws RomanNumeralFormatException {
+        getArabicNumber(row);
+        return CODEC.decode(getPacked(row), romanNumeral, offset);
+    }
+
+    /**
+     * puts the roman numeral of row as ASCII into romanNumeral at its position
+     */
+    public ByteBuffer getRomanNumeral(int row, ByteBuffer romanNumeral) throws RomanNumeralFormatException {
+        getArabicNumber(row);
+        return CODEC.decode(getPacked(row), romanNumeral);
+    }
+
+    /**
+     * reads length rows starting at fromRow into arabicNumbers at offset
+     */
+    public void getArabicNumbers(int fromRow, int[] arabicNumbers, int offset, int length) throws RomanNumeralFormatException {
+        if (arabicNumbers == null || fromRow < 0 || offset < 0 || length < 0
+                || fromRow > size() - length || offset > arabicNumbers.length - length) {
+            throw new IllegalArgumentException();
+        }
+        for (int i = 0; i < length; i++) {
+            int index = (fromRow + i) * RomanNumeralCodec.ENCODED_SIZE;
+            int value = RomanNumeralCodec.getArabicNumber(rows.getShort(index));
+            if (value < 0) {
+                throw new RomanNumeralFormatException("not a packed roman numeral", index);
+            }
+            arabicNumbers[offset + i] = value;
+        }
+    }
+
+    /**
+     * puts the roman numerals of the rows fromRow - toRow (exclusive) as ASCII, separated by delimiter,
+     * into romanNumerals at its position
+     *
+     * @throws BufferOverflowException if romanNumerals is too small, the rows before are written then
+     */
+    public ByteBuffer getRomanNumerals(int fromRow, int toRow, byte delimiter, ByteBuffer romanNumerals) throws RomanNumeralFormatException {
+        if (romanNumerals == null || fromRow < 0 || fromRow > toRow || toRow > size()) {
+            throw new IllegalArgumentException();
+        }
+        for (int row = fromRow; row < toRow; row++) {
+            getArabicNumber(row);
+            if (row > fromRow) {
+                romanNumerals.put(delimiter);
+            }
+            CODEC.decode(getPacked(row), romanNumerals);
+        }
+        return romanNumerals;
+    }
+
+    /**
+     * a view of the rows fromRow - toRow (exclusive), sharing the bytes with this column
+     */
+    public RomanNumeralColumn slice(int fromRow, int toRow) {
+        if (fromRow < 0 || fromRow > toRow || toRow > size()) {
+            throw new IllegalArgumentException();
+        }
+        ByteBuffer slice = rows.duplicate();
+        slice.limit(toRow * RomanNumeralCodec.ENCODED_SIZE);
+        slice.position(fromRow * RomanNumeralCodec.ENCODED_SIZE);
+        return wrap(slice);
+    }
+
+    /**
+     * the bytes of the column, e.g. for writing it to a channel
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        return rows.asReadOnlyBuffer();
+    }
+
+    // ----------------------------------------------------------
+
+    private int getIndex(int row) {
+        if (row < 0 || row >= size()) {
+            throw new IndexOutOfBoundsException("row " + row + ", size " + size());
+        }
+        return row * RomanNumeralCodec.ENCODED_SIZE;
+    }
+
+    /**
+     * packs rows into a ByteBuffer, starting at its position.
+     * Every add checks its input and the space before anything is written, so a failed add writes nothing.
+     */
+    public static final class Writer {
+
+        private final ByteBuffer target;
+        private final int start;
+
+        private Writer(ByteBuffer target) {
+            this.target = target;
+            this.start = target.position();
+        }
+
+        public Writer add(int arabicNumber) throws IllegalArgumentException {
+            return put(CODEC.encode(arabicNumber));
+        }
+
+        public Writer add(CharSequence romanNumeral) throws RomanNumeralFormatException {
+            return put(CODEC.encode(romanNumeral));
+        }
+
+        public Writer add(byte[] romanNumeral, int offset, int length) throws RomanNumeralFormatException {
+            return put(CODEC.encode(romanNumeral, offset, length));
+        }
+
+        public Writer addAll(int[] arabicNumbers, int offset, int length) throws IllegalArgumentException {
+            if (arabicNumbers == null || offset < 0 || length < 0 || offset > arabicNumbers.length - length) {
+                throw new IllegalArgumentException();
+            }
+            if (target.remaining() < length * RomanNumeralCodec.ENCODED_SIZE) {
+                throw new BufferOverflowException();
+            }
+            for (int i = offset; i < offset + length; i++) {
+                int arabicNumber = arabicNumbers[i];
+                if (arabicNumber < RomanNumeralEncoder.MIN_ARABIC_NUMBER || arabicNumber > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+                    throw new IllegalArgumentException("arabicNumbers[" + i + "] = " + arabicNumber);
+                }
+            }
+            int pos = target.position();
+            for (int i = offset; i < offset + length; i++) {
+                putPacked(pos, CODEC.encode(arabicNumbers[i]));
+                pos += RomanNumeralCodec.ENCODED_SIZE;
+            }
+            target.position(pos);
+            return this;
+        }
+
+        /**
+         * packs ASCII roman numerals separated by delimiter, e.g. a line of a CSV file (MCMXC,MMVIII)
+         *
+         * @throws RomanNumeralFormatException position is the index in the array, the numerals before are written then
+         */
+        public Writer addAll(byte[] romanNumerals, int offset, int length, byte delimiter) throws RomanNumeralFormatException {
+            if (romanNumerals == null || offset < 0 || length < 0 || offset > romanNumerals.length - length) {
+                throw new IllegalArgumentException();
+            }
+            if (length == 0) {
+                return this;
+            }
+            int end = offset + length;
+            int from = offset;
+            for (int i = offset; i <= end; i++) {
+                if (i == end || romanNumerals[i] == delimiter) {
+                    add(romanNumerals, from, i - from);
+                    from = i + 1;
+                }
+            }
+            return this;
+        }
+
+        /**
+         * @return int rows written by this writer
+         */
+        public int size() {
+            return (target.position() - start) / RomanNumeralCodec.ENCODED_SIZE;
+        }
+
+        /**
+         * a view of the rows written so far
+         */
+        public RomanNumeralColumn toColumn() {
+            ByteBuffer written = target.duplicate();
+            written.limit(target.position());
+            written.position(start);
+            return wrap(written);
+        }
+
+        private Writer put(short packed) {
+            if (target.remaining() < RomanNumeralCodec.ENCODED_SIZE) {
+                throw new BufferOverflowException();
+            }
+            putPacked(target.position(), packed);
+            target.position(target.position() + RomanNumeralCodec.ENCODED_SIZE);
+            return this;
+        }
+
+        // big endian, whatever the order of target is
+        private void putPacked(int index, short packed) {
+            target.put(index, (byte) (packed >>> 8));
+            target.put(index + 1, (byte) packed);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package RomanNumbersSubstract;
+
+import java.util.Comparator;
+
+import static RomanNumbersSubstract.RomanDigitFragments.MAGNITUDES;
+import static RomanNumbersSubstract.RomanDigitFragments.ROMAN_DIGIT_LENGTH;
+
+/*
+Orders roman numerals by their value, without decoding them completely.
+
+A canonical numeral is its roman digits from the thousands down to the ones (see RomanDigitFragments),
+and numbers compare like their digits, from the highest one on. So both numerals are read digit by digit,
+and the comparison stops at the first digit that differs:
+
+    MCMXC   M  | CM | XC
+    MCDL    M  | CD          1 = 1, 9 > 4 -> MCMXC is larger, XC and L are never read
+    XLII    "" | "" | XL     a missing digit is 0 -> every numeral with thousands is larger
+
+Only the parts that are read are checked: a non canonical numeral (IIII, VX, garbage) is rejected with a
+RomanNumeralFormatException if the comparison reaches its wrong part, otherwise it's ordered by its digits so far.
+Use it for numerals written by the encoder; for untrusted input validate first (RomanNumeralValidator).
+
+RomanNumeral instances are compared by their int value, without reading any character.
+ */
+public final class RomanNumeralComparator implements Comparator<CharSequence> {
+
+    public static final RomanNumeralComparator INSTANCE = new RomanNumeralComparator();
+
+    private RomanNumeralComparator() {
+    }
+
+    // ****
+    // main
+    // ****
+    @Override
+    public int compare(CharSequence a, CharSequence b) throws RomanNumeralFormatException {
+        if (a instanceof RomanNumeral && b instanceof RomanNumeral) {
+            return Integer.compare(((RomanNumeral) a).intValue(), ((RomanNumeral) b).intValue());
+        }
+
+        int posA = 0;
+        int posB = 0;
+        for (int magnitude = MAGNITUDES; magnitude >= 1; magnitude--) {
+            int digitA = RomanNumeralCodec.readDigit(a, posA, magnitude);
+            int digitB = RomanNumeralCodec.readDigit(b, posB, magnitude);
+            if (digitA != digitB) {
+                return digitA < digitB ? -1 : 1;
+            }
+            posA += ROMAN_DIGIT_LENGTH[digitA];
+            posB += ROMAN_DIGIT_LENGTH[digitB];
+        }
+
+        // same value: both must have been read completely
+        checkRead(a, posA);
+        checkRead(b, posB);
+        return 0;
+    }
+
+    // ----------------------------------------------------------
+
+    private static void checkRead(CharSequence romanNumeral, int pos) {
+        if (pos < romanNumeral.length()) {
+            throw new RomanNumeralFormatException("not a canonical roman numeral", pos);
+        }
+        if (pos == 0) {
+            throw new RomanNumeralFormatException("empty roman numeral", pos);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package RomanNumbersSubstract;
+
+import java.nio.ByteBuffer;
+
+/*
+Converts roman numerals back to arabic numbers, e.g. MCMXC -> 1990.
+
+The input is read once from left to right. A numeral is added, unless the next numeral is larger -
+then both form a subtractive pair and the difference is added (CM -> 900).
+
+The rules are the ones from the class comment of RomanNumerals (German wikipedia, Subtract Algo):
+
+ I before V or X: IV (4), IX (9)
+ X before L or C: XL (40), XC (90)
+ C before D or M: CD (400), CM (900)
+
+ V, L and D are never placed before a larger numeral.
+
+And the numerals have to be written from the largest to the smallest (like the digits of the arabic number),
+so IIV, VX, XCX or DCD are rejected. Repeating I, X, C and M is not limited, so the additive
+style of RomanNumberSimple (MDCCCCLXXXX) is accepted as well.
+
+The decoder doesn't allocate anything (only the exception when the input is wrong) and keeps no state,
+so one instance can be shared by any number of threads.
+ */
+public final class RomanNumeralDecoder {
+
+    public static final RomanNumeralDecoder INSTANCE = new RomanNumeralDecoder();
+
+    // the decoding state is packed into a long, so that it can be shared by all input types (and ExtendedRomanNumerals) without an object:
+    // bits 32 - 47 = largest numeral still allowed on its own,
+    // bits 16 - 31 = largest numeral still allowed as the right numeral of a subtractive pair,
+    // bits  0 - 15 = sum so far
+    static final long START = state(1000, 1000, 0);
+
+    // ****
+    // main
+    // ****
+    public int convertRomanNumeral(CharSequence romanNumeral) throws RomanNumeralFormatException {
+        if (romanNumeral == null) {
+            throw new IllegalArgumentException();
+        }
+        int end = romanNumeral.length();
+        if (end == 0) {
+            throw new RomanNumeralFormatException("empty roman numeral", 0);
+        }
+
+        long state = START;
+        for (int i = 0; i < end; ) {
+            int value = getValue(romanNumeral.charAt(i), i);
+            int next = i + 1 < end ? getValue(romanNumeral.charAt(i + 1), i + 1) : 0;
+            state = addNumeral(state, value, next, i);
+            i += value < next ? 2 : 1;
+        }
+        return getSum(state);
+    }
+
+    public int convertRomanNumeral(char[] romanNumeral, int offset, int length) throws RomanNumeralFormatException {
+        checkSlice(romanNumeral == null ? -1 : romanNumeral.length, offset, length);
+
+        int end = offset + length;
+        long state = START;
+        for (int i = offset; i < end; ) {
+            int value = getValue(romanNumeral[i], i);
+            int next = i + 1 < end ? getValue(romanNumeral[i + 1], i + 1) : 0;
+            state = addNumeral(state, value, next, i);
+            i += value < next ? 2 : 1;
+        }
+        return getSum(state);
+    }
+
+    /**
+     * @param romanNumeral byte[] ASCII characters
+     */
+    public int convertRomanNumeral(byte[] romanNumeral, int offset, int length) throws RomanNumeralFormatException {
+        checkSlice(romanNumeral == null ? -1 : romanNumeral.length, offset, length);
+
+        int end = offset + length;
+        long state = START;
+        for (int i = offset; i < end; ) {
+            int value = getValue(romanNumeral[i] & 0xFF, i);
+            int next = i + 1 < end ? getValue(romanNumeral[i + 1] & 0xFF, i + 1) : 0;
+            state = addNumeral(state, value, next, i);
+            i += value < next ? 2 : 1;
+        }
+        return getSum(state);
+    }
+
+    /**
+     * reads with absolute gets, the position and limit of romanNumeral are not changed.
+     *
+     * @param romanNumeral ByteBuffer ASCII characters, heap or direct
+     */
+    public int convertRomanNumeral(ByteBuffer romanNumeral, int offset, int length) throws RomanNumeralFormatException {
+        checkSlice(romanNumeral == null ? -1 : romanNumeral.limit(), offset, length);
+
+        int end = offset + length;
+        long state = START;
+        for (int i = offset; i < end; ) {
+            int value = getValue(romanNumeral.get(i) & 0xFF, i);
+            int next = i + 1 < end ? getValue(romanNumeral.get(i + 1) & 0xFF, i + 1) : 0;
+            state = addNumeral(state, value, next, i);
+            i += value < next ? 2 : 1;
+        }
+        return getSum(state);
+    }
+
+    // ----------------------------------------------------------
+
+    private static void checkSlice(int arrayLength, int offset, int length) {
+        if (arrayLength < 0 || offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IllegalArgumentException();
+        }
+        if (length == 0) {
+            throw new RomanNumeralFormatException("empty roman numeral", offset);
+        }
+    }
+
+    static int getValue(int c, int position) {
+        int value = RomanSymbolIndex.getValue(c);
+        if (value == RomanSymbolIndex.NO_VALUE) {
+            throw new RomanNumeralFormatException("not a roman numeral", position);
+        }
+        return value;
+    }
+
+    /**
+     * adds the numeral at position - or the subtractive pair starting at position, if next is larger.
+     *
+     * @param state long see START
+     * @param value int value of the numeral at position
+     * @param next int value of the numeral behind it, 0 at the end
+     * @param position int for the error message
+     * @return long the new state
+     */
+    static long addNumeral(long state, int value, int next, int position) {
+        int sum = (int) (state & 0xFFFF);
+        int allowed = (int) (state >>> 32);
+        int allowedInPair = (int) (state >>> 16 & 0xFFFF);
+
+        if (value < next) { // subtract, e.g. IX
+            if (!isSubtractive(value)) {
+                throw new RomanNumeralFormatException("V, L and D can't be placed before a larger numeral", position);
+            }
+            if (next != 5 * value && next != 10 * value) {
+                throw new RomanNumeralFormatException("I, X and C can only be placed before the next two larger numerals", position);
+            }
+            if (next > allowedInPair) {
+                throw new RomanNumeralFormatException("numerals must be written from the largest to the smallest", position);
+            }
+            sum += next - value;
+            allowed = value - 1;    // XC can only be followed by something smaller than X ...
+            allowedInPair = value;  // ... or by a pair up to IX
+        } else {            // add, e.g. VI
+            if (value > allowed) {
+                throw new RomanNumeralFormatException("numerals must be written from the largest to the smallest", position);
+            }
+            sum += value;
+            allowed = isSubtractive(value) || value == 1000 ? value : value - 1; // V, L and D can't be repeated
+            allowedInPair = allowed; // D can be followed by CC, but not by CD
+        }
+
+        if (sum > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+            throw new RomanNumeralFormatException("roman numeral larger than " + RomanNumeralEncoder.MAX_ARABIC_NUMBER, position);
+        }
+        return state(allowed, allowedInPair, sum);
+    }
+
+    private static long state(int allowed, int allowedInPair, int sum) {
+        return (long) allowed << 32 | (long) allowedInPair << 16 | sum;
+    }
+
+    // I, X and C
+    private static boolean isSubtractive(int value) {
+        return value == 1 || value == 10 || value == 100;
+    }
+
+    static int getSum(long state) {
+        return (int) (state & 0xFFFF);
+    }
+}
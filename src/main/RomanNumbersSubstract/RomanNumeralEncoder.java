@@ -0,0 +1,345 @@
+package RomanNumbersSubstract;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static RomanNumbersSubstract.RomanDigitFragments.FRAGMENTS;
+import static RomanNumbersSubstract.RomanDigitFragments.FRAGMENT_BYTES;
+import static RomanNumbersSubstract.RomanDigitFragments.MAX_ROMAN_LENGTH;
+import static RomanNumbersSubstract.RomanDigitFragments.RANGES;
+import static RomanNumbersSubstract.RomanDigitFragments.ROMAN_DIGIT_LENGTH;
+
+/*
+Stateless variant of RomanNumerals.
+
+RomanNumerals keeps the digits of the number it is converting (arabicNumberString) and the
+magnitude it is currently working on (romanMagnitude) in instance fields, and
+getNextRomanNumeralRange() counts romanMagnitude down as a side effect.
+So one instance can only convert one number at a time - sharing it between threads mixes up the digits.
+
+This encoder does the same subtract algorithm, but everything it needs during a conversion
+lives in local variables:
+ - the digits are taken with / and % instead of going through a String
+ - the ranges are immutable and indexed by magnitude (no counter to decrement)
+ - the roman digits are written into one exactly sized char[] instead of concatenating Strings
+
+So a single instance can be shared by any number of threads.
+
+There are two ways to get the roman digits (see EncodingMode):
+ - RANGE_WALK walks the range for every digit, like RomanNumerals.convertArabicDigit does
+ - LOOKUP_TABLE copies the precomputed digit from RomanDigitFragments, so every digit costs the same
+
+The convertArabicNumber overloads with an Appendable, char[] or ByteBuffer write the numeral straight
+into the given target (e.g. a log line or a network frame), without any intermediate String.
+
+convertArabicNumberLazily doesn't write the numeral at all: it returns a shared RomanNumeral,
+a CharSequence that looks its characters up in the fragment table when they are asked for.
+
+The batch methods (convertArabicNumbers) convert a whole int[] into one StringBuilder, char[] or ByteBuffer.
+They check all numbers and the needed space once, before anything is written,
+and then copy the fragments from the table without creating any objects per number
+(only one chunk buffer per batch, for StringBuilder and direct ByteBuffer).
+ */
+public final class RomanNumeralEncoder {
+
+    public static final int MIN_ARABIC_NUMBER = 1;
+    public static final int MAX_ARABIC_NUMBER = 3999; // RomanNumerals accepts 4000, but can't render it (there's no symbol for 5000)
+
+    public enum EncodingMode {
+        RANGE_WALK,
+        LOOKUP_TABLE
+    }
+
+    // the batch methods collect the numerals in chunks of this size before they are appended to the output
+    private static final int BATCH_CHUNK_SIZE = 1024;
+
+    // one encoder is enough for the whole application
+    public static final RomanNumeralEncoder INSTANCE = new RomanNumeralEncoder();
+
+    private final EncodingMode encodingMode;
+
+    public RomanNumeralEncoder() {
+        this(EncodingMode.RANGE_WALK);
+    }
+
+    public RomanNumeralEncoder(EncodingMode encodingMode) {
+        if (encodingMode == null) {
+            throw new IllegalArgumentException();
+        }
+        this.encodingMode = encodingMode;
+    }
+
+    public EncodingMode getEncodingMode() {
+        return encodingMode;
+    }
+
+    // ****
+    // main
+    // ****
+    public String convertArabicNumber(int arabicNumber) throws IllegalArgumentException {
+
+        checkArabicNumber(arabicNumber);
+
+        int thousands = arabicNumber / 1000;
+        int hundreds  = arabicNumber / 100 % 10;
+        int tens      = arabicNumber / 10 % 10;
+        int ones      = arabicNumber % 10;
+
+        char[] romanNumber = new char[ROMAN_DIGIT_LENGTH[thousands]
+                + ROMAN_DIGIT_LENGTH[hundreds]
+                + ROMAN_DIGIT_LENGTH[tens]
+                + ROMAN_DIGIT_LENGTH[ones]];
+
+        if (encodingMode == EncodingMode.LOOKUP_TABLE) {
+            writeRomanNumber(arabicNumber, romanNumber, 0);
+        } else {
+            int pos = 0;
+            pos = RomanDigitFragments.convertArabicDigit(thousands, RANGES[3], romanNumber, pos);
+            pos = RomanDigitFragments.convertArabicDigit(hundreds,  RANGES[2], romanNumber, pos);
+            pos = RomanDigitFragments.convertArabicDigit(tens,      RANGES[1], romanNumber, pos);
+            RomanDigitFragments.convertArabicDigit(ones, RANGES[0], romanNumber, pos);
+        }
+
+        return new String(romanNumber);
+    }
+
+    /**
+     * the roman numeral as a CharSequence that computes its characters on demand, see RomanNumeral.
+     * Allocates nothing: there is one shared instance per number.
+     */
+    public RomanNumeral convertArabicNumberLazily(int arabicNumber) throws IllegalArgumentException {
+        return RomanNumeral.valueOf(arabicNumber);
+    }
+
+    /**
+     * appends the roman numeral to romanNumber, character by character
+     *
+     * @return A romanNumber
+     */
+    public <A extends Appendable> A convertArabicNumber(int arabicNumber, A romanNumber) throws IllegalArgumentException, IOException {
+        checkArabicNumber(arabicNumber);
+
+        appendFragment(FRAGMENTS[3][arabicNumber / 1000],     romanNumber);
+        appendFragment(FRAGMENTS[2][arabicNumber / 100 % 10], romanNumber);
+        appendFragment(FRAGMENTS[1][arabicNumber / 10 % 10],  romanNumber);
+        appendFragment(FRAGMENTS[0][arabicNumber % 10],       romanNumber);
+        return romanNumber;
+    }
+
+    /**
+     * writes the roman numeral into romanNumber starting at offset
+     *
+     * @return int number of written characters
+     * @throws IndexOutOfBoundsException if romanNumber is too small, nothing is written then
+     */
+    public int convertArabicNumber(int arabicNumber, char[] romanNumber, int offset) throws IllegalArgumentException {
+        checkArabicNumber(arabicNumber);
+        int length = RomanDigitFragments.getRomanLength(arabicNumber);
+        if (offset < 0 || offset > romanNumber.length - length) {
+            throw new IndexOutOfBoundsException("need " + length + " characters at offset " + offset + ", have " + romanNumber.length);
+        }
+
+        return writeRomanNumber(arabicNumber, romanNumber, offset) - offset;
+    }
+
+    /**
+     * puts the roman numeral as ASCII into romanNumber at its position
+     *
+     * @return ByteBuffer romanNumber, its position behind the last written byte
+     * @throws BufferOverflowException if romanNumber has not enough space remaining, nothing is written then
+     */
+    public ByteBuffer convertArabicNumber(int arabicNumber, ByteBuffer romanNumber) throws IllegalArgumentException {
+        checkArabicNumber(arabicNumber);
+        if (romanNumber.remaining() < RomanDigitFragments.getRomanLength(arabicNumber)) {
+            throw new BufferOverflowException();
+        }
+
+        if (romanNumber.hasArray()) { // heap buffer: write straight into its array
+            int start = romanNumber.arrayOffset() + romanNumber.position();
+            int end = writeRomanNumber(arabicNumber, romanNumber.array(), start);
+            romanNumber.position(romanNumber.position() + end - start);
+            return romanNumber;
+        }
+        putFragment(FRAGMENT_BYTES[3][arabicNumber / 1000],     romanNumber);
+        putFragment(FRAGMENT_BYTES[2][arabicNumber / 100 % 10], romanNumber);
+        putFragment(FRAGMENT_BYTES[1][arabicNumber / 10 % 10],  romanNumber);
+        putFragment(FRAGMENT_BYTES[0][arabicNumber % 10],       romanNumber);
+        return romanNumber;
+    }
+
+    // *****
+    // batch
+    // *****
+
+    /**
+     * number of characters needed to write the roman numerals of arabicNumbers separated by a delimiter
+     *
+     * @param arabicNumbers int[] 1 - 3999 each
+     * @return int characters including the delimiters
+     * @throws IllegalArgumentException if one of the numbers is out of range
+     */
+    public int getRomanNumbersLength(int[] arabicNumbers) throws IllegalArgumentException {
+        if (arabicNumbers == null) {
+            throw new IllegalArgumentException();
+        }
+        int length = Math.max(0, arabicNumbers.length - 1); // delimiters
+        for (int i = 0; i < arabicNumbers.length; i++) {
+            int arabicNumber = arabicNumbers[i];
+            if (arabicNumber < MIN_ARABIC_NUMBER || arabicNumber > MAX_ARABIC_NUMBER) {
+                throw new IllegalArgumentException("arabicNumbers[" + i + "] = " + arabicNumber);
+            }
+            length += RomanDigitFragments.getRomanLength(arabicNumber);
+        }
+        return length;
+    }
+
+    /**
+     * appends the roman numerals of arabicNumbers, separated by delimiter, e.g. [1990, 2008] -> MCMXC,MMVIII
+     *
+     * @return StringBuilder romanNumbers
+     */
+    public StringBuilder convertArabicNumbers(int[] arabicNumbers, char delimiter, StringBuilder romanNumbers) throws IllegalArgumentException {
+        int length = getRomanNumbersLength(arabicNumbers);
+        romanNumbers.ensureCapacity(romanNumbers.length() + length);
+
+        // appending the fragments one by one is slow, so the numerals are collected in chunks
+        char[] chunk = new char[Math.min(length, BATCH_CHUNK_SIZE)];
+        int pos = 0;
+        for (int i = 0; i < arabicNumbers.length; i++) {
+            if (pos > chunk.length - MAX_ROMAN_LENGTH - 1) {
+                romanNumbers.append(chunk, 0, pos);
+                pos = 0;
+            }
+            if (i > 0) {
+                chunk[pos++] = delimiter;
+            }
+            pos = writeRomanNumber(arabicNumbers[i], chunk, pos);
+        }
+        return romanNumbers.append(chunk, 0, pos);
+    }
+
+    /**
+     * writes the roman numerals of arabicNumbers, separated by delimiter, into romanNumbers starting at offset
+     *
+     * @return int number of written characters
+     * @throws IndexOutOfBoundsException if romanNumbers is too small, nothing is written then
+     */
+    public int convertArabicNumbers(int[] arabicNumbers, char delimiter, char[] romanNumbers, int offset) throws IllegalArgumentException {
+        int length = getRomanNumbersLength(arabicNumbers);
+        if (offset < 0 || offset > romanNumbers.length - length) {
+            throw new IndexOutOfBoundsException("need " + length + " characters at offset " + offset + ", have " + romanNumbers.length);
+        }
+
+        int pos = offset;
+        for (int i = 0; i < arabicNumbers.length; i++) {
+            if (i > 0) {
+                romanNumbers[pos++] = delimiter;
+            }
+            pos = writeRomanNumber(arabicNumbers[i], romanNumbers, pos);
+        }
+        return pos - offset;
+    }
+
+    /**
+     * puts the roman numerals of arabicNumbers as ASCII, separated by delimiter, into romanNumbers at its position
+     *
+     * @return ByteBuffer romanNumbers, its position behind the last written byte
+     * @throws BufferOverflowException if romanNumbers has not enough space remaining, nothing is written then
+     */
+    public ByteBuffer convertArabicNumbers(int[] arabicNumbers, byte delimiter, ByteBuffer romanNumbers) throws IllegalArgumentException {
+        int length = getRomanNumbersLength(arabicNumbers);
+        if (romanNumbers.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+
+        if (romanNumbers.hasArray()) { // heap buffer: write straight into its array
+            int start = romanNumbers.arrayOffset() + romanNumbers.position();
+            int end = writeRomanNumbers(arabicNumbers, 0, arabicNumbers.length, delimiter, romanNumbers.array(), start);
+            romanNumbers.position(romanNumbers.position() + end - start);
+            return romanNumbers;
+        }
+
+        // direct buffer: putting the fragments one by one is slow, so the numerals are collected in chunks
+        byte[] chunk = new byte[Math.min(length, BATCH_CHUNK_SIZE)];
+        int from = 0;
+        while (from < arabicNumbers.length) {
+            int to = Math.min(arabicNumbers.length, from + (chunk.length + 1) / (MAX_ROMAN_LENGTH + 1));
+            to = Math.max(to, from + 1);
+            if (from > 0) {
+                romanNumbers.put(delimiter);
+            }
+            romanNumbers.put(chunk, 0, writeRomanNumbers(arabicNumbers, from, to, delimiter, chunk, 0));
+            from = to;
+        }
+        return romanNumbers;
+    }
+
+    /**
+     * converts lazily, number by number, while the stream is consumed
+     */
+    public Stream<String> convertArabicNumbers(IntStream arabicNumbers) {
+        return arabicNumbers.mapToObj(this::convertArabicNumber);
+    }
+
+    // ----------------------------------------------------------
+
+    // contract: we operate only in the specified range
+    private static void checkArabicNumber(int arabicNumber) {
+        if (arabicNumber < MIN_ARABIC_NUMBER || arabicNumber > MAX_ARABIC_NUMBER) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    private static void appendFragment(char[] fragment, Appendable romanNumber) throws IOException {
+        for (char c : fragment) {
+            romanNumber.append(c);
+        }
+    }
+
+    private static void putFragment(byte[] fragment, ByteBuffer romanNumber) {
+        for (byte b : fragment) {
+            romanNumber.put(b);
+        }
+    }
+
+    // the arabicNumber must have been checked before
+    static int writeRomanNumber(int arabicNumber, char[] romanNumber, int pos) {
+        pos = copyFragment(FRAGMENTS[3][arabicNumber / 1000],     romanNumber, pos);
+        pos = copyFragment(FRAGMENTS[2][arabicNumber / 100 % 10], romanNumber, pos);
+        pos = copyFragment(FRAGMENTS[1][arabicNumber / 10 % 10],  romanNumber, pos);
+        return copyFragment(FRAGMENTS[0][arabicNumber % 10],      romanNumber, pos);
+    }
+
+    // the arabicNumbers must have been checked before and romanNumbers must be large enough
+    // returns the position behind the last written byte
+    private static int writeRomanNumbers(int[] arabicNumbers, int from, int to, byte delimiter, byte[] romanNumbers, int pos) {
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                romanNumbers[pos++] = delimiter;
+            }
+            pos = writeRomanNumber(arabicNumbers[i], romanNumbers, pos);
+        }
+        return pos;
+    }
+
+    // the arabicNumber must have been checked before
+    static int writeRomanNumber(int arabicNumber, byte[] romanNumber, int pos) {
+        pos = copyFragment(FRAGMENT_BYTES[3][arabicNumber / 1000],     romanNumber, pos);
+        pos = copyFragment(FRAGMENT_BYTES[2][arabicNumber / 100 % 10], romanNumber, pos);
+        pos = copyFragment(FRAGMENT_BYTES[1][arabicNumber / 10 % 10],  romanNumber, pos);
+        return copyFragment(FRAGMENT_BYTES[0][arabicNumber % 10],      romanNumber, pos);
+    }
+
+    private static int copyFragment(byte[] fragment, byte[] romanNumber, int pos) {
+        System.arraycopy(fragment, 0, romanNumber, pos, fragment.length);
+        return pos + fragment.length;
+    }
+
+    private static int copyFragment(char[] fragment, char[] romanNumber, int pos) {
+        System.arraycopy(fragment, 0, romanNumber, pos, fragment.length);
+        return pos + fragment.length;
+    }
+}
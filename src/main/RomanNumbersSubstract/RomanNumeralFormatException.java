@@ -0,0 +1,33 @@
+package RomanNumbersSubstract;
+
+/**
+ * thrown by RomanNumeralDecoder if the input is not a roman numeral.
+ *
+ * position is the index of the offending character: the index in the CharSequence,
+ * the index in the array or buffer for char[] / byte[] / ByteBuffer input (not relative to offset),
+ * or the offset in the file for RomanNumeralTranscoder.
+ */
+public class RomanNumeralFormatException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String reason;
+    private final long position;
+
+    public RomanNumeralFormatException(String reason, long position) {
+        super(reason + " at position " + position);
+        this.reason = reason;
+        this.position = position;
+    }
+
+    /**
+     * @return String the message without the position
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,128 @@
+package RomanNumbersSubstract;
+
+import java.util.function.IntConsumer;
+
+/*
+Sorted index over a list of roman numerals for range queries: which rows have a value between lo and hi?
+
+The index is built with the counting sort of RomanNumeralSorter and keeps its two arrays:
+
+    numerals   XII   IV   MCMXC   IV
+    rows       1 3 0 2                 the row numbers, ordered by value (rows of the same value ascending)
+    starts     starts[v] = position in rows of the first row with value >= v
+
+So a query needs no search at all: the rows of [lo, hi] are rows[starts[lo]] .. rows[starts[hi + 1] - 1].
+
+    count(4, 12)    = starts[13] - starts[4] = 3 - 0 = 3
+    getRows(4, 12)  = 1 3 0
+
+The index doesn't keep the numerals, only the row numbers; the caller looks them up in its own list.
+It's immutable, so it can be shared by any number of threads.
+ */
+public final class RomanNumeralIndex {
+
+    private final int[] rows;
+    private final int[] starts;
+
+    private RomanNumeralIndex(int[] keys) {
+        this.starts = RomanNumeralSorter.getStarts(keys);
+        this.rows = RomanNumeralSorter.getSortedRows(keys, starts);
+    }
+
+    /**
+     * @throws RomanNumeralFormatException if one is not a roman numeral
+     */
+    public static RomanNumeralIndex of(CharSequence[] numerals) throws RomanNumeralFormatException {
+        return new RomanNumeralIndex(RomanNumeralSorter.decode(numerals));
+    }
+
+    /**
+     * @param column byte[] rows of width bytes, padded like for BulkRomanNumeralDecoder
+     * @throws RomanNumeralFormatException if a row is not a canonical roman numeral
+     */
+    public static RomanNumeralIndex of(byte[] column, int width) throws RomanNumeralFormatException {
+        return new RomanNumeralIndex(RomanNumeralSorter.decode(column, width));
+    }
+
+    /**
+     * @param arabicNumbers int[] the values of the rows, 1 - 3999 each
+     */
+    public static RomanNumeralIndex of(int[] arabicNumbers) throws IllegalArgumentException {
+        if (arabicNumbers == null) {
+            throw new IllegalArgumentException();
+        }
+        for (int i = 0; i < arabicNumbers.length; i++) {
+            if (arabicNumbers[i] < RomanNumeralEncoder.MIN_ARABIC_NUMBER || arabicNumbers[i] > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+                throw new IllegalArgumentException("arabicNumbers[" + i + "] = " + arabicNumbers[i]);
+            }
+        }
+        return new RomanNumeralIndex(arabicNumbers.clone());
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    // ****
+    // main
+    // ****
+
+    /**
+     * @return int number of rows with lo <= value <= hi
+     */
+    public int count(int lo, int hi) {
+        return getEnd(hi) - getStart(lo, hi);
+    }
+
+    /**
+     * @return int[] the rows with lo <= value <= hi, ordered by value
+     */
+    public int[] getRows(int lo, int hi) {
+        int start = getStart(lo, hi);
+        int[] result = new int[getEnd(hi) - start];
+        System.arraycopy(rows, start, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * calls action with every row with lo <= value <= hi, ordered by value
+     */
+    public void forEachRow(int lo, int hi, IntConsumer action) {
+        for (int i = getStart(lo, hi), end = getEnd(hi); i < end; i++) {
+            action.accept(rows[i]);
+        }
+    }
+
+    /**
+     * the same as count(int, int), the bounds as roman numerals
+     */
+    public int count(CharSequence lo, CharSequence hi) throws RomanNumeralFormatException {
+        return count(RomanNumeralDecoder.INSTANCE.convertRomanNumeral(lo), RomanNumeralDecoder.INSTANCE.convertRomanNumeral(hi));
+    }
+
+    /**
+     * the same as getRows(int, int), the bounds as roman numerals
+     */
+    public int[] getRows(CharSequence lo, CharSequence hi) throws RomanNumeralFormatException {
+        return getRows(RomanNumeralDecoder.INSTANCE.convertRomanNumeral(lo), RomanNumeralDecoder.INSTANCE.convertRomanNumeral(hi));
+    }
+
+    // ----------------------------------------------------------
+
+    // bounds outside of 1 - 3999 are clamped, an empty range (lo > hi) starts at its end
+    private int getStart(int lo, int hi) {
+        int clampedLo = Math.max(lo, RomanNumeralEncoder.MIN_ARABIC_NUMBER);
+        if (clampedLo > RomanNumeralEncoder.MAX_ARABIC_NUMBER || clampedLo > hi) {
+            return getEnd(hi);
+        }
+        return starts[clampedLo];
+    }
+
+    // position behind the last row with value <= hi
+    private int getEnd(int hi) {
+        if (hi < RomanNumeralEncoder.MIN_ARABIC_NUMBER) {
+            return 0;
+        }
+        return starts[Math.min(hi, RomanNumeralEncoder.MAX_ARABIC_NUMBER) + 1];
+    }
+}
@@ -0,0 +1,475 @@
+package RomanNumbersSubstract;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+Finds the roman numerals in free text - "Chapter XLII", "Henry VIII's crown" - or, the other way round,
+the arabic numbers 1 - 3999, and reports each one as (offset, length, value) to a MatchHandler.
+
+The text is read once, character by character, without regex and without Strings. Every character is one of
+
+    token      I V X L C D M         (0 - 9 for ARABIC_NUMBERS)
+    word       any other letter or digit
+    separator  everything else: blanks, punctuation, ...
+
+A candidate is a word made of token characters only, between separators (or the start / end of the text).
+It's decoded while it's read: roman numerals by the automaton of RomanNumeralValidator, so only canonical
+numerals are found (IIII, MIXED or XLIIa are not), arabic numbers digit by digit (no leading 0, at most 3999).
+Note that the word "I" is a canonical numeral as well.
+
+    Chapter XLII, Henry VIII's crown
+            ^^^^        ^^^^            (8, 4, 42)  (20, 4, 8)
+
+Characters outside of ASCII are classified by their code point, so a CharBuffer and the same text as UTF-8
+bytes give the same matches (only the offsets differ): an em dash, curly quotes or a no-break space end a word,
+é or a letter of a surrogate pair belong to it. A multi-byte sequence (or a surrogate pair) is classified when
+its last unit has been read - the first unit only remembers where the character started:
+
+    X  L  E2 80 94  (U+2014 em dash)
+                 ^  separator at the offset of E2, the match is (0, 2, 40)
+
+A malformed sequence or a lone surrogate is taken as a part of a word.
+
+The state of the current candidate (and of a character cut in the middle) is all there is to remember between
+two characters, so the text can come in chunks of any size (scan(CharBuffer) / scan(ByteBuffer), then finish());
+a numeral cut by the end of a chunk is simply continued by the next one. Offsets count from the start of the whole
+text, in chars for CharBuffers and in bytes for ByteBuffers (UTF-8, which includes ASCII).
+
+A scanner is stateful and not thread safe. For text that is completely in memory (e.g. a mapped file)
+scanParallel cuts it into chunks that are scanned by a ForkJoinPool. A chunk reports the candidates that start
+in it - it skips a word (and the rest of a character) that started in the chunk before, and reads on past its end
+to finish its last one.
+The matches are handed to the handler in the order of the text, by the calling thread.
+ */
+public final class RomanNumeralScanner {
+
+    public enum Kind {
+        ROMAN_NUMERALS,
+        ARABIC_NUMBERS
+    }
+
+    public interface MatchHandler {
+        /**
+         * @param offset long position of the first character in the text
+         * @param length int number of characters
+         * @param value int 1 - 3999
+         */
+        void onMatch(long offset, int length, int value);
+    }
+
+    private static final byte SEPARATOR = 0;
+    private static final byte WORD = 1;
+    private static final byte TOKEN = 2;
+
+    // the class of each ASCII character, per kind
+    private static final byte[][] CHAR_CLASS = new byte[Kind.values().length][128];
+    static {
+        for (Kind kind : Kind.values()) {
+            byte[] charClass = CHAR_CLASS[kind.ordinal()];
+            for (char c = 0; c < 128; c++) {
+                if (Character.isLetterOrDigit(c)) {
+                    charClass[c] = WORD;
+                }
+            }
+            if (kind == Kind.ROMAN_NUMERALS) {
+                for (int rank = 0; rank < RomanSymbolIndex.SYMBOL_COUNT; rank++) {
+                    charClass[RomanSymbolIndex.getSymbolByRank(rank)] = TOKEN;
+                }
+            } else {
+                for (char c = '0'; c <= '9'; c++) {
+                    charClass[c] = TOKEN;
+                }
+            }
+        }
+    }
+
+    private static final int MAX_ARABIC_LENGTH = 4;
+    // of a UTF-8 sequence, after its first byte
+    private static final int MAX_CONTINUATION_UNITS = 3;
+
+    private final Kind kind;
+    private final byte[] charClass;
+    private final MatchHandler handler;
+
+    private long position;         // offset of the next character
+    private boolean inWord;        // the previous character is a token or word character
+    private boolean inCandidate;   // ... and the word is still a candidate
+    private long start;            // of the candidate
+    private int step;              // state of the candidate (RomanNumeralValidator.step / the arabic value)
+
+    private int missingUnits;      // of a multi-byte sequence / surrogate pair that has been started
+    private int codePoint;         // ... its bits read so far
+    private long sequenceStart;    // ... offset of its first unit
+
+    public RomanNumeralScanner(Kind kind, MatchHandler handler) {
+        this(kind, handler, 0, false);
+    }
+
+    // a scanner that starts at position, behind a word character if inWord
+    private RomanNumeralScanner(Kind kind, MatchHandler handler, long position, boolean inWord) {
+        if (kind == null || handler == null) {
+            throw new IllegalArgumentException();
+        }
+        this.kind = kind;
+        this.charClass = CHAR_CLASS[kind.ordinal()];
+        this.handler = handler;
+        this.position = position;
+        this.inWord = inWord;
+    }
+
+    /**
+     * @return long offset of the next character, the number of characters scanned so far
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    // ****
+    // main
+    // ****
+
+    /**
+     * scans the remaining characters of chunk, its position is moved to its limit
+     */
+    public void scan(CharBuffer chunk) {
+        for (int i = chunk.position(), end = chunk.limit(); i < end; i++) {
+            acceptChar(chunk.get(i));
+        }
+        chunk.position(chunk.limit());
+    }
+
+    /**
+     * scans the remaining bytes (UTF-8) of chunk, its position is moved to its limit
+     */
+    public void scan(ByteBuffer chunk) {
+        for (int i = chunk.position(), end = chunk.limit(); i < end; i++) {
+            acceptByte(chunk.get(i) & 0xFF);
+        }
+        chunk.position(chunk.limit());
+    }
+
+    /**
+     * ends the text: a candidate at its very end is reported now
+     */
+    public void finish() {
+        if (missingUnits > 0) {
+            endSequence();
+        }
+        endWord(position);
+    }
+
+    /**
+     * scans input (UTF-8, from its position to its limit, which are not changed) in chunks of about chunkSize bytes
+     * with the common pool, see the class comment
+     */
+    public static void scanParallel(Kind kind, ByteBuffer input, int chunkSize, MatchHandler handler) {
+        if (input == null) {
+            throw new IllegalArgumentException();
+        }
+        scanParallel(kind, new ByteText(input.duplicate()), chunkSize, handler);
+    }
+
+    /**
+     * scans input (from its position to its limit, which are not changed) in chunks of about chunkSize chars
+     * with the common pool, see the class comment
+     */
+    public static void scanParallel(Kind kind, CharBuffer input, int chunkSize, MatchHandler handler) {
+        if (input == null) {
+            throw new IllegalArgumentException();
+        }
+        scanParallel(kind, new CharText(input.duplicate()), chunkSize, handler);
+    }
+
+    // ----------------------------------------------------------
+
+    private void acceptChar(char c) {
+        if (missingUnits > 0) {
+            if (Character.isLowSurrogate(c)) {
+                missingUnits = 0;
+                apply(c, getCodePointClass(Character.toCodePoint((char) codePoint, c)), sequenceStart);
+                position++;
+                return;
+            }
+            endSequence();
+        }
+        if (c < 128) {
+            accept(c, charClass[c]);
+        } else if (Character.isHighSurrogate(c)) {
+            startSequence(c, 1);
+        } else {
+            accept(c, Character.isSurrogate(c) ? WORD : getCodePointClass(c));
+        }
+    }
+
+    private void acceptByte(int b) {
+        if (missingUnits > 0) {
+            if ((b & 0xC0) == 0x80) { // 10xxxxxx
+                codePoint = codePoint << 6 | b & 0x3F;
+                if (--missingUnits == 0) {
+                    apply(b, getCodePointClass(codePoint), sequenceStart);
+                }
+                position++;
+                return;
+            }
+            endSequence();
+        }
+        if (b < 0x80) {
+            accept(b, charClass[b]);
+        } else if (b >= 0xC0) { // 110xxxxx, 1110xxxx, 11110xxx
+            int units = b >= 0xF0 ? 3 : b >= 0xE0 ? 2 : 1;
+            startSequence(b & 0x3F >> units, units);
+        } else {
+            accept(b, WORD); // a continuation byte without a first one
+        }
+    }
+
+    private void accept(int c, byte type) {
+        apply(c, type, position);
+        position++;
+    }
+
+    // the character c of the given type is at offset
+    private void apply(int c, byte type, long offset) {
+        if (type == TOKEN) {
+            if (!inWord) {
+                inCandidate = true;
+                start = offset;
+                step = kind == Kind.ROMAN_NUMERALS ? RomanNumeralValidator.FIRST_STEP : 0;
+            }
+            if (inCandidate) {
+                addToken(c, offset);
+            }
+            inWord = true;
+        } else if (type == WORD) {
+            inCandidate = false;
+            inWord = true;
+        } else {
+            endWord(offset);
+        }
+    }
+
+    private void startSequence(int bits, int units) {
+        codePoint = bits;
+        missingUnits = units;
+        sequenceStart = position;
+        position++;
+    }
+
+    // a sequence that isn't complete: a part of a word
+    private void endSequence() {
+        missingUnits = 0;
+        apply(0, WORD, sequenceStart);
+    }
+
+    // only ASCII characters are tokens
+    private static byte getCodePointClass(int codePoint) {
+        return Character.isLetterOrDigit(codePoint) ? WORD : SEPARATOR;
+    }
+
+    private void addToken(int c, long offset) {
+        if (kind == Kind.ROMAN_NUMERALS) {
+            step = RomanNumeralValidator.step(step, c);
+            inCandidate = !RomanNumeralValidator.isDead(step);
+        } else {
+            int length = (int) (offset - start);
+            step = step * 10 + (c - '0');
+            inCandidate = step != 0 && length < MAX_ARABIC_LENGTH; // no leading 0
+        }
+    }
+
+    // the word ends before the character at end
+    private void endWord(long end) {
+        if (inCandidate) {
+            int value = kind == Kind.ROMAN_NUMERALS ? RomanNumeralValidator.getStepValue(step) : step;
+            if (value >= RomanNumeralEncoder.MIN_ARABIC_NUMBER && value <= RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+                handler.onMatch(start, (int) (end - start), value);
+            }
+        }
+        inCandidate = false;
+        inWord = false;
+    }
+
+    // ---
+
+    private static void scanParallel(Kind kind, Text text, int chunkSize, MatchHandler handler) {
+        if (kind == null || handler == null || chunkSize < 1) {
+            throw new IllegalArgumentException();
+        }
+        int chunks = getChunkCount(text.length(), chunkSize);
+        Matches matches = ForkJoinPool.commonPool().invoke(new ScanChunks(kind, text, chunkSize, 0, chunks));
+        matches.forEach(handler);
+    }
+
+    // in long, length + chunkSize - 1 overflows for texts close to 2 GB
+    static int getChunkCount(int length, int chunkSize) {
+        return (int) (((long) length + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * scans the chunk that starts at from: from the character after the word around from,
+     * to the end of the candidate that is open at to
+     */
+    private static Matches scanChunk(Kind kind, Text text, int from, int to) {
+        Matches matches = new Matches();
+        int i = from;
+        boolean inWord = false;
+        if (from > 0) {
+            // reads the character before from (to its end, if it's cut by from), nothing of it is reported
+            RomanNumeralScanner before = new RomanNumeralScanner(kind, matches, 0, false);
+            i = from - 1;
+            while (i > 0 && from - i <= MAX_CONTINUATION_UNITS && text.continuesCharacter(i)) {
+                i--;
+            }
+            do {
+                text.accept(before, i++);
+            } while (i < text.length() && (i < from || text.continuesCharacter(i)));
+            inWord = before.inWord || before.missingUnits > 0;
+        }
+        RomanNumeralScanner scanner = new RomanNumeralScanner(kind, matches, i, inWord);
+        for (; i < to; i++) {
+            text.accept(scanner, i);
+        }
+        for (; scanner.inCandidate && i < text.length(); i++) {
+            text.accept(scanner, i);
+        }
+        scanner.finish();
+        return matches;
+    }
+
+    /**
+     * the bytes of a ByteBuffer or the chars of a CharBuffer, by index from its position
+     */
+    private interface Text {
+        int length();
+
+        // gives the unit at index to scanner.acceptByte / acceptChar
+        void accept(RomanNumeralScanner scanner, int index);
+
+        // true if the unit at index is the continuation of a character that started before it
+        boolean continuesCharacter(int index);
+    }
+
+    private static final class ByteText implements Text {
+        private final ByteBuffer buffer;
+        private final int position;
+
+        ByteText(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.position = buffer.position();
+        }
+
+        @Override
+        public int length() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public void accept(RomanNumeralScanner scanner, int index) {
+            scanner.acceptByte(buffer.get(position + index) & 0xFF);
+        }
+
+        @Override
+        public boolean continuesCharacter(int index) {
+            return (buffer.get(position + index) & 0xC0) == 0x80;
+        }
+    }
+
+    private static final class CharText implements Text {
+        private final CharBuffer buffer;
+        private final int position;
+
+        CharText(CharBuffer buffer) {
+            this.buffer = buffer;
+            this.position = buffer.position();
+        }
+
+        @Override
+        public int length() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public void accept(RomanNumeralScanner scanner, int index) {
+            scanner.acceptChar(buffer.get(position + index));
+        }
+
+        @Override
+        public boolean continuesCharacter(int index) {
+            return Character.isLowSurrogate(buffer.get(position + index))
+                    && index > 0 && Character.isHighSurrogate(buffer.get(position + index - 1));
+        }
+    }
+
+    /**
+     * the matches of a chunk, in primitive arrays
+     */
+    private static final class Matches implements MatchHandler {
+        private long[] offsets = new long[16];
+        private int[] lengthsAndValues = new int[32];
+        private int size;
+
+        @Override
+        public void onMatch(long offset, int length, int value) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, 2 * size);
+                lengthsAndValues = Arrays.copyOf(lengthsAndValues, 4 * size);
+            }
+            offsets[size] = offset;
+            lengthsAndValues[2 * size] = length;
+            lengthsAndValues[2 * size + 1] = value;
+            size++;
+        }
+
+        void addAll(Matches other) {
+            for (int i = 0; i < other.size; i++) {
+                onMatch(other.offsets[i], other.lengthsAndValues[2 * i], other.lengthsAndValues[2 * i + 1]);
+            }
+        }
+
+        void forEach(MatchHandler handler) {
+            for (int i = 0; i < size; i++) {
+                handler.onMatch(offsets[i], lengthsAndValues[2 * i], lengthsAndValues[2 * i + 1]);
+            }
+        }
+    }
+
+    /**
+     * splits the chunks fromChunk .. toChunk (exclusive) in halves until one is left, and scans it.
+     * The matches are joined in the order of the chunks.
+     */
+    private static final class ScanChunks extends RecursiveTask<Matches> {
+        private static final long serialVersionUID = 1L;
+
+        private final Kind kind;
+        private final Text text;
+        private final int chunkSize;
+        private final int fromChunk;
+        private final int toChunk;
+
+        ScanChunks(Kind kind, Text text, int chunkSize, int fromChunk, int toChunk) {
+            this.kind = kind;
+            this.text = text;
+            this.chunkSize = chunkSize;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected Matches compute() {
+            if (toChunk - fromChunk <= 1) {
+                int from = fromChunk * chunkSize;
+                return scanChunk(kind, text, from, (int) Math.min((long) from + chunkSize, text.length()));
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            ScanChunks second = new ScanChunks(kind, text, chunkSize, middle, toChunk);
+            second.fork();
+            Matches matches = new ScanChunks(kind, text, chunkSize, fromChunk, middle).compute();
+            matches.addAll(second.join());
+            return matches;
+        }
+    }
+}
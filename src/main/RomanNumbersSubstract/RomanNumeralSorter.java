@@ -0,0 +1,125 @@
+package RomanNumbersSubstract;
+
+/*
+Sorts roman numerals by their value, decoding every numeral exactly once.
+
+Sorting with a comparator decodes (or at least reads) both numerals of every comparison - n log n times.
+But there are only 3999 values, so there's no need to compare at all: a counting sort (a radix sort with a
+single digit of base 4000) does it in two passes over a primitive key array:
+
+    numerals   XII   IV   MCMXC   IV     -> keys   12   4   1990   4
+    count per value:     4: 2   12: 1   1990: 1
+    start per value:     4: 0   12: 2   1990: 3              (sum of the counts of the smaller values)
+    each numeral goes to the start of its value, which moves one further:   IV IV XII MCMXC
+
+The sort is stable: numerals with the same value keep their order.
+
+The keys are decoded with RomanNumeralDecoder (CharSequence) or RomanNumeralValidator (the rows of byte[] columns,
+which must be canonical - IIII or IM are rejected, not sorted under a made up value like BulkRomanNumeralDecoder
+would), so a wrong numeral is rejected with a RomanNumeralFormatException before anything is moved.
+The start per value is also what RomanNumeralIndex uses for its range queries.
+ */
+public final class RomanNumeralSorter {
+
+    private static final int VALUES = RomanNumeralEncoder.MAX_ARABIC_NUMBER + 1;
+
+    private RomanNumeralSorter() {
+    }
+
+    // ****
+    // main
+    // ****
+
+    /**
+     * sorts numerals in place by their value
+     *
+     * @throws RomanNumeralFormatException if one is not a roman numeral, nothing is moved then
+     */
+    public static <T extends CharSequence> void sort(T[] numerals) throws RomanNumeralFormatException {
+        int[] keys = decode(numerals);
+        int[] next = getStarts(keys);
+        T[] unsorted = numerals.clone();
+        for (int i = 0; i < unsorted.length; i++) {
+            numerals[next[keys[i]]++] = unsorted[i];
+        }
+    }
+
+    /**
+     * sorts the rows of a fixed width ASCII column in place by their value
+     *
+     * @param column byte[] rows of width bytes, padded like for BulkRomanNumeralDecoder
+     * @throws RomanNumeralFormatException if a row is not a canonical roman numeral, nothing is moved then
+     */
+    public static void sort(byte[] column, int width) throws RomanNumeralFormatException {
+        int[] keys = decode(column, width);
+        int[] next = getStarts(keys);
+        byte[] unsorted = column.clone();
+        for (int row = 0; row < keys.length; row++) {
+            System.arraycopy(unsorted, row * width, column, next[keys[row]]++ * width, width);
+        }
+    }
+
+    // ----------------------------------------------------------
+
+    static int[] decode(CharSequence[] numerals) throws RomanNumeralFormatException {
+        if (numerals == null) {
+            throw new IllegalArgumentException();
+        }
+        int[] keys = new int[numerals.length];
+        for (int i = 0; i < numerals.length; i++) {
+            keys[i] = RomanNumeralDecoder.INSTANCE.convertRomanNumeral(numerals[i]);
+        }
+        return keys;
+    }
+
+    /**
+     * decodes every row of column, which must be a canonical numeral followed by padding
+     */
+    static int[] decode(byte[] column, int width) throws RomanNumeralFormatException {
+        if (column == null || width < 1 || column.length % width != 0) {
+            throw new IllegalArgumentException();
+        }
+        int[] keys = new int[column.length / width];
+        for (int row = 0, start = 0; row < keys.length; row++, start += width) {
+            int length = 0;
+            while (length < width && column[start + length] != BulkRomanNumeralDecoder.PAD) {
+                length++;
+            }
+            for (int i = start + length; i < start + width; i++) {
+                if (column[i] != BulkRomanNumeralDecoder.PAD) {
+                    throw new RomanNumeralFormatException("roman numeral behind the padding", i);
+                }
+            }
+            keys[row] = RomanNumeralValidator.INSTANCE.convertRomanNumeral(column, start, length);
+        }
+        return keys;
+    }
+
+    /**
+     * @param keys int[] 1 - 3999 each
+     * @return int[] VALUES + 1 entries: the position of the first key of each value in the sorted order,
+     * [VALUES] is the number of keys
+     */
+    static int[] getStarts(int[] keys) {
+        int[] starts = new int[VALUES + 1];
+        for (int key : keys) {
+            starts[key + 1]++;
+        }
+        for (int value = 1; value <= VALUES; value++) {
+            starts[value] += starts[value - 1];
+        }
+        return starts;
+    }
+
+    /**
+     * @return int[] the indexes of keys, ordered by key (stable)
+     */
+    static int[] getSortedRows(int[] keys, int[] starts) {
+        int[] next = starts.clone();
+        int[] rows = new int[keys.length];
+        for (int row = 0; row < keys.length; row++) {
+            rows[next[keys[row]]++] = row;
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,258 @@
+package RomanNumbersSubstract;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+Transcodes newline delimited files (or streams) of arabic numbers into roman numerals, or back:
+
+    1990          MCMXC
+    2008    <->   MMVIII
+    4             IV
+
+The input is never turned into Strings: the digits / numerals are parsed directly from the bytes,
+and the result is written through one reusable direct buffer.
+
+ - files are read through memory mapped windows of at most mapSize bytes,
+   a window always ends at the last complete line, the next one starts behind it
+ - channels are read into one reusable direct buffer of bufferSize bytes
+
+So the memory needed doesn't depend on the size of the input, and a window / buffer is written
+to the target as soon as it's transcoded.
+
+Empty lines stay empty, a \r in front of the \n (Windows) is ignored, every output line ends with \n.
+A wrong line stops the transcoding with an IllegalArgumentException (a RomanNumeralFormatException
+for roman numerals) that tells the line and its offset in the input.
+
+A transcoder can be used by several threads, every call gets its own buffers.
+ */
+public final class RomanNumeralTranscoder {
+
+    public enum Direction {
+        ARABIC_TO_ROMAN,
+        ROMAN_TO_ARABIC
+    }
+
+    public static final int DEFAULT_MAP_SIZE = 64 << 20;
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    // the longest line we write: MMMDCCCLXXXVIII + \n
+    private static final int MAX_OUTPUT_LINE = RomanDigitFragments.MAX_ROMAN_LENGTH + 1;
+
+    private static final RomanNumeralEncoder ENCODER = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE);
+    private static final RomanNumeralDecoder DECODER = RomanNumeralDecoder.INSTANCE;
+
+    private final Direction direction;
+    private final int mapSize;
+    private final int bufferSize;
+
+    public RomanNumeralTranscoder(Direction direction) {
+        this(direction, DEFAULT_MAP_SIZE, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param direction Direction
+     * @param mapSize int max. size of a memory mapped window of an input file
+     * @param bufferSize int size of the input buffer for channels and of the output buffer
+     */
+    public RomanNumeralTranscoder(Direction direction, int mapSize, int bufferSize) {
+        if (direction == null || mapSize < MAX_OUTPUT_LINE || bufferSize < MAX_OUTPUT_LINE) {
+            throw new IllegalArgumentException();
+        }
+        this.direction = direction;
+        this.mapSize = mapSize;
+        this.bufferSize = bufferSize;
+    }
+
+    // ****
+    // main
+    // ****
+
+    /**
+     * transcodes the file source into the file target (created or overwritten)
+     */
+    public Report transcode(Path source, Path target) throws IOException, IllegalArgumentException {
+        Report report = new Report();
+        long start = System.nanoTime();
+
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            ByteBuffer output = ByteBuffer.allocateDirect(bufferSize);
+            long size = in.size();
+            long windowStart = 0;
+            while (windowStart < size) {
+                long windowSize = Math.min(mapSize, size - windowStart);
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+                boolean endOfInput = windowStart + windowSize == size;
+
+                transcodeLines(window, windowStart, endOfInput, output, out, report);
+                if (window.position() == 0 && !endOfInput) {
+                    throw new IllegalArgumentException("line " + (report.lines + 1) + " is longer than " + mapSize + " bytes");
+                }
+                windowStart += window.position();
+            }
+            flush(output, out, report);
+        }
+
+        report.nanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /**
+     * transcodes everything from source into target, the channels are not closed
+     */
+    public Report transcode(ReadableByteChannel source, WritableByteChannel target) throws IOException, IllegalArgumentException {
+        Report report = new Report();
+        long start = System.nanoTime();
+
+        ByteBuffer input = ByteBuffer.allocateDirect(bufferSize);
+        ByteBuffer output = ByteBuffer.allocateDirect(bufferSize);
+        long inputStart = 0; // offset of the input buffer in the stream
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            endOfInput = source.read(input) < 0;
+            input.flip();
+
+            transcodeLines(input, inputStart, endOfInput, output, target, report);
+            if (!endOfInput && input.position() == 0 && input.limit() == input.capacity()) {
+                throw new IllegalArgumentException("line " + (report.lines + 1) + " is longer than " + bufferSize + " bytes");
+            }
+            inputStart += input.position();
+            input.compact();
+        }
+        flush(output, target, report);
+
+        report.nanos = System.nanoTime() - start;
+        return report;
+    }
+
+    // ----------------------------------------------------------
+
+    /**
+     * transcodes all complete lines from the position of input - or all lines up to the limit at the end of the input.
+     * The position of input is moved behind the last transcoded line.
+     */
+    private void transcodeLines(ByteBuffer input, long inputStart, boolean endOfInput,
+                                ByteBuffer output, WritableByteChannel target, Report report) throws IOException {
+        int lineStart = input.position();
+        int limit = input.limit();
+        for (int i = lineStart; i < limit; i++) {
+            if (input.get(i) == '\n') {
+                transcodeLine(input, lineStart, i, inputStart, output, target, report);
+                lineStart = i + 1;
+            }
+        }
+        if (endOfInput && lineStart < limit) { // last line without \n
+            transcodeLine(input, lineStart, limit, inputStart, output, target, report);
+            lineStart = limit;
+        }
+        report.bytesRead += lineStart - input.position();
+        input.position(lineStart);
+    }
+
+    private void transcodeLine(ByteBuffer input, int start, int end, long inputStart,
+                               ByteBuffer output, WritableByteChannel target, Report report) throws IOException {
+        report.lines++;
+        if (end > start && input.get(end - 1) == '\r') {
+            end--;
+        }
+        if (output.remaining() < MAX_OUTPUT_LINE) {
+            flush(output, target, report);
+        }
+
+        if (end > start) {
+            if (direction == Direction.ARABIC_TO_ROMAN) {
+                ENCODER.convertArabicNumber(parseArabicNumber(input, start, end, inputStart, report), output);
+            } else {
+                try {
+                    putArabicNumber(DECODER.convertRomanNumeral(input, start, end - start), output);
+                } catch (RomanNumeralFormatException e) {
+                    throw new RomanNumeralFormatException("line " + report.lines + ": " + e.getReason(), inputStart + e.getPosition());
+                }
+            }
+        }
+        output.put((byte) '\n');
+    }
+
+    private static int parseArabicNumber(ByteBuffer input, int start, int end, long inputStart, Report report) {
+        int arabicNumber = 0;
+        for (int i = start; i < end; i++) {
+            int digit = input.get(i) - '0';
+            if (digit < 0 || digit > 9 || arabicNumber > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+                throw new IllegalArgumentException("line " + report.lines + ": not an arabic number 1 - "
+                        + RomanNumeralEncoder.MAX_ARABIC_NUMBER + " at position " + (inputStart + start));
+            }
+            arabicNumber = arabicNumber * 10 + digit;
+        }
+        if (arabicNumber < RomanNumeralEncoder.MIN_ARABIC_NUMBER || arabicNumber > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+            throw new IllegalArgumentException("line " + report.lines + ": not an arabic number 1 - "
+                    + RomanNumeralEncoder.MAX_ARABIC_NUMBER + " at position " + (inputStart + start));
+        }
+        return arabicNumber;
+    }
+
+    // 1 - 3999 as ASCII digits, without Integer.toString
+    private static void putArabicNumber(int arabicNumber, ByteBuffer output) {
+        if (arabicNumber >= 1000) {
+            output.put((byte) ('0' + arabicNumber / 1000));
+        }
+        if (arabicNumber >= 100) {
+            output.put((byte) ('0' + arabicNumber / 100 % 10));
+        }
+        if (arabicNumber >= 10) {
+            output.put((byte) ('0' + arabicNumber / 10 % 10));
+        }
+        output.put((byte) ('0' + arabicNumber % 10));
+    }
+
+    private static void flush(ByteBuffer output, WritableByteChannel target, Report report) throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            report.bytesWritten += target.write(output);
+        }
+        output.clear();
+    }
+
+    /**
+     * what a transcode call did
+     */
+    public static final class Report {
+        private long lines;
+        private long bytesRead;
+        private long bytesWritten;
+        private long nanos;
+
+        public long getLines() {
+            return lines;
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public double getBytesReadPerSecond() {
+            return nanos == 0 ? 0 : bytesRead * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return lines + " lines, " + bytesRead + " bytes read, " + bytesWritten + " bytes written in "
+                    + nanos / 1000000 + " ms (" + (long) getBytesReadPerSecond() / 1024 + " KB/s)";
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package RomanNumbersSubstract;
+
+/*
+Accepts only the canonical roman numerals - exactly what RomanNumeralEncoder writes for 1 - 3999 -
+and computes the value in the same pass. IIII, VX, IC, MDCCCCLXXXX or MMMM are rejected
+(RomanNumeralDecoder is more lenient, see its class comment).
+
+Every magnitude of a canonical numeral is one of the roman digits of its range (upper, middle, lower):
+
+    "" | l | ll | lll | lm | m | ml | mll | mlll | lu          e.g. tens: XX, XL, LXX, XC
+
+and the magnitudes are written from thousands to ones. That grammar is compiled into a finite automaton
+when the class is loaded: per magnitude 8 states (what of the digit has been read so far),
+plus the start state and a dead state that every wrong character leads to, and never leaves.
+
+    state after     l     ll    lll   m     ml    mll   mlll  lm / lu
+                    L1    L2    L3    M     ML1   ML2   ML3   DONE
+
+From every state the next numeral either continues the digit (e.g. L1 --l--> L2) or starts a digit
+of a lower magnitude (e.g. L1 --X--> L1 of the tens, when L1 is in the hundreds).
+
+Each transition also has a weight, and the value of the numeral is the sum of the weights:
+l and m add their value, the second numeral of a pair adds the rest (lm: 3 * l, lu: 8 * l).
+
+The input bytes are mapped to 8 classes (I V X L C D M and "anything else"), so the loop is two table reads
+and an add per byte - no branch depending on the input:
+
+    transition = state * CLASSES + CLASS[b]
+    value     += WEIGHT[transition]
+    state      = NEXT[transition]
+
+At the end the numeral is canonical if the state is neither the start nor the dead state.
+ */
+public final class RomanNumeralValidator {
+
+    public static final RomanNumeralValidator INSTANCE = new RomanNumeralValidator();
+
+    // returned by validate for a non canonical numeral
+    public static final int INVALID = -1;
+
+    private static final int CLASSES = RomanSymbolIndex.SYMBOL_COUNT + 1; // class 0 = not a roman numeral, 1 - 7 = I - M
+    private static final byte[] CLASS = new byte[256];
+
+    // the states of one magnitude, see the class comment
+    private static final int L1 = 0, L2 = 1, L3 = 2, M = 3, ML1 = 4, ML2 = 5, ML3 = 6, DONE = 7;
+    private static final int STATES_PER_MAGNITUDE = 8;
+
+    private static final int DEAD = 0;
+    private static final int START = 1 + RomanDigitFragments.MAGNITUDES * STATES_PER_MAGNITUDE;
+    private static final int STATES = START + 1;
+
+    private static final byte[] NEXT = new byte[STATES * CLASSES];
+    private static final short[] WEIGHT = new short[STATES * CLASSES];
+
+    static {
+        for (int rank = 0; rank < RomanSymbolIndex.SYMBOL_COUNT; rank++) {
+            CLASS[RomanSymbolIndex.getSymbolByRank(rank)] = (byte) (rank + 1);
+        }
+
+        for (int magnitude = 1; magnitude <= RomanDigitFragments.MAGNITUDES; magnitude++) {
+            RomanDigitFragments.Range range = RomanDigitFragments.RANGES[magnitude - 1];
+            int lower = getValue(range.lower);
+
+            addTransition(state(magnitude, L1), range.lower, state(magnitude, L2), lower);
+            addTransition(state(magnitude, L2), range.lower, state(magnitude, L3), lower);
+            if (RomanDigitFragments.MAX_DIGIT[magnitude - 1] == 9) { // the thousands have no middle and upper numeral
+                int middle = getValue(range.middle);
+                addTransition(state(magnitude, L1), range.middle, state(magnitude, DONE), middle - 2 * lower);
+                addTransition(state(magnitude, L1), range.upper, state(magnitude, DONE), getValue(range.upper) - 2 * lower);
+                addTransition(state(magnitude, M), range.lower, state(magnitude, ML1), lower);
+                addTransition(state(magnitude, ML1), range.lower, state(magnitude, ML2), lower);
+                addTransition(state(magnitude, ML2), range.lower, state(magnitude, ML3), lower);
+            }
+
+            // every state of this magnitude (and the start, for the thousands) can go on with the lower magnitudes
+            for (int lowerMagnitude = magnitude - 1; lowerMagnitude >= 1; lowerMagnitude--) {
+                for (int s = L1; s <= DONE; s++) {
+                    addStartTransitions(state(magnitude, s), lowerMagnitude);
+                }
+            }
+        }
+        for (int magnitude = RomanDigitFragments.MAGNITUDES; magnitude >= 1; magnitude--) {
+            addStartTransitions(START, magnitude);
+        }
+    }
+
+    // ****
+    // main
+    // ****
+
+    /**
+     * @param romanNumeral byte[] ASCII characters
+     * @return int the value of the numeral, or INVALID if it isn't canonical (or empty)
+     */
+    public int validate(byte[] romanNumeral, int offset, int length) throws IllegalArgumentException {
+        checkSlice(romanNumeral, offset, length);
+
+        int state = START;
+        int value = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int transition = state * CLASSES + CLASS[romanNumeral[i] & 0xFF];
+            value += WEIGHT[transition];
+            state = NEXT[transition];
+        }
+        return state == DEAD || state == START ? INVALID : value;
+    }
+
+    public boolean isCanonical(byte[] romanNumeral, int offset, int length) throws IllegalArgumentException {
+        return validate(romanNumeral, offset, length) != INVALID;
+    }
+
+    /**
+     * like validate, but a non canonical numeral is an exception that tells the first wrong position
+     */
+    public int convertRomanNumeral(byte[] romanNumeral, int offset, int length) throws RomanNumeralFormatException {
+        int value = validate(romanNumeral, offset, length);
+        if (value == INVALID) {
+            throw new RomanNumeralFormatException("not a canonical roman numeral", getErrorPosition(romanNumeral, offset, length));
+        }
+        return value;
+    }
+
+    // ----------------------------------------------------------
+
+    private static void checkSlice(byte[] romanNumeral, int offset, int length) {
+        if (romanNumeral == null || offset < 0 || length < 0 || offset > romanNumeral.length - length) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    // ---
+    // the automaton one symbol at a time, for callers that find the end of a numeral themselves (RomanNumeralScanner).
+    // The state and the value so far are packed into one int, value << 8 | state:
+    //     step = FIRST_STEP;  for every symbol: step = step(step, symbol);  getStepValue(step)
+
+    static final int FIRST_STEP = START;
+
+    /**
+     * @param symbol int an ASCII character
+     */
+    static int step(int step, int symbol) {
+        int transition = (step & 0xFF) * CLASSES + CLASS[symbol & 0xFF];
+        return ((step & ~0xFF) + (WEIGHT[transition] << 8)) | NEXT[transition];
+    }
+
+    // once dead, no further symbol makes the numeral canonical
+    static boolean isDead(int step) {
+        return (step & 0xFF) == DEAD;
+    }
+
+    /**
+     * @return int the value of the symbols so far, INVALID if they aren't a canonical numeral
+     */
+    static int getStepValue(int step) {
+        int state = step & 0xFF;
+        return state == DEAD || state == START ? INVALID : step >>> 8;
+    }
+
+    // only on the error path: runs the automaton again until it dies
+    private static int getErrorPosition(byte[] romanNumeral, int offset, int length) {
+        int state = START;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            state = NEXT[state * CLASSES + CLASS[romanNumeral[i] & 0xFF]];
+            if (state == DEAD) {
+                return i;
+            }
+        }
+        return offset + length; // the numeral ended too early (empty)
+    }
+
+    private static int state(int magnitude, int stateInMagnitude) {
+        return 1 + (magnitude - 1) * STATES_PER_MAGNITUDE + stateInMagnitude;
+    }
+
+    // the first numeral of a digit of magnitude: l or m
+    private static void addStartTransitions(int from, int magnitude) {
+        RomanDigitFragments.Range range = RomanDigitFragments.RANGES[magnitude - 1];
+        addTransition(from, range.lower, state(magnitude, L1), getValue(range.lower));
+        if (RomanDigitFragments.MAX_DIGIT[magnitude - 1] == 9) {
+            addTransition(from, range.middle, state(magnitude, M), getValue(range.middle));
+        }
+    }
+
+    private static void addTransition(int from, char numeral, int to, int weight) {
+        int transition = from * CLASSES + CLASS[numeral];
+        if (NEXT[transition] != DEAD) { // the grammar must be deterministic
+            throw new IllegalStateException("two transitions for " + numeral + " from state " + from);
+        }
+        NEXT[transition] = (byte) to;
+        WEIGHT[transition] = (short) weight;
+    }
+
+    private static int getValue(char numeral) {
+        return RomanSymbolIndex.getValue(numeral);
+    }
+}
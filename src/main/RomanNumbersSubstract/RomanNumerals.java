@@ -1,9 +1,5 @@
 package RomanNumbersSubstract;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.TreeMap;
-
 /*
 The Romans wrote numbers using letters - I, V, X, L, C, D, M. (notice these letters have lots of straight lines and are hence easy to hack into stone tablets)
 The Kata says you should write a function to convert from normal numbers to Roman Numerals: eg
@@ -43,40 +39,35 @@ einem größeren Zeichen vorangestellt.
  */
 public class RomanNumerals {
 
-    private static final TreeMap<Integer,String> romanNumberToArabic;
-    static {
-        romanNumberToArabic = new TreeMap<Integer,String>();
-        //
-        romanNumberToArabic.put(1000,"M");
-        romanNumberToArabic.put(500,"D"); // middle between 1000 and 100
-        romanNumberToArabic.put(100,"C");
-        romanNumberToArabic.put(50,"L"); // middle between 100 and 10
-        romanNumberToArabic.put(10,"X");
-        romanNumberToArabic.put(5,"V"); // middle between 10 and 1
-        romanNumberToArabic.put(1,"I");
-    }
-    private Map<Integer, RomanNumeralRange> romanNumeralRangeInArabicNumbersByMagnitude;
+    // the symbols are looked up in RomanSymbolIndex (1000 -> "M", 500 -> "D", ...), there's no symbol for 5000 and 10000
+
     // constants: the values are important for convertArabicNumber. It references the proper range by value.
     public static final int ROMAN_NUMERAL_RANGE_1 = 1;
     public static final int ROMAN_NUMERAL_RANGE_2 = 2;
     public static final int ROMAN_NUMERAL_RANGE_3 = 3;
     public static final int ROMAN_NUMERAL_RANGE_4 = 4;
 
+    // index = magnitude (ROMAN_NUMERAL_RANGE_1 .. ROMAN_NUMERAL_RANGE_4), index 0 is unused.
+    // the ranges never change, so all instances share them - creating a RomanNumerals allocates nothing but itself
+    private static final RomanNumeralRange[] romanNumeralRangeInArabicNumbersByMagnitude = new RomanNumeralRange[ROMAN_NUMERAL_RANGE_4 + 1];
+
 
     private String arabicNumberString;
     private int romanMagnitude;
 
-    public RomanNumerals() {
+    static {
 
-        // the reverse order is important, the algorithm in convertArabicNumber expects it descending!
-        romanNumeralRangeInArabicNumbersByMagnitude = new TreeMap<>(Collections.reverseOrder());
-        romanNumeralRangeInArabicNumbersByMagnitude.put(ROMAN_NUMERAL_RANGE_4, new RomanNumeralRange(10000, 5000, 1000)); // this is the range that covers numbers 1000 - 3000. We could go upto 10000 without any change!
-        romanNumeralRangeInArabicNumbersByMagnitude.put(ROMAN_NUMERAL_RANGE_3, new RomanNumeralRange(1000, 500, 100));
-        romanNumeralRangeInArabicNumbersByMagnitude.put(ROMAN_NUMERAL_RANGE_2, new RomanNumeralRange(100, 50, 10));
-        romanNumeralRangeInArabicNumbersByMagnitude.put(ROMAN_NUMERAL_RANGE_1, new RomanNumeralRange(10, 5, 1));
+        // indexed by magnitude, getNextRomanNumeralRange counts the magnitude down
+        romanNumeralRangeInArabicNumbersByMagnitude[ROMAN_NUMERAL_RANGE_4] = new RomanNumeralRange(10000, 5000, 1000); // this is the range that covers numbers 1000 - 3000. We could go upto 10000 without any change!
+        romanNumeralRangeInArabicNumbersByMagnitude[ROMAN_NUMERAL_RANGE_3] = new RomanNumeralRange(1000, 500, 100);
+        romanNumeralRangeInArabicNumbersByMagnitude[ROMAN_NUMERAL_RANGE_2] = new RomanNumeralRange(100, 50, 10);
+        romanNumeralRangeInArabicNumbersByMagnitude[ROMAN_NUMERAL_RANGE_1] = new RomanNumeralRange(10, 5, 1);
 
     }
 
+    public RomanNumerals() {
+    }
+
     // ****
     // main
     // ****
@@ -96,7 +87,7 @@ public class RomanNumerals {
 
         // loop through the digits of the arabic number and convert each arabic digit into roman number
 
-        arabicNumberString = new Integer(arabicNumber).toString();
+        arabicNumberString = Integer.toString(arabicNumber);
 
         initRomanMagnitudeCounter(arabicNumberString); // eg. 322 -> 3 digits -> magnitude 3 -> range 1000,500,100; magnitude 2 -> range 1000,500,100
 
@@ -134,7 +125,7 @@ public class RomanNumerals {
     }
 
     private RomanNumeralRange getNextRomanNumeralRange() {
-        return romanNumeralRangeInArabicNumbersByMagnitude.get(romanMagnitude--);
+        return romanNumeralRangeInArabicNumbersByMagnitude[romanMagnitude--];
     }
 
     // ---------------------------------------------------------
@@ -256,7 +247,7 @@ public class RomanNumerals {
 
     private String subtractFromUpperLimit(RomanNumeralRange r, int amount) {
         String termToPlaceLeftMeaningSubtract = getTermToPlaceLeftOrRightForAddingOrSubtracting(r, amount);
-        String baseRomanValue = romanNumberToArabic.get(r.upperLimit);
+        String baseRomanValue = getArabicNumber(r.upperLimit);
         return termToPlaceLeftMeaningSubtract + baseRomanValue;
     }
 
@@ -273,7 +264,7 @@ public class RomanNumerals {
     }
 
     private String getArabicNumber(int limit) {
-        return romanNumberToArabic.get(limit);
+        return RomanSymbolIndex.getSymbolString(limit);
     }
 
     private String addToLowerLimit(RomanNumeralRange r, int amount) {
@@ -321,7 +312,7 @@ public class RomanNumerals {
      *
      * In the example above: 654 has the baseValue 500, and we add 100 to compute the roman representation.
      */
-    class RomanNumeralRange {
+    static class RomanNumeralRange {
         // implement addToLowerLimit etc. as method here.
 
         int upperLimit;
@@ -337,16 +328,16 @@ public class RomanNumerals {
     }
 
     private RomanNumeralRange getBlock1000() {
-        return this.romanNumeralRangeInArabicNumbersByMagnitude.get(ROMAN_NUMERAL_RANGE_4); // should we rename this to ROMAN_NUMERAL_RANGE_1000?
+        return romanNumeralRangeInArabicNumbersByMagnitude[ROMAN_NUMERAL_RANGE_4]; // should we rename this to ROMAN_NUMERAL_RANGE_1000?
     }
     private RomanNumeralRange getBlock100() {
-        return this.romanNumeralRangeInArabicNumbersByMagnitude.get(ROMAN_NUMERAL_RANGE_3);
+        return romanNumeralRangeInArabicNumbersByMagnitude[ROMAN_NUMERAL_RANGE_3];
     }
     private RomanNumeralRange getBlock10() {
-        return this.romanNumeralRangeInArabicNumbersByMagnitude.get(ROMAN_NUMERAL_RANGE_2);
+        return romanNumeralRangeInArabicNumbersByMagnitude[ROMAN_NUMERAL_RANGE_2];
     }
     private RomanNumeralRange getBlock1() {
-        return this.romanNumeralRangeInArabicNumbersByMagnitude.get(ROMAN_NUMERAL_RANGE_1);
+        return romanNumeralRangeInArabicNumbersByMagnitude[ROMAN_NUMERAL_RANGE_1];
     }
 }
 
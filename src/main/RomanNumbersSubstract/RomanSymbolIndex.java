@@ -0,0 +1,92 @@
+package RomanNumbersSubstract;
+
+/*
+The 7 roman symbols and their values, looked up in both directions without boxing:
+
+    symbol -> value:  VALUE_BY_SYMBOL['X'] = 10      (indexed by the char, 128 entries for ASCII)
+    value -> symbol:  SYMBOL_BY_VALUE[10]  = 'X'     (indexed by the value, 0 - 1000)
+
+Both tables are constant arrays, generated at build time (RomanTables, see RomanTablesGenerator in src/codegen)
+and never changed, so every lookup is one bounds check and one array read - no TreeMap, no Integer,
+safe for any number of threads.
+
+Besides the converters of this package it's meant for everybody who writes an own tokenizer, e.g.
+
+    int value = RomanSymbolIndex.getValue(c);
+    if (value == RomanSymbolIndex.NO_VALUE) { ... not a roman numeral ... }
+ */
+public final class RomanSymbolIndex {
+
+    public static final int NO_VALUE = 0;
+    public static final char NO_SYMBOL = '\0';
+
+    public static final int MAX_VALUE = 1000;
+
+    // ascending, rank = index
+    private static final char[] SYMBOLS = RomanTables.SYMBOLS;
+    private static final int[] VALUES = RomanTables.VALUES;
+
+    public static final int SYMBOL_COUNT = SYMBOLS.length;
+
+    private static final int[] VALUE_BY_SYMBOL = RomanTables.VALUE_BY_SYMBOL;
+    private static final char[] SYMBOL_BY_VALUE = RomanTables.SYMBOL_BY_VALUE;
+    // the (interned) String literals of RomanTables.SYMBOL_STRINGS, indexed by the value like SYMBOL_BY_VALUE
+    private static final String[] SYMBOL_STRING_BY_VALUE = new String[MAX_VALUE + 1];
+    static {
+        for (int rank = 0; rank < SYMBOL_COUNT; rank++) {
+            SYMBOL_STRING_BY_VALUE[VALUES[rank]] = RomanTables.SYMBOL_STRINGS[rank];
+        }
+    }
+
+    private RomanSymbolIndex() {
+    }
+
+    /**
+     * @param symbol int a char or an (unsigned) ASCII byte
+     * @return int the value of symbol, NO_VALUE if it isn't a roman symbol
+     */
+    public static int getValue(int symbol) {
+        return symbol >= 0 && symbol < VALUE_BY_SYMBOL.length ? VALUE_BY_SYMBOL[symbol] : NO_VALUE;
+    }
+
+    public static boolean isSymbol(int symbol) {
+        return getValue(symbol) != NO_VALUE;
+    }
+
+    /**
+     * @param value int 1, 5, 10, 50, 100, 500 or 1000
+     * @return char the symbol of value, NO_SYMBOL for any other value
+     */
+    public static char getSymbol(int value) {
+        return value >= 0 && value <= MAX_VALUE ? SYMBOL_BY_VALUE[value] : NO_SYMBOL;
+    }
+
+    /**
+     * the same as getSymbol, as a (shared, interned) String
+     *
+     * @return String the symbol of value, null for any other value
+     */
+    public static String getSymbolString(int value) {
+        return value >= 0 && value <= MAX_VALUE ? SYMBOL_STRING_BY_VALUE[value] : null;
+    }
+
+    /**
+     * @param rank int 0 (I) - SYMBOL_COUNT - 1 (M)
+     */
+    public static char getSymbolByRank(int rank) {
+        if (rank < 0 || rank >= SYMBOL_COUNT) {
+            throw new IllegalArgumentException();
+        }
+        return SYMBOLS[rank];
+    }
+
+    /**
+     * @param rank int 0 (1) - SYMBOL_COUNT - 1 (1000)
+     */
+    public static int getValueByRank(int rank) {
+        if (rank < 0 || rank >= SYMBOL_COUNT) {
+            throw new IllegalArgumentException();
+        }
+        return VALUES[rank];
+    }
+}
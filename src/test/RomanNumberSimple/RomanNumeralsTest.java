@@ -1,5 +1,6 @@
 package RomanNumberSimple;
 
+import RomanNumbersSubstract.RomanNumeralEncoder;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -66,4 +67,39 @@ public class RomanNumeralsTest {
         assertEquals("X", r.convertArabic(10));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test4000toMMMM() throws Exception {
+        assertEquals("MMMM", r.convertArabic(4000));
+    }
+
+    @Test
+    public void testZeroAndNegativeToEmpty() throws Exception {
+        assertEquals("", r.convertArabic(0));
+        assertEquals("", r.convertArabic(-1));
+    }
+
+    // subtractive style
+
+    @Test
+    public void testSubtractive1990toMCMXC() throws Exception {
+        assertEquals("MCMXC", new RomanNumerals(RomanNumerals.Style.SUBTRACTIVE).convertArabic(1990));
+    }
+
+    @Test
+    public void testSubtractive3999toMMMCMXCIX() throws Exception {
+        assertEquals("MMMCMXCIX", new RomanNumerals(RomanNumerals.Style.SUBTRACTIVE).convertArabic(3999));
+    }
+
+    @Test
+    public void testSubtractiveAllNumbersLikeRomanNumeralEncoder() throws Exception {
+        RomanNumerals subtractive = new RomanNumerals(RomanNumerals.Style.SUBTRACTIVE);
+        for (int i = RomanNumeralEncoder.MIN_ARABIC_NUMBER; i <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; i++) {
+            assertEquals(RomanNumeralEncoder.INSTANCE.convertArabicNumber(i), subtractive.convertArabic(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullStyleThrowsException() throws Exception {
+        new RomanNumerals(null);
+    }
+}
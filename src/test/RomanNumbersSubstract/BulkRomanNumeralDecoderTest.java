@@ -0,0 +1,115 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+public class BulkRomanNumeralDecoderTest {
+
+    @Test
+    public void testBestImplementationIsSelected() throws Exception {
+        assertNotNull(BulkRomanNumeralDecoder.getBestImplementation());
+        assertEquals(BulkRomanNumeralDecoder.getBestImplementation(), new BulkRomanNumeralDecoder().getImplementation());
+    }
+
+    // Acceptance Tests
+
+    @Test
+    public void testScalar() throws Exception {
+        assertAcceptance(new BulkRomanNumeralDecoder(BulkRomanNumeralDecoder.Implementation.SCALAR));
+    }
+
+    @Test
+    public void testVector() throws Exception {
+        assertAcceptance(vector());
+    }
+
+    @Test
+    public void testAllNumbersAllWidthsScalar() throws Exception {
+        assertAllNumbers(new BulkRomanNumeralDecoder(BulkRomanNumeralDecoder.Implementation.SCALAR));
+    }
+
+    @Test
+    public void testAllNumbersAllWidthsVector() throws Exception {
+        assertAllNumbers(vector());
+    }
+
+    @Test
+    public void testErrorsScalar() throws Exception {
+        assertErrors(new BulkRomanNumeralDecoder(BulkRomanNumeralDecoder.Implementation.SCALAR));
+    }
+
+    @Test
+    public void testErrorsVector() throws Exception {
+        assertErrors(vector());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testColumnNotMultipleOfWidthThrowsException() throws Exception {
+        new BulkRomanNumeralDecoder().convertRomanNumerals(new byte[17], 16);
+    }
+
+    // ----------------------------------------------------------
+
+    private static BulkRomanNumeralDecoder vector() {
+        assumeTrue("Vector API not available", BulkRomanNumeralDecoder.getBestImplementation() == BulkRomanNumeralDecoder.Implementation.VECTOR);
+        return new BulkRomanNumeralDecoder(BulkRomanNumeralDecoder.Implementation.VECTOR);
+    }
+
+    private static void assertAcceptance(BulkRomanNumeralDecoder decoder) {
+        assertArrayEquals(new int[]{1990, 2008, 4, 3888}, decoder.convertRomanNumerals(column(16, "MCMXC", "MMVIII", "IV", "MMMDCCCLXXXVIII"), 16));
+    }
+
+    // every number in every width from 15 (the longest numeral) to 40 (wider than any vector), in one column
+    private static void assertAllNumbers(BulkRomanNumeralDecoder decoder) {
+        String[] romanNumerals = new String[RomanNumeralEncoder.MAX_ARABIC_NUMBER];
+        int[] expected = new int[romanNumerals.length];
+        for (int i = 0; i < romanNumerals.length; i++) {
+            expected[i] = i + 1;
+            romanNumerals[i] = RomanNumeralEncoder.INSTANCE.convertArabicNumber(expected[i]);
+        }
+        for (int width = RomanDigitFragments.MAX_ROMAN_LENGTH; width <= 40; width++) {
+            assertArrayEquals("width " + width, expected, decoder.convertRomanNumerals(column(width, romanNumerals), width));
+        }
+
+        // an offset into the column and into the values
+        int[] values = new int[5];
+        decoder.convertRomanNumerals(column(16, "IV", "MCMXC", "MMVIII", "X"), 16, 16, 2, values, 3);
+        assertArrayEquals(new int[]{0, 0, 0, 1990, 2008}, values);
+    }
+
+    private static void assertErrors(BulkRomanNumeralDecoder decoder) {
+        assertError(decoder, 16 + 2, "MCMXC", "MMaIII");      // no roman numeral
+        assertError(decoder, 16 + 5, "MCMXC", "MMVI I");      // numeral behind the padding
+        assertError(decoder, 16, "MCMXC", "");                // empty
+        assertError(decoder, 16, "MCMXC", "MMMM");            // > 3999
+        assertError(decoder, 0, "MCMXCMCMXCMCMXCX");          // the whole row is used, > 3999
+    }
+
+    private static void assertError(BulkRomanNumeralDecoder decoder, int position, String... romanNumerals) {
+        int[] values = new int[romanNumerals.length];
+        try {
+            decoder.convertRomanNumerals(column(16, romanNumerals), 0, 16, romanNumerals.length, values, 0);
+            fail(Arrays.toString(romanNumerals) + " should be rejected");
+        } catch (RomanNumeralFormatException e) {
+            assertEquals(Arrays.toString(romanNumerals), position, e.getPosition());
+        }
+    }
+
+    private static byte[] column(int width, String... romanNumerals) {
+        byte[] column = new byte[width * romanNumerals.length];
+        Arrays.fill(column, BulkRomanNumeralDecoder.PAD);
+        for (int i = 0; i < romanNumerals.length; i++) {
+            byte[] bytes = romanNumerals[i].getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(bytes, 0, column, i * width, bytes.length);
+        }
+        return column;
+    }
+}
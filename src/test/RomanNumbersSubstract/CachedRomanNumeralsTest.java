@@ -0,0 +1,58 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CachedRomanNumeralsTest {
+
+    @Test
+    public void test1990toMCMXC() throws Exception { assertEquals("MCMXC", new CachedRomanNumerals().convertArabicNumber(1990));}
+
+    @Test
+    public void testAllNumbersLikeRomanNumerals() throws Exception {
+        RomanNumerals romanNumerals = new RomanNumerals();
+        CachedRomanNumerals eager = new CachedRomanNumerals(CachedRomanNumerals.Population.EAGER);
+        CachedRomanNumerals lazy = new CachedRomanNumerals(CachedRomanNumerals.Population.LAZY);
+        for (int i = RomanNumeralEncoder.MIN_ARABIC_NUMBER; i <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; i++) {
+            assertEquals("arabic number " + i, romanNumerals.convertArabicNumber(i), eager.convertArabicNumber(i));
+            assertEquals("arabic number " + i, romanNumerals.convertArabicNumber(i), lazy.convertArabicNumber(i));
+        }
+    }
+
+    @Test
+    public void testSameStringEveryTime() throws Exception {
+        CachedRomanNumerals eager = new CachedRomanNumerals(CachedRomanNumerals.Population.EAGER);
+        CachedRomanNumerals lazy = new CachedRomanNumerals(CachedRomanNumerals.Population.LAZY);
+        assertSame(eager.convertArabicNumber(3888), eager.convertArabicNumber(3888));
+        assertSame(lazy.convertArabicNumber(3888), lazy.convertArabicNumber(3888));
+        assertSame(eager.convertArabicNumber(3888), lazy.convertArabicNumber(3888)); // interned
+    }
+
+    @Test
+    public void testLazyFillsOnDemand() throws Exception {
+        CachedRomanNumerals lazy = new CachedRomanNumerals(CachedRomanNumerals.Population.LAZY);
+        assertEquals(0, lazy.getCachedCount());
+        lazy.convertArabicNumber(7);
+        lazy.convertArabicNumber(7);
+        lazy.convertArabicNumber(1990);
+        assertEquals(2, lazy.getCachedCount());
+    }
+
+    @Test
+    public void testFootprint() throws Exception {
+        CachedRomanNumerals eager = new CachedRomanNumerals(CachedRomanNumerals.Population.EAGER);
+        CachedRomanNumerals lazy = new CachedRomanNumerals(CachedRomanNumerals.Population.LAZY);
+        assertEquals(RomanNumeralEncoder.MAX_ARABIC_NUMBER, eager.getCachedCount());
+        assertTrue(eager.estimateFootprintBytes() > 150000 && eager.estimateFootprintBytes() < 300000);
+        assertEquals(16016, lazy.estimateFootprintBytes()); // only the array
+    }
+
+    // illegal values
+    @Test(expected = IllegalArgumentException.class)
+    public void test0throwsException() throws Exception { new CachedRomanNumerals(CachedRomanNumerals.Population.LAZY).convertArabicNumber(0); }
+    @Test(expected = IllegalArgumentException.class)
+    public void test4000throwsException() throws Exception { new CachedRomanNumerals().convertArabicNumber(4000); }
+}
@@ -0,0 +1,117 @@
+package RomanNumbersSubstract;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ExtendedRomanNumeralsTest {
+
+    private static final String LINE = String.valueOf(ExtendedRomanNumerals.VINCULUM);
+
+    ExtendedRomanNumerals romanNumerals;
+
+    @Before
+    public void setUp() throws Exception {
+        romanNumerals = new ExtendedRomanNumerals();
+    }
+
+    // Acceptance Tests
+
+    @Test
+    public void test1990toMCMXC() throws Exception { assertEquals("MCMXC", romanNumerals.convertArabicNumber(1990));}
+    @Test
+    public void test4000() throws Exception { assertEquals(overline("IV", 1), romanNumerals.convertArabicNumber(4000));}
+    @Test
+    public void test12345() throws Exception { assertEquals(overline("XII", 1) + "CCCXLV", romanNumerals.convertArabicNumber(12345));}
+    @Test
+    public void test5000000() throws Exception { assertEquals(overline("V", 2), romanNumerals.convertArabicNumber(5000000));}
+    @Test
+    public void test3999000() throws Exception { assertEquals(overline("MMMCMXCIX", 1), romanNumerals.convertArabicNumber(3999000));}
+    @Test
+    public void test5000000003() throws Exception { assertEquals(overline("V", 3) + "III", romanNumerals.convertArabicNumber(5000000003L));}
+
+    @Test
+    public void testAllNumbersUpTo3999AsBefore() throws Exception {
+        RomanNumerals simple = new RomanNumerals();
+        for (int i = RomanNumeralEncoder.MIN_ARABIC_NUMBER; i <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; i++) {
+            String romanNumeral = simple.convertArabicNumber(i);
+            assertEquals(romanNumeral, romanNumerals.convertArabicNumber(i));
+            assertEquals(i, romanNumerals.convertRomanNumeral(romanNumeral));
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        for (long i = 3990; i <= 1000000; i += 7) {
+            assertRoundTrip(i);
+        }
+        for (long i = 1; i > 0 && i < Long.MAX_VALUE / 3; i = i * 3 + 1) {
+            assertRoundTrip(i);
+        }
+        assertRoundTrip(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testAppendToStringBuilder() throws Exception {
+        StringBuilder romanNumber = new StringBuilder("year ");
+        assertEquals("year " + overline("IV", 1) + "I", romanNumerals.convertArabicNumber(4001, romanNumber).toString());
+    }
+
+    // illegal values
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroThrowsException() throws Exception {
+        romanNumerals.convertArabicNumber(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeThrowsException() throws Exception {
+        romanNumerals.convertArabicNumber(-4000);
+    }
+
+    // the low 32 bits are 1, the (int) of the fast path would make it I
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLongThrowsException() throws Exception {
+        romanNumerals.convertArabicNumber(-4294967295L);
+    }
+
+    @Test
+    public void testIllegalNumerals() throws Exception {
+        assertError(overline("I", 1), 0);                      // 1000 is M
+        assertError(overline("III", 1), 0);                    // 3000 is MMM
+        assertError("I" + overline("V", 1), 2);                // fast path: the line is no numeral
+        assertError(overline("V", 1) + overline("X", 2), 2);  // more lines on the lower group
+        assertError(overline("IV", 1) + "M", 4);               // only the highest group may use M
+        assertError(overline("VV", 1), 2);
+        assertError(LINE + "V", 0);
+        assertError(overline("IX", 7), 0);                     // > Long.MAX_VALUE
+    }
+
+    private void assertRoundTrip(long arabicNumber) {
+        String romanNumeral = romanNumerals.convertArabicNumber(arabicNumber);
+        assertEquals(romanNumeral, arabicNumber, romanNumerals.convertRomanNumeral(romanNumeral));
+    }
+
+    private void assertError(String romanNumeral, int position) {
+        try {
+            romanNumerals.convertRomanNumeral(romanNumeral);
+            fail(romanNumeral + " should be rejected");
+        } catch (RomanNumeralFormatException e) {
+            assertEquals(romanNumeral, position, e.getPosition());
+        }
+    }
+
+    // every numeral of romanNumeral with level lines
+    private static String overline(String romanNumeral, int level) {
+        StringBuilder result = new StringBuilder();
+        for (char c : romanNumeral.toCharArray()) {
+            result.append(c);
+            for (int i = 0; i < level; i++) {
+                result.append(LINE);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,148 @@
+package RomanNumbersSubstract;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class InstrumentedRomanNumeralsTest {
+
+    InstrumentedRomanNumerals romanNumerals;
+
+    @Before
+    public void setUp() throws Exception {
+        romanNumerals = new InstrumentedRomanNumerals(new CachedRomanNumerals(CachedRomanNumerals.Population.LAZY));
+        romanNumerals.setEnabled(true);
+    }
+
+    @Test
+    public void testConversionsAsBefore() throws Exception {
+        assertEquals("MCMXC", romanNumerals.convertArabicNumber(1990));
+        assertEquals(2008, romanNumerals.convertRomanNumeral("MMVIII"));
+    }
+
+    @Test
+    public void testCountsCallsAndCacheHits() throws Exception {
+        romanNumerals.convertArabicNumber(1990);
+        romanNumerals.convertArabicNumber(1990);
+        romanNumerals.convertArabicNumber(4);
+
+        ConversionMetrics.Snapshot snapshot = romanNumerals.getEncoderMetrics().snapshot();
+        assertEquals(3, snapshot.getCalls());
+        assertEquals(0, snapshot.getRejected());
+        assertEquals(1, snapshot.getCacheHits());
+        assertEquals(2, snapshot.getCacheMisses());
+        assertEquals(1 / 3.0, snapshot.getCacheHitRatio(), 1e-9);
+
+        long[] values = snapshot.getValueDistribution();
+        assertEquals(ConversionMetrics.VALUE_BUCKETS, values.length);
+        assertEquals(1, values[0]);
+        assertEquals(2, values[19]);
+        assertTrue(snapshot.getLatencyPercentileNanos(50) <= snapshot.getLatencyPercentileNanos(100));
+    }
+
+    @Test
+    public void testCountsRejected() throws Exception {
+        try {
+            romanNumerals.convertArabicNumber(4000);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            romanNumerals.convertRomanNumeral("MMMM");
+            fail();
+        } catch (RomanNumeralFormatException expected) {
+        }
+        assertEquals(1, romanNumerals.getEncoderMetrics().getRejected());
+        assertEquals(0, romanNumerals.getEncoderMetrics().getCacheMisses());
+        assertEquals(1, romanNumerals.getDecoderMetrics().getCalls());
+        assertEquals(1, romanNumerals.getDecoderMetrics().getRejected());
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() throws Exception {
+        romanNumerals.setEnabled(false);
+        romanNumerals.convertArabicNumber(1990);
+        romanNumerals.convertRomanNumeral("MCMXC");
+        assertFalse(romanNumerals.isEnabled());
+        assertEquals(0, romanNumerals.getEncoderMetrics().getCalls());
+        assertEquals(0, romanNumerals.getDecoderMetrics().getCalls());
+    }
+
+    @Test
+    public void testManyThreads() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = RomanNumeralEncoder.MIN_ARABIC_NUMBER; i <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; i++) {
+                    romanNumerals.convertRomanNumeral(romanNumerals.convertArabicNumber(i));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        ConversionMetrics.Snapshot snapshot = romanNumerals.getEncoderMetrics().snapshot();
+        assertEquals(4 * 3999, snapshot.getCalls());
+        assertEquals(4 * 3999, snapshot.getCacheHits() + snapshot.getCacheMisses());
+        assertEquals(4 * 3999, romanNumerals.getDecoderMetrics().getCalls());
+        assertEquals(4 * 99, snapshot.getValueDistribution()[0]);
+        assertEquals(4 * 100, snapshot.getValueDistribution()[39]);
+    }
+
+    @Test
+    public void testMBeans() throws Exception {
+        romanNumerals.convertArabicNumber(1990);
+        romanNumerals.registerMBeans("test");
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("RomanNumbersSubstract:type=ConversionMetrics,name=\"test\",conversion=encode");
+            assertEquals(1L, server.getAttribute(name, "Calls"));
+            assertEquals(1L, server.getAttribute(name, "CacheMisses"));
+        } finally {
+            romanNumerals.unregisterMBeans("test");
+        }
+    }
+
+    // latency buckets
+
+    @Test
+    public void testLatencyBuckets() throws Exception {
+        for (long nanos = 0; nanos < 100000; nanos++) {
+            int bucket = LatencyHistogram.getBucket(nanos);
+            long upperBound = LatencyHistogram.getUpperBound(bucket);
+            assertTrue(nanos + " <= " + upperBound, nanos <= upperBound);
+            assertTrue(nanos + " bucket too wide", upperBound - nanos <= nanos / 8);
+            assertEquals(bucket + 1, LatencyHistogram.getBucket(upperBound + 1));
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.getUpperBound(LatencyHistogram.BUCKETS - 1));
+    }
+
+    @Test
+    public void testLatencyPercentiles() throws Exception {
+        long[] counts = new long[LatencyHistogram.BUCKETS];
+        counts[LatencyHistogram.getBucket(10)] = 90;
+        counts[LatencyHistogram.getBucket(1000)] = 9;
+        counts[LatencyHistogram.getBucket(100000)] = 1;
+        ConversionMetrics.Snapshot snapshot = new ConversionMetrics.Snapshot("test", 100, 0, 0, 0, counts, new long[0]);
+
+        assertEquals(10, snapshot.getLatencyPercentileNanos(50));
+        assertEquals(10, snapshot.getLatencyPercentileNanos(90));
+        assertEquals(LatencyHistogram.getUpperBound(LatencyHistogram.getBucket(1000)), snapshot.getLatencyPercentileNanos(99));
+        assertEquals(LatencyHistogram.getUpperBound(LatencyHistogram.getBucket(100000)), snapshot.getLatencyPercentileNanos(100));
+        assertArrayEquals(new long[0], snapshot.getValueDistribution());
+    }
+}
@@ -0,0 +1,116 @@
+package RomanNumbersSubstract;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ParallelRomanNumeralsTest {
+
+    ForkJoinPool pool;
+    ParallelRomanNumerals parallel;
+    RomanNumeralEncoder encoder;
+    int[] arabicNumbers;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = new ForkJoinPool(4);
+        parallel = new ParallelRomanNumerals(pool, 7); // small threshold, so that there are many parts
+        encoder = new RomanNumeralEncoder();
+
+        Random random = new Random(42);
+        arabicNumbers = new int[10000];
+        for (int i = 0; i < arabicNumbers.length; i++) {
+            arabicNumbers[i] = 1 + random.nextInt(RomanNumeralEncoder.MAX_ARABIC_NUMBER);
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testArrayToStrings() throws Exception {
+        String[] romanNumbers = parallel.convertArabicNumbers(arabicNumbers);
+        assertEquals(arabicNumbers.length, romanNumbers.length);
+        for (int i = 0; i < arabicNumbers.length; i++) {
+            assertEquals(encoder.convertArabicNumber(arabicNumbers[i]), romanNumbers[i]);
+        }
+    }
+
+    @Test
+    public void testRangeToStrings() throws Exception {
+        String[] romanNumbers = parallel.convertRange(1, RomanNumeralEncoder.MAX_ARABIC_NUMBER);
+        for (int i = 0; i < romanNumbers.length; i++) {
+            assertEquals(encoder.convertArabicNumber(i + 1), romanNumbers[i]);
+        }
+        assertArrayEquals(new String[]{"MCMXC", "MCMXCI"}, parallel.convertRange(1990, 1991));
+    }
+
+    @Test
+    public void testArrayToCharArrayLikeSequential() throws Exception {
+        String expected = encoder.convertArabicNumbers(arabicNumbers, ',', new StringBuilder()).toString();
+        char[] romanNumbers = new char[expected.length() + 3];
+        assertEquals(expected.length(), parallel.convertArabicNumbers(arabicNumbers, ',', romanNumbers, 3));
+        assertEquals(expected, new String(romanNumbers, 3, expected.length()));
+    }
+
+    @Test
+    public void testPartSizes() throws Exception {
+        for (int size = 0; size <= 30; size++) {
+            int[] part = new int[size];
+            System.arraycopy(arabicNumbers, 0, part, 0, size);
+            String expected = encoder.convertArabicNumbers(part, ' ', new StringBuilder()).toString();
+            char[] romanNumbers = new char[expected.length()];
+            assertEquals(expected.length(), parallel.convertArabicNumbers(part, ' ', romanNumbers, 0));
+            assertEquals(expected, new String(romanNumbers));
+        }
+    }
+
+    @Test
+    public void testDefaultPool() throws Exception {
+        assertEquals(encoder.convertArabicNumber(arabicNumbers[9999]), new ParallelRomanNumerals().convertArabicNumbers(arabicNumbers)[9999]);
+    }
+
+    // illegal values
+
+    @Test
+    public void testIllegalValueWritesNothing() throws Exception {
+        arabicNumbers[5000] = 4000;
+        char[] romanNumbers = new char[200000];
+        try {
+            parallel.convertArabicNumbers(arabicNumbers, ',', romanNumbers, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(0, romanNumbers[0]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalValueToStringsThrowsException() throws Exception {
+        arabicNumbers[1234] = 0;
+        parallel.convertArabicNumbers(arabicNumbers);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCharArrayTooSmallThrowsException() throws Exception {
+        parallel.convertArabicNumbers(arabicNumbers, ',', new char[100], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalRangeThrowsException() throws Exception {
+        parallel.convertRange(0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalThresholdThrowsException() throws Exception {
+        new ParallelRomanNumerals(pool, 0);
+    }
+}
@@ -0,0 +1,179 @@
+package RomanNumbersSubstract;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RomanConversionServiceTest {
+
+    RomanConversionService service;
+
+    @Before
+    public void setUp() throws Exception {
+        service = new RomanConversionService(64, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        service.close();
+    }
+
+    @Test
+    public void testConvertsSingleRequests() throws Exception {
+        assertEquals("MCMXC", service.convertArabicNumber(1990).get());
+        assertEquals(Integer.valueOf(2008), service.convertRomanNumeral("MMVIII").get());
+    }
+
+    @Test
+    public void testConvertsArrays() throws Exception {
+        assertArrayEquals(new String[]{"I", "MMMCMXCIX", "IV"}, service.convertArabicNumbers(new int[]{1, 3999, 4}).get());
+    }
+
+    @Test
+    public void testFailsOnlyTheWrongRequest() throws Exception {
+        CompletableFuture<String> wrong = service.convertArabicNumber(4000);
+        CompletableFuture<Integer> wrongNumeral = service.convertRomanNumeral("MMXA");
+        CompletableFuture<String> right = service.convertArabicNumber(4);
+
+        assertCause(IllegalArgumentException.class, wrong);
+        assertCause(RomanNumeralFormatException.class, wrongNumeral);
+        assertEquals("IV", right.get());
+    }
+
+    @Test
+    public void testRejectsAfterClose() throws Exception {
+        CompletableFuture<String> queued = service.convertArabicNumber(1990);
+        service.close();
+
+        assertEquals("MCMXC", queued.get());
+        assertCause(RejectedExecutionException.class, service.convertArabicNumber(1990));
+        assertCause(RejectedExecutionException.class, service.convertArabicNumbers(new int[]{1}));
+    }
+
+    // every request sent while the service closes is either converted or rejected, none is left waiting
+    @Test
+    public void testCloseWhileSending() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            RomanConversionService closing = new RomanConversionService(8, 1, TimeUnit.MILLISECONDS);
+            CountDownLatch sending = new CountDownLatch(4);
+            List<CompletableFuture<Void>> senders = new ArrayList<>();
+            for (int s = 0; s < 4; s++) {
+                senders.add(CompletableFuture.runAsync(() -> {
+                    List<CompletableFuture<?>> answers = new ArrayList<>();
+                    for (int i = 1; i <= 2000; i++) {
+                        answers.add(closing.convertArabicNumber(i));
+                        answers.add(closing.convertArabicNumbers(new int[]{i}));
+                        if (i == 100) {
+                            sending.countDown();
+                        }
+                    }
+                    for (CompletableFuture<?> answer : answers) {
+                        try {
+                            answer.get(10, TimeUnit.SECONDS);
+                        } catch (ExecutionException e) {
+                            assertTrue(e.getCause() instanceof RejectedExecutionException);
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                }));
+            }
+            sending.await();
+            closing.close();
+            CompletableFuture.allOf(senders.toArray(new CompletableFuture<?>[0])).get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoBatches() throws Exception {
+        new RomanConversionService(0, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testWaitsForTheBatch() throws Exception {
+        try (RomanConversionService waiting = new RomanConversionService(3, 1, TimeUnit.MINUTES)) {
+            CompletableFuture<String> first = waiting.convertArabicNumber(1);
+            CompletableFuture<String> second = waiting.convertArabicNumber(2);
+            Thread.sleep(50);
+            assertTrue(!first.isDone() && !second.isDone());
+            assertEquals(2, waiting.getStatistics().getQueueDepth());
+
+            CompletableFuture<String> third = waiting.convertArabicNumber(3); // the batch is full
+            assertEquals("III", third.get(10, TimeUnit.SECONDS));
+            assertEquals("I", first.get());
+            assertEquals("II", second.get());
+
+            RomanConversionService.Statistics statistics = waiting.getStatistics();
+            assertEquals(0, statistics.getQueueDepth());
+            assertEquals(3, statistics.getMaxQueueDepth());
+            assertEquals(1, statistics.getBatches());
+            assertEquals(3, statistics.getMaxBatchSize());
+        }
+    }
+
+    // load generator: many in-process clients, each one sends requests and checks the answers
+    @Test
+    public void testLoad() throws Exception {
+        int clients = 16;
+        int requestsPerClient = 2000;
+        ExecutorService clientThreads = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> done = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            done.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                List<CompletableFuture<Boolean>> answers = new ArrayList<>();
+                for (int i = 0; i < requestsPerClient; i++) {
+                    int arabicNumber = 1 + (client * requestsPerClient + i) % RomanNumeralEncoder.MAX_ARABIC_NUMBER;
+                    String expected = RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumber);
+                    answers.add(i % 2 == 0
+                            ? service.convertArabicNumber(arabicNumber).thenApply(expected::equals)
+                            : service.convertRomanNumeral(expected).thenApply(value -> value == arabicNumber));
+                }
+                for (CompletableFuture<Boolean> answer : answers) {
+                    assertTrue(answer.join());
+                }
+            }, clientThreads));
+        }
+        start.countDown();
+        CompletableFuture.allOf(done.toArray(new CompletableFuture<?>[0])).get(60, TimeUnit.SECONDS);
+        clientThreads.shutdown();
+
+        RomanConversionService.Statistics statistics = service.getStatistics();
+        assertEquals(clients * requestsPerClient, statistics.getBatchedRequests());
+        assertEquals(0, statistics.getQueueDepth());
+        assertTrue(statistics.toString(), statistics.getMaxBatchSize() <= 64);
+        assertTrue(statistics.toString(), statistics.getBatches() < statistics.getBatchedRequests());
+    }
+
+    // ----------------------------------------------------------
+
+    private static void assertCause(Class<? extends Exception> expected, CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals(expected, e.getCause().getClass());
+        }
+    }
+}
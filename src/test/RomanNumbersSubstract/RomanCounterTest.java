@@ -0,0 +1,111 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RomanCounterTest {
+
+    @Test
+    public void testCountsLikeTheEncoder() throws Exception {
+        RomanCounter counter = new RomanCounter(1);
+        for (int arabicNumber = RomanNumeralEncoder.MIN_ARABIC_NUMBER; ; arabicNumber++) {
+            String expected = RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumber);
+            assertEquals(arabicNumber, counter.getValue());
+            assertEquals(expected, counter.toString());
+            assertEquals(expected.length(), counter.length());
+            assertEquals(expected.charAt(expected.length() - 1), counter.charAt(counter.length() - 1));
+            if (!counter.canIncrement()) {
+                break;
+            }
+            counter.increment();
+        }
+        assertEquals(RomanNumeralEncoder.MAX_ARABIC_NUMBER, counter.getValue());
+    }
+
+    @Test
+    public void testSet() throws Exception {
+        RomanCounter counter = new RomanCounter(1998);
+        assertEquals("MCMXCVIII", counter.toString());
+        counter.increment();
+        assertEquals("MCMXCIX", counter.toString());
+        counter.increment();
+        assertEquals("MM", counter.toString());
+        counter.set(4);
+        assertEquals("IV", counter.toString());
+        counter.increment();
+        assertEquals("V", counter.toString());
+    }
+
+    @Test
+    public void testGetChars() throws Exception {
+        RomanCounter counter = new RomanCounter(1990);
+        char[] chars = "--------".toCharArray();
+        assertEquals(5, counter.getChars(chars, 2));
+        assertArrayEquals("--MCMXC-".toCharArray(), chars);
+        assertEquals("CMX", counter.subSequence(1, 4));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIncrementAboveMax() throws Exception {
+        new RomanCounter(RomanNumeralEncoder.MAX_ARABIC_NUMBER).increment();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZero() throws Exception {
+        new RomanCounter(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCharAtBehindTheEnd() throws Exception {
+        new RomanCounter(3).charAt(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRangeAboveMax() throws Exception {
+        RomanCounter.range(1, RomanNumeralEncoder.MAX_ARABIC_NUMBER + 2);
+    }
+
+    @Test
+    public void testSplitsIntoDisjointRanges() throws Exception {
+        Spliterator<RomanCounter> suffix = RomanCounter.spliterator(1, 4000);
+        suffix.tryAdvance(counter -> assertEquals("I", counter.toString()));
+        Spliterator<RomanCounter> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(3998, prefix.estimateSize() + suffix.estimateSize());
+
+        List<String> romanNumerals = new ArrayList<>();
+        romanNumerals.add("I");
+        prefix.forEachRemaining(counter -> romanNumerals.add(counter.toString()));
+        suffix.forEachRemaining(counter -> romanNumerals.add(counter.toString()));
+        assertEquals(3999, romanNumerals.size());
+        for (int arabicNumber = 1; arabicNumber <= 3999; arabicNumber++) {
+            assertEquals(RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumber), romanNumerals.get(arabicNumber - 1));
+        }
+
+        assertNull(RomanCounter.spliterator(1, 10).trySplit());
+    }
+
+    @Test
+    public void testParallelStream() throws Exception {
+        List<String> romanNumerals = RomanCounter.range(1, 4000).parallel()
+                .map(RomanCounter::toString)
+                .collect(Collectors.toList());
+        assertEquals(3999, romanNumerals.size());
+        for (int arabicNumber = 1; arabicNumber <= 3999; arabicNumber++) {
+            assertEquals(RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumber), romanNumerals.get(arabicNumber - 1));
+        }
+        assertTrue(RomanCounter.range(100, 200).allMatch(counter -> counter.getValue() >= 100 && counter.getValue() < 200));
+        assertFalse(RomanCounter.range(5, 5).findAny().isPresent());
+    }
+}
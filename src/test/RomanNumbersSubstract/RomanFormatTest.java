@@ -0,0 +1,108 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class RomanFormatTest {
+
+    @Test
+    public void testUpperCaseIsTheEncoder() throws Exception {
+        RomanFormat format = RomanFormat.of(RomanFormat.Style.UPPER_CASE);
+        for (int arabicNumber = 1; arabicNumber <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; arabicNumber++) {
+            assertEquals(RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumber), format.format(arabicNumber));
+        }
+    }
+
+    @Test
+    public void testLowerCase() throws Exception {
+        RomanFormat format = RomanFormat.of(RomanFormat.Style.LOWER_CASE);
+        assertEquals("mcmxc", format.format(1990));
+        for (int arabicNumber = 1; arabicNumber <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; arabicNumber++) {
+            assertEquals(RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumber).toLowerCase(Locale.ROOT), format.format(arabicNumber));
+        }
+    }
+
+    @Test
+    public void testUnicode() throws Exception {
+        RomanFormat format = RomanFormat.of(RomanFormat.Style.UNICODE);
+        assertEquals("Ⅰ", format.format(1));
+        assertEquals("Ⅳ", format.format(4));
+        assertEquals("Ⅻ", format.format(12));
+        assertEquals("ⅩⅠⅠⅠ", format.format(13));
+        assertEquals("ⅯⅭⅯⅩⅭ", format.format(1990));
+        assertEquals("ⅻ", RomanFormat.of(RomanFormat.Style.UNICODE_LOWER_CASE).format(12));
+        assertEquals("ⅿⅽⅿⅹⅽ", RomanFormat.of(RomanFormat.Style.UNICODE_LOWER_CASE).format(1990));
+    }
+
+    @Test
+    public void testAdditive() throws Exception {
+        RomanFormat format = RomanFormat.of(RomanFormat.Style.ADDITIVE);
+        assertEquals("IIII", format.format(4));
+        assertEquals("VIIII", format.format(9));
+        assertEquals("MDCCCCLXXXX", format.format(1990));
+        assertEquals("MMVIII", format.format(2008));
+        assertEquals(18, format.getMaxLength());
+        assertEquals("MMMDCCCCLXXXXVIIII", format.format(3999));
+        assertEquals(15, RomanFormat.of(RomanFormat.Style.UPPER_CASE).getMaxLength());
+    }
+
+    @Test
+    public void testParsesWhatItFormats() throws Exception {
+        for (RomanFormat.Style style : RomanFormat.Style.values()) {
+            RomanFormat format = RomanFormat.of(style);
+            char[] buffer = new char[format.getMaxLength() + 2];
+            for (int arabicNumber = 1; arabicNumber <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; arabicNumber++) {
+                String romanNumeral = format.format(arabicNumber);
+                assertEquals(style + " " + romanNumeral, arabicNumber, format.parse(romanNumeral));
+                assertEquals(romanNumeral.length(), format.format(arabicNumber, buffer, 2));
+                assertEquals(romanNumeral, new String(buffer, 2, romanNumeral.length()));
+                assertEquals(romanNumeral, format.format(arabicNumber, new StringBuilder()).toString());
+            }
+        }
+    }
+
+    @Test
+    public void testParseIsStrict() throws Exception {
+        assertParseFails(RomanFormat.Style.UPPER_CASE, "IIII", 3);
+        assertParseFails(RomanFormat.Style.UPPER_CASE, "iv", 0);
+        assertParseFails(RomanFormat.Style.UPPER_CASE, "MCMXCQ", 5);
+        assertParseFails(RomanFormat.Style.UPPER_CASE, "", 0);
+        assertParseFails(RomanFormat.Style.LOWER_CASE, "IV", 0);
+        assertParseFails(RomanFormat.Style.ADDITIVE, "IV", 1);
+        assertParseFails(RomanFormat.Style.UNICODE, "ⅠⅠ", 0); // 2 is one symbol
+        assertParseFails(RomanFormat.Style.UNICODE, "ⅩⅡ", 1); // only 1 - 12 as one symbol
+        assertParseFails(RomanFormat.Style.UNICODE, "MCMXC", 0);
+    }
+
+    @Test
+    public void testOneFormatPerStyle() throws Exception {
+        assertSame(RomanFormat.of(RomanFormat.Style.LOWER_CASE), RomanFormat.of(RomanFormat.Style.LOWER_CASE));
+        assertEquals(RomanFormat.Style.LOWER_CASE, RomanFormat.of(RomanFormat.Style.LOWER_CASE).getStyle());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZero() throws Exception {
+        RomanFormat.of(RomanFormat.Style.UPPER_CASE).format(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testBufferTooSmall() throws Exception {
+        RomanFormat.of(RomanFormat.Style.ADDITIVE).format(4, new char[3], 0);
+    }
+
+    // ----------------------------------------------------------
+
+    private static void assertParseFails(RomanFormat.Style style, String romanNumeral, int position) {
+        try {
+            RomanFormat.of(style).parse(romanNumeral);
+            fail(style + " " + romanNumeral);
+        } catch (RomanNumeralFormatException e) {
+            assertEquals(style + " " + romanNumeral, position, e.getPosition());
+        }
+    }
+}
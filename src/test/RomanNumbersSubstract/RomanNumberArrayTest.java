@@ -0,0 +1,80 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RomanNumberArrayTest {
+
+    @Test
+    public void testBulkArithmetic() throws Exception {
+        RomanNumberArray pages = RomanNumberArray.of(10, 250, 42);
+        pages.add(RomanNumber.of(8));
+        assertArrayEquals(new int[]{18, 258, 50}, pages.toIntArray());
+        pages.multiply(RomanNumberArray.of(2, 1, 3));
+        assertArrayEquals(new int[]{36, 258, 150}, pages.toIntArray());
+        assertEquals("CDXLIV", pages.sum().toString());
+        pages.subtract(RomanNumberArray.of(35, 8, 50));
+        assertEquals("[I, CCL, C]", pages.toString());
+        pages.multiply(RomanNumber.of(3));
+        pages.subtract(RomanNumber.of(2));
+        assertEquals("[I, DCCXLVIII, CCXCVIII]", pages.toString());
+        pages.add(RomanNumberArray.of(1, 1, 1));
+        assertEquals(RomanNumberArray.of(2, 749, 299), pages);
+    }
+
+    @Test
+    public void testFailedOperationChangesNothing() throws Exception {
+        RomanNumberArray numbers = RomanNumberArray.of(1, 2000, 3);
+        RomanNumberArray before = numbers.copy();
+        try {
+            numbers.add(RomanNumber.of(2000)); // only the middle one is too big
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+        try {
+            numbers.subtract(RomanNumberArray.of(1, 1, 1)); // only the first one gets 0
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+        assertEquals(before, numbers);
+    }
+
+    @Test
+    public void testGetAndSet() throws Exception {
+        RomanNumberArray numbers = RomanNumberArray.filled(3, RomanNumber.of(5));
+        numbers.set(0, RomanNumber.parse("MCMXC"));
+        numbers.setInt(2, 4);
+        assertEquals(3, numbers.size());
+        assertEquals(RomanNumber.of(1990), numbers.get(0));
+        assertEquals(5, numbers.getInt(1));
+        assertEquals("[MCMXC, V, IV]", numbers.toString());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testSumAboveMax() throws Exception {
+        RomanNumberArray.filled(3, RomanNumber.of(2000)).sum();
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testSumOfEmpty() throws Exception {
+        RomanNumberArray.of().sum();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfZero() throws Exception {
+        RomanNumberArray.of(1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetIntAboveMax() throws Exception {
+        RomanNumberArray.of(1).setInt(0, 4000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentSizes() throws Exception {
+        RomanNumberArray.of(1, 2).add(RomanNumberArray.of(1));
+    }
+}
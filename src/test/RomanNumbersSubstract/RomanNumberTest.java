@@ -0,0 +1,76 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RomanNumberTest {
+
+    @Test
+    public void testToStringLikeTheEncoder() throws Exception {
+        for (int arabicNumber = RomanNumeralEncoder.MIN_ARABIC_NUMBER; arabicNumber <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; arabicNumber++) {
+            RomanNumber number = RomanNumber.of(arabicNumber);
+            assertEquals(RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumber), number.toString());
+            assertEquals(arabicNumber, number.intValue());
+            assertEquals(number, RomanNumber.parse(number.toString()));
+            assertTrue(number.toRomanNumeral().contentEquals(number.toString()));
+        }
+    }
+
+    @Test
+    public void testToStringIsCached() throws Exception {
+        assertSame(RomanNumber.of(1990).toString(), RomanNumber.of(1990).toString());
+    }
+
+    @Test
+    public void testArithmetic() throws Exception {
+        RomanNumber xlii = RomanNumber.parse("XLII");
+        assertEquals("L", xlii.add(RomanNumber.of(8)).toString());
+        assertEquals("XXXIV", xlii.subtract(RomanNumber.of(8)).toString());
+        assertEquals("CCCXXXVI", xlii.multiply(RomanNumber.of(8)).toString());
+        assertEquals("MMMCMXCIX", RomanNumber.of(3998).add(RomanNumber.of(1)).toString());
+        assertEquals("I", RomanNumber.of(2).subtract(RomanNumber.of(1)).toString());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testAddAboveMax() throws Exception {
+        RomanNumber.of(2000).add(RomanNumber.of(2000));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testSubtractToZero() throws Exception {
+        RomanNumber.of(10).subtract(RomanNumber.of(10));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testMultiplyAboveMax() throws Exception {
+        RomanNumber.of(3999).multiply(RomanNumber.of(3999));
+    }
+
+    @Test
+    public void testCompareAndEquals() throws Exception {
+        List<RomanNumber> numbers = Arrays.asList(RomanNumber.of(50), RomanNumber.of(4), RomanNumber.of(1990));
+        numbers.sort(null);
+        assertEquals("[IV, L, MCMXC]", numbers.toString());
+        assertEquals(RomanNumber.of(4), RomanNumber.parse("IV"));
+        assertEquals(RomanNumber.of(4).hashCode(), RomanNumber.parse("IV").hashCode());
+        assertNotEquals(RomanNumber.of(4), RomanNumber.of(5));
+        assertNotEquals(RomanNumber.of(4), 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfZero() throws Exception {
+        RomanNumber.of(0);
+    }
+
+    @Test(expected = RomanNumeralFormatException.class)
+    public void testParseNonCanonical() throws Exception {
+        RomanNumber.parse("IIII");
+    }
+}
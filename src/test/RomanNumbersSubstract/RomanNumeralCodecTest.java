@@ -0,0 +1,99 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RomanNumeralCodecTest {
+
+    RomanNumeralCodec codec = RomanNumeralCodec.INSTANCE;
+
+    @Test
+    public void testPacksTheDigits() throws Exception {
+        assertEquals(0x1990, codec.encode(1990));
+        assertEquals(0x3888, codec.encode(3888));
+        assertEquals(0x0004, codec.encode("IV"));
+        assertEquals(0x2008, codec.encode("MMVIII"));
+        assertEquals(1990, codec.decode((short) 0x1990));
+    }
+
+    @Test
+    public void testAllNumbersRoundTrip() throws Exception {
+        char[] chars = new char[RomanDigitFragments.MAX_ROMAN_LENGTH];
+        ByteBuffer bytes = ByteBuffer.allocate(RomanDigitFragments.MAX_ROMAN_LENGTH);
+        for (int arabicNumber = RomanNumeralEncoder.MIN_ARABIC_NUMBER; arabicNumber <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; arabicNumber++) {
+            String romanNumeral = RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumber);
+            byte[] ascii = romanNumeral.getBytes(StandardCharsets.US_ASCII);
+            short packed = codec.encode(arabicNumber);
+
+            assertEquals(packed, codec.encode(romanNumeral));
+            assertEquals(packed, codec.encode(ascii, 0, ascii.length));
+            assertEquals(arabicNumber, codec.decode(packed));
+            assertEquals(romanNumeral.length(), codec.getRomanLength(packed));
+
+            int length = codec.decode(packed, chars, 0);
+            assertEquals(romanNumeral, new String(chars, 0, length));
+            bytes.clear();
+            codec.decode(packed, bytes);
+            assertEquals(romanNumeral, new String(bytes.array(), 0, bytes.position(), StandardCharsets.US_ASCII));
+            assertEquals(romanNumeral, codec.decode(packed, new StringBuilder()).toString());
+        }
+    }
+
+    @Test
+    public void testRejectsNonCanonicalNumerals() throws Exception {
+        assertPosition(3, "IIII");
+        assertPosition(2, "IVI");
+        assertPosition(1, "VX");
+        assertPosition(3, "MMMM");
+        assertPosition(0, "A");
+        assertPosition(0, "");
+    }
+
+    @Test
+    public void testRejectsWrongPackedNumerals() throws Exception {
+        assertFalse(codec.isValid((short) 0x0000));
+        assertFalse(codec.isValid((short) 0x4000));
+        assertFalse(codec.isValid((short) 0x00A0));
+        assertFalse(codec.isValid((short) 0xFFFF));
+        assertTrue(codec.isValid((short) 0x3999));
+        try {
+            codec.decode((short) 0x000F);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsZero() throws Exception {
+        codec.encode(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejects4000() throws Exception {
+        codec.encode(4000);
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void testBufferTooSmall() throws Exception {
+        codec.decode(codec.encode(3888), ByteBuffer.allocate(14));
+    }
+
+    // ----------------------------------------------------------
+
+    private void assertPosition(int position, String romanNumeral) {
+        try {
+            codec.encode(romanNumeral);
+            fail(romanNumeral);
+        } catch (RomanNumeralFormatException e) {
+            assertEquals(romanNumeral, position, e.getPosition());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RomanNumeralColumnTest {
+
+    @Test
+    public void testWritesAndReadsRows() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        RomanNumeralColumn column = RomanNumeralColumn.writer(buffer)
+                .add(1990)
+                .add("MMVIII")
+                .add("IV".getBytes(StandardCharsets.US_ASCII), 0, 2)
+                .toColumn();
+
+        assertArrayEquals(new byte[]{0x19, (byte) 0x90, 0x20, 0x08, 0x00, 0x04, 0, 0}, buffer.array());
+        assertEquals(3, column.size());
+        assertEquals(2008, column.getArabicNumber(1));
+
+        char[] chars = new char[15];
+        assertEquals(5, column.getRomanNumeral(0, chars, 0));
+        assertEquals("MCMXC", new String(chars, 0, 5));
+
+        int[] values = new int[3];
+        column.getArabicNumbers(0, values, 0, 3);
+        assertArrayEquals(new int[]{1990, 2008, 4}, values);
+    }
+
+    @Test
+    public void testBulk() throws Exception {
+        int[] arabicNumbers = new int[RomanNumeralEncoder.MAX_ARABIC_NUMBER];
+        for (int i = 0; i < arabicNumbers.length; i++) {
+            arabicNumbers[i] = i + 1;
+        }
+        RomanNumeralColumn column = RomanNumeralColumn.writer(ByteBuffer.allocateDirect(2 * arabicNumbers.length).order(ByteOrder.LITTLE_ENDIAN))
+                .addAll(arabicNumbers, 0, arabicNumbers.length)
+                .toColumn();
+
+        int[] values = new int[arabicNumbers.length];
+        column.getArabicNumbers(0, values, 0, values.length);
+        assertArrayEquals(arabicNumbers, values);
+
+        StringBuilder expected = new StringBuilder();
+        RomanNumeralEncoder.INSTANCE.convertArabicNumbers(arabicNumbers, ',', expected);
+        ByteBuffer text = ByteBuffer.allocate(expected.length());
+        column.getRomanNumerals(0, column.size(), (byte) ',', text);
+        assertEquals(expected.toString(), new String(text.array(), StandardCharsets.US_ASCII));
+
+        RomanNumeralColumn parsed = RomanNumeralColumn.writer(ByteBuffer.allocate(2 * arabicNumbers.length))
+                .addAll(text.array(), 0, text.capacity(), (byte) ',')
+                .toColumn();
+        assertEquals(column.asReadOnlyBuffer(), parsed.asReadOnlyBuffer());
+    }
+
+    @Test
+    public void testViewsShareTheBytes() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        buffer.position(2);
+        RomanNumeralColumn.Writer writer = RomanNumeralColumn.writer(buffer).add(1).add(2).add(3);
+        assertEquals(3, writer.size());
+
+        buffer.flip().position(2);
+        RomanNumeralColumn column = RomanNumeralColumn.wrap(buffer.asReadOnlyBuffer());
+        RomanNumeralColumn slice = column.slice(1, 3);
+        assertEquals(2, slice.size());
+        assertEquals(2, slice.getArabicNumber(0));
+
+        buffer.put(5, (byte) 0x09); // row 1 of the column, row 0 of the slice
+        assertEquals(9, slice.getArabicNumber(0));
+        assertEquals(9, column.getArabicNumber(1));
+    }
+
+    @Test
+    public void testRejectsWrongRows() throws Exception {
+        RomanNumeralColumn column = RomanNumeralColumn.wrap(ByteBuffer.wrap(new byte[]{0x00, 0x01, 0x40, 0x00}));
+        try {
+            column.getArabicNumber(1);
+            fail();
+        } catch (RomanNumeralFormatException e) {
+            assertEquals(2, e.getPosition());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsHalfRows() throws Exception {
+        RomanNumeralColumn.wrap(ByteBuffer.allocate(3));
+    }
+
+    @Test
+    public void testFailedAddWritesNothing() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        RomanNumeralColumn.Writer writer = RomanNumeralColumn.writer(buffer);
+        try {
+            writer.addAll(new int[]{1, 4000}, 0, 2);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            writer.addAll(new int[]{1, 2, 3}, 0, 3);
+            fail();
+        } catch (BufferOverflowException expected) {
+        }
+        assertEquals(0, writer.size());
+        assertEquals(0, buffer.position());
+    }
+}
@@ -0,0 +1,57 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RomanNumeralComparatorTest {
+
+    RomanNumeralComparator comparator = RomanNumeralComparator.INSTANCE;
+
+    @Test
+    public void testOrdersByValue() throws Exception {
+        for (int a = 1; a <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; a += 3) {
+            for (int b = 1; b <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; b += 11) {
+                String romanA = RomanNumeralEncoder.INSTANCE.convertArabicNumber(a);
+                String romanB = RomanNumeralEncoder.INSTANCE.convertArabicNumber(b);
+                assertEquals(romanA + " " + romanB, Integer.signum(Integer.compare(a, b)), Integer.signum(comparator.compare(romanA, romanB)));
+            }
+        }
+    }
+
+    @Test
+    public void testMixesCharSequences() throws Exception {
+        assertEquals(0, comparator.compare("MCMXC", RomanNumeral.valueOf(1990)));
+        assertEquals(0, comparator.compare(new StringBuilder("IV"), "IV"));
+        assertEquals(-1, comparator.compare(RomanNumeral.valueOf(9), RomanNumeral.valueOf(10)));
+    }
+
+    @Test
+    public void testSorts() throws Exception {
+        String[] numerals = {"XII", "IV", "MCMXC", "IX", "XL", "MMVIII", "I"};
+        Arrays.sort(numerals, comparator);
+        assertArrayEquals(new String[]{"I", "IV", "IX", "XII", "XL", "MCMXC", "MMVIII"}, numerals);
+    }
+
+    @Test
+    public void testRejectsWhatItReads() throws Exception {
+        assertPosition(3, "IIII", "III"); // III = III, then one I too much
+        assertPosition(1, "VX", "V");
+        assertPosition(0, "A", "");
+    }
+
+    // ----------------------------------------------------------
+
+    private void assertPosition(int position, String a, String b) {
+        try {
+            comparator.compare(a, b);
+            fail(a + " " + b);
+        } catch (RomanNumeralFormatException e) {
+            assertEquals(position, e.getPosition());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package RomanNumbersSubstract;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RomanNumeralDecoderTest {
+
+    RomanNumeralDecoder decoder;
+
+    @Before
+    public void setUp() throws Exception {
+        decoder = new RomanNumeralDecoder();
+    }
+
+    // Acceptance Tests
+
+    @Test
+    public void testMCMXCto1990() throws Exception { assertEquals(1990, decoder.convertRomanNumeral("MCMXC"));}
+    @Test
+    public void testMMVIIIto2008() throws Exception { assertEquals(2008, decoder.convertRomanNumeral("MMVIII"));}
+    @Test
+    public void testMMMDCCCLXXXVIIIto3888() throws Exception { assertEquals(3888, decoder.convertRomanNumeral("MMMDCCCLXXXVIII"));}
+    @Test
+    public void testMMMCMXCIXto3999() throws Exception { assertEquals(3999, decoder.convertRomanNumeral("MMMCMXCIX"));}
+
+    // the additive style of RomanNumberSimple
+    @Test
+    public void testMDCCCCLXXXXto1990() throws Exception { assertEquals(1990, decoder.convertRomanNumeral("MDCCCCLXXXX"));}
+
+    @Test
+    public void testAllNumbersRoundTrip() throws Exception {
+        RomanNumerals romanNumerals = new RomanNumerals();
+        for (int i = RomanNumeralEncoder.MIN_ARABIC_NUMBER; i <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; i++) {
+            String romanNumeral = romanNumerals.convertArabicNumber(i);
+            assertEquals(romanNumeral, i, decoder.convertRomanNumeral(romanNumeral));
+            assertEquals(romanNumeral, i, decoder.convertRomanNumeral(romanNumeral.toCharArray(), 0, romanNumeral.length()));
+            assertEquals(romanNumeral, i, decoder.convertRomanNumeral(romanNumeral.getBytes(StandardCharsets.US_ASCII), 0, romanNumeral.length()));
+            assertEquals(romanNumeral, i, decoder.convertRomanNumeral(ByteBuffer.wrap(romanNumeral.getBytes(StandardCharsets.US_ASCII)), 0, romanNumeral.length()));
+        }
+    }
+
+    @Test
+    public void testSlices() throws Exception {
+        String line = "year MCMXC, page XLII";
+        assertEquals(1990, decoder.convertRomanNumeral(line.toCharArray(), 5, 5));
+        assertEquals(42, decoder.convertRomanNumeral(line.getBytes(StandardCharsets.US_ASCII), 17, 4));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(line.length());
+        direct.put(line.getBytes(StandardCharsets.US_ASCII));
+        assertEquals(1990, decoder.convertRomanNumeral(direct, 5, 5));
+        assertEquals(line.length(), direct.position()); // unchanged
+    }
+
+    // illegal values
+
+    @Test
+    public void testIllegalNumerals() throws Exception {
+        assertError("", 0);
+        assertError("MCMXA", 4);   // not a roman numeral
+        assertError("mcmxc", 0);
+        assertError("VX", 0);      // V, L and D are never subtracted
+        assertError("LC", 0);
+        assertError("DM", 0);
+        assertError("IC", 0);      // I only before V and X
+        assertError("XM", 0);
+        assertError("IIV", 1);     // descending order
+        assertError("IXI", 2);
+        assertError("XCX", 2);
+        assertError("DCD", 1);
+        assertError("VV", 1);
+        assertError("MMMM", 3);    // > 3999
+    }
+
+    @Test
+    public void testPositionInSlice() throws Exception {
+        try {
+            decoder.convertRomanNumeral("--MCMXCVX--".toCharArray(), 2, 7);
+            fail();
+        } catch (RomanNumeralFormatException e) {
+            assertEquals(7, e.getPosition());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSliceOutOfBoundsThrowsException() throws Exception {
+        decoder.convertRomanNumeral(new byte[3], 2, 2);
+    }
+
+    private void assertError(String romanNumeral, int position) {
+        try {
+            decoder.convertRomanNumeral(romanNumeral);
+            fail(romanNumeral + " should be rejected");
+        } catch (RomanNumeralFormatException e) {
+            assertEquals(romanNumeral, position, e.getPosition());
+            assertEquals(e.getReason() + " at position " + position, e.getMessage());
+        }
+    }
+}
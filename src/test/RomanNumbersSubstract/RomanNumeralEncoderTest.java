@@ -0,0 +1,272 @@
+package RomanNumbersSubstract;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RomanNumeralEncoderTest {
+
+    RomanNumeralEncoder encoder;
+
+    @Before
+    public void setUp() throws Exception {
+        encoder = new RomanNumeralEncoder();
+    }
+
+    // Acceptance Tests
+
+    @Test
+    public void test3888toMMMDCCCLXXXVIII() throws Exception { assertEquals("MMMDCCCLXXXVIII", encoder.convertArabicNumber(3888));}
+    @Test
+    public void test1990toMCMXC() throws Exception { assertEquals("MCMXC", encoder.convertArabicNumber(1990));}
+    @Test
+    public void test2008toMMVIII() throws Exception { assertEquals("MMVIII", encoder.convertArabicNumber(2008));}
+    @Test
+    public void test3999toMMMCMXCIX() throws Exception { assertEquals("MMMCMXCIX", encoder.convertArabicNumber(3999));}
+
+    // illegal values
+    @Test(expected = IllegalArgumentException.class)
+    public void test0throwsException() throws Exception { encoder.convertArabicNumber(0); }
+    @Test(expected = IllegalArgumentException.class)
+    public void test4000throwsException() throws Exception { encoder.convertArabicNumber(4000); }
+
+    // same result as the original algorithm for the whole range
+    @Test
+    public void testAllNumbersLikeRomanNumerals() throws Exception {
+        RomanNumerals romanNumerals = new RomanNumerals();
+        for (int i = RomanNumeralEncoder.MIN_ARABIC_NUMBER; i <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; i++) {
+            assertEquals("arabic number " + i, romanNumerals.convertArabicNumber(i), encoder.convertArabicNumber(i));
+        }
+    }
+
+    @Test
+    public void testLookupTableLikeRangeWalk() throws Exception {
+        RomanNumeralEncoder lookupTable = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE);
+        for (int i = RomanNumeralEncoder.MIN_ARABIC_NUMBER; i <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; i++) {
+            assertEquals("arabic number " + i, encoder.convertArabicNumber(i), lookupTable.convertArabicNumber(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLookupTable4000throwsException() throws Exception {
+        new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE).convertArabicNumber(4000);
+    }
+
+    // the table holds the same roman digits as the helper methods of RomanNumerals
+    @Test
+    public void testFragmentsLikeRomanNumeralsHelpers() throws Exception {
+        RomanNumerals romanNumerals = new RomanNumerals();
+        for (int digit = 0; digit <= 9; digit++) {
+            assertEquals(romanNumerals.convertOnes(digit),     new String(RomanDigitFragments.FRAGMENTS[0][digit]));
+            assertEquals(romanNumerals.convertTens(digit),     new String(RomanDigitFragments.FRAGMENTS[1][digit]));
+            assertEquals(romanNumerals.convertHundreds(digit), new String(RomanDigitFragments.FRAGMENTS[2][digit]));
+        }
+        for (int digit = 0; digit <= 3; digit++) {
+            assertEquals(romanNumerals.convertThousands(digit), new String(RomanDigitFragments.FRAGMENTS[3][digit]));
+        }
+    }
+
+    // sinks
+
+    @Test
+    public void testAppendToAppendable() throws Exception {
+        StringBuilder logLine = new StringBuilder("chapter ");
+        encoder.convertArabicNumber(42, logLine).append(" of ");
+        encoder.convertArabicNumber(1990, logLine);
+        assertEquals("chapter XLII of MCMXC", logLine.toString());
+    }
+
+    @Test
+    public void testWriteToCharArray() throws Exception {
+        char[] romanNumber = "..............".toCharArray();
+        assertEquals(5, encoder.convertArabicNumber(1990, romanNumber, 3));
+        assertEquals("...MCMXC......", new String(romanNumber));
+    }
+
+    @Test
+    public void testPutToByteBuffer() throws Exception {
+        ByteBuffer frame = ByteBuffer.allocateDirect(16);
+        frame.put((byte) '<');
+        encoder.convertArabicNumber(2008, frame).put((byte) '>');
+        frame.flip();
+        assertEquals("<MMVIII>", StandardCharsets.US_ASCII.decode(frame).toString());
+    }
+
+    @Test
+    public void testSinksAllNumbers() throws Exception {
+        char[] chars = new char[15];
+        ByteBuffer bytes = ByteBuffer.allocate(15);
+        for (int i = RomanNumeralEncoder.MIN_ARABIC_NUMBER; i <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; i++) {
+            String expected = encoder.convertArabicNumber(i);
+            assertEquals(expected, encoder.convertArabicNumber(i, new StringBuilder()).toString());
+            assertEquals(expected, new String(chars, 0, encoder.convertArabicNumber(i, chars, 0)));
+            bytes.clear();
+            encoder.convertArabicNumber(i, bytes);
+            assertEquals(expected, new String(bytes.array(), 0, bytes.position(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testWriteToCharArrayTooSmallThrowsException() throws Exception {
+        encoder.convertArabicNumber(1990, new char[6], 2);
+    }
+
+    @Test
+    public void testPutToByteBufferTooSmallWritesNothing() throws Exception {
+        ByteBuffer frame = ByteBuffer.allocate(4);
+        try {
+            encoder.convertArabicNumber(1990, frame);
+            fail();
+        } catch (BufferOverflowException e) {
+            assertEquals(0, frame.position());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAppend0throwsException() throws Exception { encoder.convertArabicNumber(0, new StringBuilder()); }
+
+    // batch
+
+    @Test
+    public void testBatchToStringBuilder() throws Exception {
+        StringBuilder romanNumbers = new StringBuilder("years: ");
+        encoder.convertArabicNumbers(new int[]{1990, 2008, 1}, ',', romanNumbers);
+        assertEquals("years: MCMXC,MMVIII,I", romanNumbers.toString());
+    }
+
+    @Test
+    public void testBatchToCharArray() throws Exception {
+        char[] romanNumbers = new char[20];
+        int length = encoder.convertArabicNumbers(new int[]{1990, 2008}, ' ', romanNumbers, 2);
+        assertEquals(12, length);
+        assertEquals("MCMXC MMVIII", new String(romanNumbers, 2, length));
+    }
+
+    @Test
+    public void testBatchToByteBuffer() throws Exception {
+        ByteBuffer romanNumbers = ByteBuffer.allocateDirect(32);
+        encoder.convertArabicNumbers(new int[]{3888, 4}, (byte) '\n', romanNumbers);
+        romanNumbers.flip();
+        assertEquals("MMMDCCCLXXXVIII\nIV", StandardCharsets.US_ASCII.decode(romanNumbers).toString());
+    }
+
+    @Test
+    public void testBatchToHeapByteBuffer() throws Exception {
+        ByteBuffer romanNumbers = ByteBuffer.allocate(32);
+        romanNumbers.put((byte) '[');
+        encoder.convertArabicNumbers(new int[]{3888, 4}, (byte) ',', romanNumbers.slice());
+        encoder.convertArabicNumbers(new int[]{9}, (byte) ',', romanNumbers);
+        assertEquals(3, romanNumbers.position());
+        assertEquals("[IXMDCCCLXXXVIII,IV", new String(romanNumbers.array(), 0, 19, StandardCharsets.US_ASCII)); // IX overwrote the first two M
+    }
+
+    @Test
+    public void testBatchAllNumbers() throws Exception {
+        int[] arabicNumbers = IntStream.rangeClosed(RomanNumeralEncoder.MIN_ARABIC_NUMBER, RomanNumeralEncoder.MAX_ARABIC_NUMBER).toArray();
+        String expected = IntStream.of(arabicNumbers).mapToObj(encoder::convertArabicNumber).collect(Collectors.joining(";"));
+
+        assertEquals(expected.length(), encoder.getRomanNumbersLength(arabicNumbers));
+        assertEquals(expected, encoder.convertArabicNumbers(arabicNumbers, ';', new StringBuilder()).toString());
+
+        char[] chars = new char[expected.length()];
+        assertEquals(expected.length(), encoder.convertArabicNumbers(arabicNumbers, ';', chars, 0));
+        assertEquals(expected, new String(chars));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(expected.length());
+        encoder.convertArabicNumbers(arabicNumbers, (byte) ';', direct);
+        direct.flip();
+        assertEquals(expected, StandardCharsets.US_ASCII.decode(direct).toString());
+    }
+
+    @Test
+    public void testBatchStream() throws Exception {
+        assertEquals("I II III", encoder.convertArabicNumbers(IntStream.rangeClosed(1, 3)).collect(Collectors.joining(" ")));
+    }
+
+    @Test
+    public void testBatchEmpty() throws Exception {
+        assertEquals("", encoder.convertArabicNumbers(new int[0], ',', new StringBuilder()).toString());
+        assertEquals(0, encoder.convertArabicNumbers(new int[0], ',', new char[0], 0));
+    }
+
+    @Test
+    public void testBatchIllegalValueWritesNothing() throws Exception {
+        StringBuilder romanNumbers = new StringBuilder();
+        try {
+            encoder.convertArabicNumbers(new int[]{1, 2, 4000}, ',', romanNumbers);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("", romanNumbers.toString());
+        }
+    }
+
+    @Test
+    public void testBatchBufferTooSmallWritesNothing() throws Exception {
+        ByteBuffer romanNumbers = ByteBuffer.allocate(4);
+        try {
+            encoder.convertArabicNumbers(new int[]{1, 3888}, (byte) ',', romanNumbers);
+            fail();
+        } catch (BufferOverflowException e) {
+            assertEquals(0, romanNumbers.position());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testBatchCharArrayTooSmallThrowsException() throws Exception {
+        encoder.convertArabicNumbers(new int[]{3888}, ',', new char[14], 0);
+    }
+
+    // stress test: many threads share one encoder, every thread checks against its own RomanNumerals
+    @Test
+    public void testSharedInstanceFromManyThreads() throws Exception {
+        final int threads = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+        final int rounds = 20;
+        final RomanNumeralEncoder shared = RomanNumeralEncoder.INSTANCE;
+        final CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t * 397; // every thread starts somewhere else in the range
+                results.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        RomanNumerals reference = new RomanNumerals();
+                        start.await();
+                        int checked = 0;
+                        for (int round = 0; round < rounds; round++) {
+                            for (int i = 0; i < RomanNumeralEncoder.MAX_ARABIC_NUMBER; i++) {
+                                int arabicNumber = (i + offset) % RomanNumeralEncoder.MAX_ARABIC_NUMBER + 1;
+                                assertEquals(reference.convertArabicNumber(arabicNumber), shared.convertArabicNumber(arabicNumber));
+                                checked++;
+                            }
+                        }
+                        return checked;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(Integer.valueOf(rounds * RomanNumeralEncoder.MAX_ARABIC_NUMBER), result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class RomanNumeralIndexTest {
+
+    RomanNumeralIndex index = RomanNumeralIndex.of(new String[]{"XII", "IV", "MCMXC", "IV"});
+
+    @Test
+    public void testRangeQueries() throws Exception {
+        assertEquals(4, index.size());
+        assertEquals(3, index.count(4, 12));
+        assertArrayEquals(new int[]{1, 3, 0}, index.getRows(4, 12));
+        assertArrayEquals(new int[]{0, 2}, index.getRows("X", "MM"));
+        assertArrayEquals(new int[]{2}, index.getRows(1990, 1990));
+        assertArrayEquals(new int[]{}, index.getRows(5, 11));
+    }
+
+    @Test
+    public void testClampsTheBounds() throws Exception {
+        assertEquals(4, index.count(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(0, index.count(12, 4));
+        assertEquals(0, index.count(-5, 0));
+        assertEquals(0, index.count(4000, 5000));
+    }
+
+    @Test
+    public void testForEachRow() throws Exception {
+        List<Integer> rows = new ArrayList<>();
+        index.forEachRow(1, 100, rows::add);
+        assertEquals(3, rows.size());
+        assertEquals(Integer.valueOf(0), rows.get(2));
+    }
+
+    @Test
+    public void testColumnsAndNumbers() throws Exception {
+        byte[] column = "XII  IV   MCMXCIV   ".getBytes(StandardCharsets.US_ASCII);
+        assertArrayEquals(new int[]{1, 3, 0}, RomanNumeralIndex.of(column, 5).getRows(4, 12));
+        assertArrayEquals(new int[]{1, 3, 0}, RomanNumeralIndex.of(new int[]{12, 4, 1990, 4}).getRows(4, 12));
+    }
+
+    @Test
+    public void testAgainstScan() throws Exception {
+        Random random = new Random(42);
+        int[] values = new int[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1 + random.nextInt(RomanNumeralEncoder.MAX_ARABIC_NUMBER);
+        }
+        RomanNumeralIndex index = RomanNumeralIndex.of(values);
+        for (int query = 0; query < 100; query++) {
+            int lo = random.nextInt(4100) - 50;
+            int hi = lo + random.nextInt(500);
+            int expected = 0;
+            for (int value : values) {
+                if (value >= lo && value <= hi) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, index.count(lo, hi));
+            for (int row : index.getRows(lo, hi)) {
+                assertEquals(true, values[row] >= lo && values[row] <= hi);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsOutOfRange() throws Exception {
+        RomanNumeralIndex.of(new int[]{1, 4000});
+    }
+
+    @Test(expected = RomanNumeralFormatException.class)
+    public void testRejectsNonCanonicalRows() throws Exception {
+        RomanNumeralIndex.of("XII  IM   IV   ".getBytes(StandardCharsets.US_ASCII), 5);
+    }
+}
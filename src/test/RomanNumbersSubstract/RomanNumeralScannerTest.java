@@ -0,0 +1,246 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class RomanNumeralScannerTest {
+
+    private static final String TEXT = "Chapter XLII, Henry VIII's crown. MIXED IIII XLIIa 4XL (MCMXC) - I";
+
+    @Test
+    public void testFindsRomanNumerals() throws Exception {
+        assertEquals("[8,4,42, 20,4,8, 56,5,1990, 65,1,1]", scan(RomanNumeralScanner.Kind.ROMAN_NUMERALS, TEXT));
+    }
+
+    @Test
+    public void testFindsArabicNumbers() throws Exception {
+        assertEquals("[3,4,1990, 24,1,4, 27,4,3999, 32,3,100]",
+                scan(RomanNumeralScanner.Kind.ARABIC_NUMBERS, "in 1990 and 04, 4000 or 4, 3999/100 x1 12345 2a"));
+    }
+
+    @Test
+    public void testWordsOfOtherLetters() throws Exception {
+        assertEquals("[]", scan(RomanNumeralScanner.Kind.ROMAN_NUMERALS, "ÉXL XLé xl"));
+        assertEquals("[1,2,40]", scan(RomanNumeralScanner.Kind.ROMAN_NUMERALS, "«XL»"));
+    }
+
+    @Test
+    public void testBytes() throws Exception {
+        Collector matches = new Collector();
+        RomanNumeralScanner scanner = new RomanNumeralScanner(RomanNumeralScanner.Kind.ROMAN_NUMERALS, matches);
+        ByteBuffer text = ByteBuffer.wrap("ÉXL «XL» XIV".getBytes(StandardCharsets.UTF_8));
+        scanner.scan(text);
+        scanner.finish();
+        assertEquals(0, text.remaining());
+        assertEquals(text.limit(), scanner.getPosition());
+        assertEquals("[7,2,40, 12,3,14]", matches.toString()); // byte offsets, É « and » are 2 bytes each
+    }
+
+    @Test
+    public void testCharsAndUtf8BytesAgree() throws Exception {
+        String text = "Henry VIII\u2014the king, \u201cXLII\u201d, Louis\u00a0XIV, \ud83d\ude00MMXX\ud83d\ude00 "
+                + "\ud835\udc00XL XL\ud835\udc00 \u00e9X IX\u00e9 \uff08C\uff09";
+        List<String> expected = numerals(RomanNumeralScanner.Kind.ROMAN_NUMERALS, text);
+        assertEquals("[VIII=8, XLII=42, XIV=14, MMXX=2020, C=100]", expected.toString());
+        for (int chunkSize = 1; chunkSize <= 5; chunkSize++) {
+            assertEquals("chunk size " + chunkSize, expected, numeralsOfBytes(text, chunkSize));
+        }
+    }
+
+    @Test
+    public void testParallelUtf8() throws Exception {
+        String text = generateText(new Random(11), 5000, new String[]{"\u2014", "\u00a0", "\u00ab", "\u00bb", "\ud83d\ude00", "\u00e9"});
+        for (RomanNumeralScanner.Kind kind : RomanNumeralScanner.Kind.values()) {
+            List<String> expected = numerals(kind, text);
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            for (int chunkSize : new int[]{1, 2, 3, 4, 5, 7, 64, 1000}) {
+                Collector matches = new Collector(bytes);
+                RomanNumeralScanner.scanParallel(kind, ByteBuffer.wrap(bytes), chunkSize, matches);
+                assertEquals(kind + " chunk size " + chunkSize, expected, matches.numerals);
+
+                Collector chars = new Collector(text);
+                RomanNumeralScanner.scanParallel(kind, CharBuffer.wrap(text), chunkSize, chars);
+                assertEquals(kind + " chunk size " + chunkSize, expected, chars.numerals);
+            }
+        }
+    }
+
+    @Test
+    public void testMalformedUtf8IsAWord() throws Exception {
+        byte[] bytes = {'X', (byte) 0xE2, (byte) 0x80, ' ', 'V', ' ', (byte) 0x80, 'I', ' ', 'X', (byte) 0xC3};
+        Collector matches = new Collector();
+        RomanNumeralScanner scanner = new RomanNumeralScanner(RomanNumeralScanner.Kind.ROMAN_NUMERALS, matches);
+        scanner.scan(ByteBuffer.wrap(bytes));
+        scanner.finish();
+        assertEquals("[4,1,5]", matches.toString());
+    }
+
+    @Test
+    public void testAnyChunks() throws Exception {
+        String text = generateText(new Random(42), 2000);
+        String expected = scan(RomanNumeralScanner.Kind.ROMAN_NUMERALS, text);
+        for (int chunkSize = 1; chunkSize <= 17; chunkSize++) {
+            Collector matches = new Collector();
+            RomanNumeralScanner scanner = new RomanNumeralScanner(RomanNumeralScanner.Kind.ROMAN_NUMERALS, matches);
+            byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+            for (int from = 0; from < bytes.length; from += chunkSize) {
+                scanner.scan(ByteBuffer.wrap(bytes, from, Math.min(chunkSize, bytes.length - from)));
+            }
+            scanner.finish();
+            assertEquals("chunk size " + chunkSize, expected, matches.toString());
+        }
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        String text = generateText(new Random(7), 20000);
+        for (RomanNumeralScanner.Kind kind : RomanNumeralScanner.Kind.values()) {
+            String expected = scan(kind, text);
+            for (int chunkSize : new int[]{1, 2, 3, 5, 64, 1000, 1 << 20}) {
+                Collector bytes = new Collector();
+                RomanNumeralScanner.scanParallel(kind, ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)), chunkSize, bytes);
+                assertEquals(kind + " chunk size " + chunkSize, expected, bytes.toString());
+
+                Collector chars = new Collector();
+                RomanNumeralScanner.scanParallel(kind, CharBuffer.wrap(text), chunkSize, chars);
+                assertEquals(kind + " chunk size " + chunkSize, expected, chars.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testParallelFromPosition() throws Exception {
+        CharBuffer text = CharBuffer.wrap("XX MMXXIV, V");
+        text.position(4); // the text starts at the position: MXXIV, V
+        Collector matches = new Collector();
+        RomanNumeralScanner.scanParallel(RomanNumeralScanner.Kind.ROMAN_NUMERALS, text, 2, matches);
+        assertEquals("[0,5,1024, 7,1,5]", matches.toString());
+        assertEquals(4, text.position());
+    }
+
+    @Test
+    public void testChunkCountNearIntegerMax() throws Exception {
+        assertEquals(2048, RomanNumeralScanner.getChunkCount(2147000000, 1 << 20));
+        assertEquals(2048, RomanNumeralScanner.getChunkCount(Integer.MAX_VALUE, 1 << 20));
+        assertEquals(2, RomanNumeralScanner.getChunkCount(Integer.MAX_VALUE, Integer.MAX_VALUE - 1));
+        assertEquals(1, RomanNumeralScanner.getChunkCount(Integer.MAX_VALUE, Integer.MAX_VALUE));
+        assertEquals(Integer.MAX_VALUE, RomanNumeralScanner.getChunkCount(Integer.MAX_VALUE, 1));
+        assertEquals(0, RomanNumeralScanner.getChunkCount(0, 16));
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        assertEquals("[]", scan(RomanNumeralScanner.Kind.ROMAN_NUMERALS, ""));
+        Collector matches = new Collector();
+        RomanNumeralScanner.scanParallel(RomanNumeralScanner.Kind.ROMAN_NUMERALS, ByteBuffer.allocate(0), 16, matches);
+        assertEquals("[]", matches.toString());
+    }
+
+    // ----------------------------------------------------------
+
+    private static String scan(RomanNumeralScanner.Kind kind, String text) {
+        Collector matches = new Collector();
+        RomanNumeralScanner scanner = new RomanNumeralScanner(kind, matches);
+        scanner.scan(CharBuffer.wrap(text));
+        scanner.finish();
+        return matches.toString();
+    }
+
+    // the numerals found in text, as "numeral=value"
+    private static List<String> numerals(RomanNumeralScanner.Kind kind, String text) {
+        Collector matches = new Collector(text);
+        RomanNumeralScanner scanner = new RomanNumeralScanner(kind, matches);
+        scanner.scan(CharBuffer.wrap(text));
+        scanner.finish();
+        return matches.numerals;
+    }
+
+    // the same for the UTF-8 bytes of text, scanned in chunks of chunkSize
+    private static List<String> numeralsOfBytes(String text, int chunkSize) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        Collector matches = new Collector(bytes);
+        RomanNumeralScanner scanner = new RomanNumeralScanner(RomanNumeralScanner.Kind.ROMAN_NUMERALS, matches);
+        for (int from = 0; from < bytes.length; from += chunkSize) {
+            scanner.scan(ByteBuffer.wrap(bytes, from, Math.min(chunkSize, bytes.length - from)));
+        }
+        scanner.finish();
+        return matches.numerals;
+    }
+
+    // words, numerals (canonical or not) and numbers, separated by blanks and punctuation
+    private static String generateText(Random random, int words) {
+        return generateText(random, words, new String[0]);
+    }
+
+    // ... and the extra characters, as a word of their own or glued to the next one
+    private static String generateText(Random random, int words, String[] extra) {
+        String[] separators = {" ", " ", ", ", ". ", "\n", "-", "(", ")"};
+        String[] noise = {"Chapter", "Henry", "MIX", "IIII", "VX", "xl", "MMMM", "0", "04", "12345", "I"};
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    text.append(RomanNumeralEncoder.INSTANCE.convertArabicNumber(1 + random.nextInt(3999)));
+                    break;
+                case 1:
+                    text.append(1 + random.nextInt(5000));
+                    break;
+                default:
+                    text.append(noise[random.nextInt(noise.length)]);
+            }
+            text.append(separators[random.nextInt(separators.length)]);
+            if (extra.length > 0 && random.nextInt(3) == 0) {
+                text.append(extra[random.nextInt(extra.length)]);
+            }
+        }
+        return text.toString();
+    }
+
+    // collects the matches, and the numerals themselves if it knows the text (as a String or UTF-8 bytes)
+    private static final class Collector implements RomanNumeralScanner.MatchHandler {
+        private final List<String> matches = new ArrayList<>();
+        private final List<String> numerals = new ArrayList<>();
+        private final String text;
+        private final byte[] bytes;
+
+        Collector() {
+            this(null, null);
+        }
+
+        Collector(String text) {
+            this(text, null);
+        }
+
+        Collector(byte[] bytes) {
+            this(null, bytes);
+        }
+
+        private Collector(String text, byte[] bytes) {
+            this.text = text;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void onMatch(long offset, int length, int value) {
+            matches.add(offset + "," + length + "," + value);
+            if (text != null) {
+                numerals.add(text.substring((int) offset, (int) offset + length) + "=" + value);
+            } else if (bytes != null) {
+                numerals.add(new String(bytes, (int) offset, length, StandardCharsets.UTF_8) + "=" + value);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return matches.toString();
+        }
+    }
+}
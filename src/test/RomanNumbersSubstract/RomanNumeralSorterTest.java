@@ -0,0 +1,80 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RomanNumeralSorterTest {
+
+    @Test
+    public void testSortsByValue() throws Exception {
+        String[] numerals = {"XII", "IV", "MCMXC", "IX", "XL", "MMVIII", "I"};
+        RomanNumeralSorter.sort(numerals);
+        assertArrayEquals(new String[]{"I", "IV", "IX", "XII", "XL", "MCMXC", "MMVIII"}, numerals);
+    }
+
+    @Test
+    public void testSortsLikeTheComparator() throws Exception {
+        Random random = new Random(42);
+        String[] numerals = new String[10000];
+        for (int i = 0; i < numerals.length; i++) {
+            numerals[i] = RomanNumeralEncoder.INSTANCE.convertArabicNumber(1 + random.nextInt(RomanNumeralEncoder.MAX_ARABIC_NUMBER));
+        }
+        String[] expected = numerals.clone();
+        Arrays.sort(expected, RomanNumeralComparator.INSTANCE);
+
+        RomanNumeralSorter.sort(numerals);
+        assertArrayEquals(expected, numerals);
+    }
+
+    @Test
+    public void testIsStable() throws Exception {
+        String first = new String("IV");
+        String second = new String("IV");
+        CharSequence[] numerals = {first, "V", second, "I"};
+        RomanNumeralSorter.sort(numerals);
+        assertEquals("I", numerals[0]);
+        assertSame(first, numerals[1]);
+        assertSame(second, numerals[2]);
+    }
+
+    @Test
+    public void testSortsColumns() throws Exception {
+        byte[] column = "XII  IV   MCMXCIX   I    ".getBytes(StandardCharsets.US_ASCII);
+        RomanNumeralSorter.sort(column, 5);
+        assertEquals("I    IV   IX   XII  MCMXC", new String(column, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testMovesNothingOnError() throws Exception {
+        String[] numerals = {"XII", "IV", "XA"};
+        try {
+            RomanNumeralSorter.sort(numerals);
+            fail();
+        } catch (RomanNumeralFormatException expected) {
+        }
+        assertArrayEquals(new String[]{"XII", "IV", "XA"}, numerals);
+    }
+
+    @Test
+    public void testRejectsNonCanonicalRows() throws Exception {
+        for (String wrong : new String[]{"IM   ", "VX   ", "IIII ", "     ", "X I  "}) {
+            byte[] column = ("XII  " + wrong + "IV   ").getBytes(StandardCharsets.US_ASCII);
+            try {
+                RomanNumeralSorter.sort(column, 5);
+                fail(wrong);
+            } catch (RomanNumeralFormatException expected) {
+                assertTrue(wrong, expected.getPosition() >= 5 && expected.getPosition() < 10);
+            }
+            assertEquals("XII  " + wrong + "IV   ", new String(column, StandardCharsets.US_ASCII));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RomanNumeralTest {
+
+    @Test
+    public void testBehavesLikeTheString() throws Exception {
+        for (int arabicNumber = RomanNumeralEncoder.MIN_ARABIC_NUMBER; arabicNumber <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; arabicNumber++) {
+            String expected = RomanNumeralEncoder.INSTANCE.convertArabicNumber(arabicNumber);
+            RomanNumeral romanNumeral = RomanNumeral.valueOf(arabicNumber);
+
+            assertEquals(arabicNumber, romanNumeral.intValue());
+            assertEquals(expected.length(), romanNumeral.length());
+            for (int i = 0; i < expected.length(); i++) {
+                assertEquals(expected.charAt(i), romanNumeral.charAt(i));
+            }
+            assertEquals(expected, romanNumeral.toString());
+            assertEquals(expected.hashCode(), romanNumeral.hashCode());
+            assertTrue(romanNumeral.contentEquals(expected));
+            assertEquals(expected, romanNumeral.appendTo(new StringBuilder()).toString());
+        }
+    }
+
+    @Test
+    public void testComparesLikeTheString() throws Exception {
+        for (int a = 1; a <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; a += 7) {
+            for (int b = 1; b <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; b += 13) {
+                String stringA = RomanNumeral.valueOf(a).toString();
+                String stringB = RomanNumeral.valueOf(b).toString();
+                assertEquals(stringA + " " + stringB, stringA.compareTo(stringB), RomanNumeral.valueOf(a).compareTo(RomanNumeral.valueOf(b)));
+            }
+        }
+    }
+
+    @Test
+    public void testOneInstancePerNumber() throws Exception {
+        assertSame(RomanNumeral.valueOf(1990), RomanNumeralEncoder.INSTANCE.convertArabicNumberLazily(1990));
+        assertEquals(RomanNumeral.valueOf(4), RomanNumeral.valueOf(4));
+        assertNotEquals(RomanNumeral.valueOf(4), RomanNumeral.valueOf(6));
+        assertFalse(RomanNumeral.valueOf(4).equals("IV")); // like String.equals for other CharSequences
+    }
+
+    @Test
+    public void testSubSequence() throws Exception {
+        RomanNumeral romanNumeral = RomanNumeral.valueOf(1990);
+        assertSame(romanNumeral, romanNumeral.subSequence(0, 5));
+        assertEquals("CMX", romanNumeral.subSequence(1, 4));
+        assertEquals("", romanNumeral.subSequence(2, 2));
+    }
+
+    @Test
+    public void testGetChars() throws Exception {
+        char[] chars = "--------".toCharArray();
+        assertEquals(6, RomanNumeral.valueOf(2008).getChars(chars, 1));
+        assertEquals("-MMVIII-", new String(chars));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCharAtBehindTheEnd() throws Exception {
+        RomanNumeral.valueOf(4).charAt(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejects4000() throws Exception {
+        RomanNumeral.valueOf(4000);
+    }
+}
@@ -0,0 +1,116 @@
+package RomanNumbersSubstract;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RomanNumeralTranscoderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    RomanNumeralTranscoder toRoman = new RomanNumeralTranscoder(RomanNumeralTranscoder.Direction.ARABIC_TO_ROMAN);
+    RomanNumeralTranscoder toArabic = new RomanNumeralTranscoder(RomanNumeralTranscoder.Direction.ROMAN_TO_ARABIC);
+
+    @Test
+    public void testFileToRoman() throws Exception {
+        assertEquals("MCMXC\nMMVIII\n\nIV\n", transcodeFile(toRoman, "1990\n2008\n\n4"));
+    }
+
+    @Test
+    public void testFileToArabic() throws Exception {
+        assertEquals("1990\n2008\n4\n", transcodeFile(toArabic, "MCMXC\r\nMMVIII\r\nIV\r\n"));
+    }
+
+    @Test
+    public void testAllNumbersWithSmallWindows() throws Exception {
+        StringBuilder arabicNumbers = new StringBuilder();
+        StringBuilder romanNumbers = new StringBuilder();
+        for (int i = RomanNumeralEncoder.MIN_ARABIC_NUMBER; i <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; i++) {
+            arabicNumbers.append(i).append('\n');
+            romanNumbers.append(RomanNumeralEncoder.INSTANCE.convertArabicNumber(i)).append('\n');
+        }
+
+        // windows and buffers that end in the middle of lines
+        RomanNumeralTranscoder smallToRoman = new RomanNumeralTranscoder(RomanNumeralTranscoder.Direction.ARABIC_TO_ROMAN, 37, 41);
+        RomanNumeralTranscoder smallToArabic = new RomanNumeralTranscoder(RomanNumeralTranscoder.Direction.ROMAN_TO_ARABIC, 37, 41);
+
+        assertEquals(romanNumbers.toString(), transcodeFile(smallToRoman, arabicNumbers.toString()));
+        assertEquals(arabicNumbers.toString(), transcodeFile(smallToArabic, romanNumbers.toString()));
+        assertEquals(romanNumbers.toString(), transcodeChannel(smallToRoman, arabicNumbers.toString()));
+        assertEquals(arabicNumbers.toString(), transcodeChannel(smallToArabic, romanNumbers.toString()));
+    }
+
+    @Test
+    public void testReport() throws Exception {
+        Path source = write("1990\n2008\n");
+        Path target = folder.getRoot().toPath().resolve("target.txt");
+        RomanNumeralTranscoder.Report report = toRoman.transcode(source, target);
+        assertEquals(2, report.getLines());
+        assertEquals(10, report.getBytesRead());
+        assertEquals(13, report.getBytesWritten());
+    }
+
+    @Test
+    public void testEmptyFile() throws Exception {
+        assertEquals("", transcodeFile(toRoman, ""));
+    }
+
+    // illegal values
+
+    @Test
+    public void testIllegalArabicNumber() throws Exception {
+        try {
+            transcodeFile(toRoman, "1990\n4000\n");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("line 2: not an arabic number 1 - 3999 at position 5", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testIllegalRomanNumeralFromChannel() throws Exception {
+        try {
+            transcodeChannel(toArabic, "MCMXC\nMMVX\n");
+            fail();
+        } catch (RomanNumeralFormatException e) {
+            assertEquals(8, e.getPosition()); // the V
+            assertEquals("line 2: V, L and D can't be placed before a larger numeral", e.getReason());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLineLongerThanBufferThrowsException() throws Exception {
+        transcodeChannel(new RomanNumeralTranscoder(RomanNumeralTranscoder.Direction.ROMAN_TO_ARABIC, 16, 16), "MMMDCCCLXXXVIIII\n");
+    }
+
+    private Path write(String content) throws Exception {
+        Path source = folder.newFile().toPath();
+        Files.write(source, content.getBytes(StandardCharsets.US_ASCII));
+        return source;
+    }
+
+    private String transcodeFile(RomanNumeralTranscoder transcoder, String content) throws Exception {
+        Path source = write(content);
+        Path target = folder.getRoot().toPath().resolve("target.txt");
+        transcoder.transcode(source, target);
+        return new String(Files.readAllBytes(target), StandardCharsets.US_ASCII);
+    }
+
+    private String transcodeChannel(RomanNumeralTranscoder transcoder, String content) throws Exception {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        transcoder.transcode(Channels.newChannel(new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII))),
+                Channels.newChannel(target));
+        return new String(target.toByteArray(), StandardCharsets.US_ASCII);
+    }
+}
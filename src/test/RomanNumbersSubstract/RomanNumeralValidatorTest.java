@@ -0,0 +1,130 @@
+package RomanNumbersSubstract;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RomanNumeralValidatorTest {
+
+    RomanNumeralValidator validator;
+
+    @Before
+    public void setUp() throws Exception {
+        validator = new RomanNumeralValidator();
+    }
+
+    // Acceptance Tests
+
+    @Test
+    public void testMCMXCto1990() throws Exception { assertEquals(1990, validate("MCMXC"));}
+    @Test
+    public void testMMVIIIto2008() throws Exception { assertEquals(2008, validate("MMVIII"));}
+    @Test
+    public void testMMMCMXCIXto3999() throws Exception { assertEquals(3999, validate("MMMCMXCIX"));}
+
+    @Test
+    public void testNotCanonical() throws Exception {
+        assertInvalid("");
+        assertInvalid("IIII");
+        assertInvalid("VX");
+        assertInvalid("IC");
+        assertInvalid("MMMM");
+        assertInvalid("MDCCCCLXXXX");  // accepted by RomanNumeralDecoder
+        assertInvalid("IVI");
+        assertInvalid("VIV");
+        assertInvalid("XCX");
+        assertInvalid("mcmxc");
+        assertInvalid("MCMXC ");
+    }
+
+    @Test
+    public void testAllNumbersRoundTrip() throws Exception {
+        for (int i = RomanNumeralEncoder.MIN_ARABIC_NUMBER; i <= RomanNumeralEncoder.MAX_ARABIC_NUMBER; i++) {
+            assertEquals(i, validate(RomanNumeralEncoder.INSTANCE.convertArabicNumber(i)));
+        }
+    }
+
+    // every word of up to 5 roman numerals is valid exactly if it's the numeral the encoder writes for its value
+    @Test
+    public void testAllShortWords() throws Exception {
+        char[] symbols = "IVXLCDM".toCharArray();
+        byte[] word = new byte[5];
+        for (int length = 1; length <= word.length; length++) {
+            int words = (int) Math.pow(symbols.length, length);
+            for (int w = 0; w < words; w++) {
+                for (int i = 0, rest = w; i < length; i++, rest /= symbols.length) {
+                    word[i] = (byte) symbols[rest % symbols.length];
+                }
+                String romanNumeral = new String(word, 0, length, StandardCharsets.US_ASCII);
+                int value = validator.validate(word, 0, length);
+                if (value == RomanNumeralValidator.INVALID) {
+                    assertFalse(romanNumeral, isCanonical(romanNumeral));
+                } else {
+                    assertEquals(romanNumeral, RomanNumeralEncoder.INSTANCE.convertArabicNumber(value));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNonAsciiBytesAreRejected() throws Exception {
+        for (int b = 0; b < 256; b++) {
+            if ("IVXLCDM".indexOf(b) < 0) {
+                assertEquals(RomanNumeralValidator.INVALID, validator.validate(new byte[]{'X', (byte) b}, 0, 2));
+            }
+        }
+    }
+
+    @Test
+    public void testSlice() throws Exception {
+        byte[] line = "year MCMXC, page XLII".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(1990, validator.validate(line, 5, 5));
+        assertTrue(validator.isCanonical(line, 17, 4));
+        assertFalse(validator.isCanonical(line, 5, 6));  // MCMXC,
+    }
+
+    @Test
+    public void testErrorPosition() throws Exception {
+        assertErrorPosition("MCMXCVX", 6);
+        assertErrorPosition("IIII", 3);
+        assertErrorPosition("", 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSliceOutOfBoundsThrowsException() throws Exception {
+        validator.validate(new byte[3], 2, 2);
+    }
+
+    private int validate(String romanNumeral) {
+        byte[] bytes = romanNumeral.getBytes(StandardCharsets.US_ASCII);
+        return validator.validate(bytes, 0, bytes.length);
+    }
+
+    private void assertInvalid(String romanNumeral) {
+        assertEquals(romanNumeral, RomanNumeralValidator.INVALID, validate(romanNumeral));
+    }
+
+    private void assertErrorPosition(String romanNumeral, int position) {
+        try {
+            validator.convertRomanNumeral(romanNumeral.getBytes(StandardCharsets.US_ASCII), 0, romanNumeral.length());
+            fail(romanNumeral + " should be rejected");
+        } catch (RomanNumeralFormatException e) {
+            assertEquals(romanNumeral, position, e.getPosition());
+        }
+    }
+
+    private static boolean isCanonical(String romanNumeral) {
+        try {
+            int value = RomanNumeralDecoder.INSTANCE.convertRomanNumeral(romanNumeral);
+            return RomanNumeralEncoder.INSTANCE.convertArabicNumber(value).equals(romanNumeral);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
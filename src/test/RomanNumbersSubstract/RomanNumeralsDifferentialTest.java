@@ -0,0 +1,403 @@
+package RomanNumbersSubstract;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/*
+Differential test of every encoder and decoder path against the reference, RomanNumerals (the original
+subtract algorithm), for all numbers 1 - 3999:
+
+ - testAllPathsConcurrently: every path from THREADS threads at the same time, each thread starting
+   at another number, so shared state (caches, metrics, tables) is hit from all sides
+ - testBulkPaths: the paths that convert whole arrays or columns, also concurrently
+ - testAllocationBudget: the bytes a path allocates per conversion (ThreadMXBean.getThreadAllocatedBytes),
+   after a warm up, must stay within the budget declared in its table entry
+
+A new fast path is added to ENCODERS / DECODERS with its budget; -1 means it's not guarded.
+The budgets don't count on escape analysis: a path returning a new String may allocate it (and the char[]
+it is built from), a path returning a RomanNumber may allocate that small object, all others must allocate
+nothing (the budget leaves a little room for measuring noise).
+ */
+public class RomanNumeralsDifferentialTest {
+
+    private static final int MAX = RomanNumeralEncoder.MAX_ARABIC_NUMBER;
+    private static final int THREADS = Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+
+    private static final long NO_ALLOCATION = 8;
+    private static final long NEW_STRING = 128;
+    private static final long SMALL_OBJECT = 24;
+    private static final long NOT_GUARDED = -1;
+
+    private static final int WARM_UP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 10;
+
+    // the reference, and the same numerals prepared for the decoders
+    private static final String[] REFERENCE = new String[MAX + 1];
+    private static final char[][] CHARS = new char[MAX + 1][];
+    private static final byte[][] ASCII = new byte[MAX + 1][];
+    private static final ByteBuffer[] HEAP_BUFFERS = new ByteBuffer[MAX + 1];
+    private static final ByteBuffer[] DIRECT_BUFFERS = new ByteBuffer[MAX + 1];
+
+    private static final CachedRomanNumerals EAGER_CACHE = new CachedRomanNumerals(CachedRomanNumerals.Population.EAGER);
+    private static final CachedRomanNumerals LAZY_CACHE = new CachedRomanNumerals(CachedRomanNumerals.Population.LAZY);
+    private static final InstrumentedRomanNumerals INSTRUMENTED = new InstrumentedRomanNumerals(EAGER_CACHE);
+    private static final RomanNumeralEncoder RANGE_WALK = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.RANGE_WALK);
+    private static final RomanNumeralEncoder LOOKUP_TABLE = new RomanNumeralEncoder(RomanNumeralEncoder.EncodingMode.LOOKUP_TABLE);
+    private static final RomanNumeralCodec CODEC = RomanNumeralCodec.INSTANCE;
+    private static final RomanFormat FORMAT = RomanFormat.of(RomanFormat.Style.UPPER_CASE);
+
+    private static final List<Path<Encoding>> ENCODERS = Arrays.asList(
+            path("RomanNumeralEncoder RANGE_WALK", NEW_STRING, () -> RANGE_WALK::convertArabicNumber),
+            path("RomanNumeralEncoder LOOKUP_TABLE", NEW_STRING, () -> LOOKUP_TABLE::convertArabicNumber),
+            path("RomanNumeralEncoder char[]", NO_ALLOCATION, () -> {
+                char[] chars = new char[RomanDigitFragments.MAX_ROMAN_LENGTH];
+                StringBuilder result = new StringBuilder(RomanDigitFragments.MAX_ROMAN_LENGTH);
+                return arabicNumber -> {
+                    int length = LOOKUP_TABLE.convertArabicNumber(arabicNumber, chars, 0);
+                    result.setLength(0);
+                    return result.append(chars, 0, length);
+                };
+            }),
+            path("RomanNumeralEncoder heap ByteBuffer", NO_ALLOCATION, () -> byteBufferEncoding(ByteBuffer.allocate(RomanDigitFragments.MAX_ROMAN_LENGTH))),
+            path("RomanNumeralEncoder direct ByteBuffer", NO_ALLOCATION, () -> byteBufferEncoding(ByteBuffer.allocateDirect(RomanDigitFragments.MAX_ROMAN_LENGTH))),
+            path("RomanNumeralEncoder Appendable", NO_ALLOCATION, () -> {
+                StringBuilder result = new StringBuilder(RomanDigitFragments.MAX_ROMAN_LENGTH);
+                return arabicNumber -> {
+                    result.setLength(0);
+                    return LOOKUP_TABLE.convertArabicNumber(arabicNumber, result);
+                };
+            }),
+            path("RomanNumeralEncoder batch char[]", NO_ALLOCATION, () -> {
+                int[] batch = new int[1];
+                char[] chars = new char[RomanDigitFragments.MAX_ROMAN_LENGTH];
+                StringBuilder result = new StringBuilder(RomanDigitFragments.MAX_ROMAN_LENGTH);
+                return arabicNumber -> {
+                    batch[0] = arabicNumber;
+                    int length = LOOKUP_TABLE.convertArabicNumbers(batch, ',', chars, 0);
+                    result.setLength(0);
+                    return result.append(chars, 0, length);
+                };
+            }),
+            path("CachedRomanNumerals EAGER", NO_ALLOCATION, () -> EAGER_CACHE::convertArabicNumber),
+            path("CachedRomanNumerals LAZY", NOT_GUARDED, () -> LAZY_CACHE::convertArabicNumber),
+            path("InstrumentedRomanNumerals", NOT_GUARDED, () -> INSTRUMENTED::convertArabicNumber),
+            path("ExtendedRomanNumerals", NEW_STRING, () -> ExtendedRomanNumerals.INSTANCE::convertArabicNumber),
+            path("RomanNumeral", NO_ALLOCATION, () -> RomanNumeral::valueOf),
+            path("RomanNumeralCodec", NO_ALLOCATION, () -> {
+                char[] chars = new char[RomanDigitFragments.MAX_ROMAN_LENGTH];
+                StringBuilder result = new StringBuilder(RomanDigitFragments.MAX_ROMAN_LENGTH);
+                return arabicNumber -> {
+                    int length = CODEC.decode(CODEC.encode(arabicNumber), chars, 0);
+                    result.setLength(0);
+                    return result.append(chars, 0, length);
+                };
+            }),
+            path("RomanFormat String", NEW_STRING, () -> FORMAT::format),
+            path("RomanFormat char[]", NO_ALLOCATION, () -> {
+                char[] chars = new char[FORMAT.getMaxLength()];
+                StringBuilder result = new StringBuilder(FORMAT.getMaxLength());
+                return arabicNumber -> {
+                    int length = FORMAT.format(arabicNumber, chars, 0);
+                    result.setLength(0);
+                    return result.append(chars, 0, length);
+                };
+            }),
+            path("RomanCounter set", NO_ALLOCATION, () -> {
+                RomanCounter counter = new RomanCounter(1);
+                return arabicNumber -> {
+                    counter.set(arabicNumber);
+                    return counter;
+                };
+            }),
+            path("RomanNumber toString", SMALL_OBJECT, () -> arabicNumber -> RomanNumber.of(arabicNumber).toString())
+    );
+
+    private static final List<Path<Decoding>> DECODERS = Arrays.asList(
+            path("RomanNumeralDecoder CharSequence", NO_ALLOCATION, () -> v -> RomanNumeralDecoder.INSTANCE.convertRomanNumeral(REFERENCE[v])),
+            path("RomanNumeralDecoder char[]", NO_ALLOCATION, () -> v -> RomanNumeralDecoder.INSTANCE.convertRomanNumeral(CHARS[v], 0, CHARS[v].length)),
+            path("RomanNumeralDecoder byte[]", NO_ALLOCATION, () -> v -> RomanNumeralDecoder.INSTANCE.convertRomanNumeral(ASCII[v], 0, ASCII[v].length)),
+            path("RomanNumeralDecoder heap ByteBuffer", NO_ALLOCATION, () -> v -> RomanNumeralDecoder.INSTANCE.convertRomanNumeral(HEAP_BUFFERS[v], 0, ASCII[v].length)),
+            path("RomanNumeralDecoder direct ByteBuffer", NO_ALLOCATION, () -> v -> RomanNumeralDecoder.INSTANCE.convertRomanNumeral(DIRECT_BUFFERS[v], 0, ASCII[v].length)),
+            path("RomanNumeralValidator", NO_ALLOCATION, () -> v -> RomanNumeralValidator.INSTANCE.convertRomanNumeral(ASCII[v], 0, ASCII[v].length)),
+            path("ExtendedRomanNumerals", NO_ALLOCATION, () -> v -> (int) ExtendedRomanNumerals.INSTANCE.convertRomanNumeral(REFERENCE[v])),
+            path("InstrumentedRomanNumerals", NOT_GUARDED, () -> v -> INSTRUMENTED.convertRomanNumeral(REFERENCE[v])),
+            path("RomanNumeralCodec CharSequence", NO_ALLOCATION, () -> v -> CODEC.decode(CODEC.encode(REFERENCE[v]))),
+            path("RomanNumeralCodec byte[]", NO_ALLOCATION, () -> v -> CODEC.decode(CODEC.encode(ASCII[v], 0, ASCII[v].length))),
+            path("RomanFormat parse", NO_ALLOCATION, () -> v -> FORMAT.parse(REFERENCE[v])),
+            path("RomanNumber parse", SMALL_OBJECT, () -> v -> RomanNumber.parse(REFERENCE[v]).intValue())
+    );
+
+    private static volatile long sink;
+
+    @BeforeClass
+    public static void setUpReference() {
+        RomanNumerals reference = new RomanNumerals(); // not thread safe, only used here
+        for (int arabicNumber = 1; arabicNumber <= MAX; arabicNumber++) {
+            REFERENCE[arabicNumber] = reference.convertArabicNumber(arabicNumber);
+            CHARS[arabicNumber] = REFERENCE[arabicNumber].toCharArray();
+            ASCII[arabicNumber] = REFERENCE[arabicNumber].getBytes(StandardCharsets.US_ASCII);
+            HEAP_BUFFERS[arabicNumber] = ByteBuffer.wrap(ASCII[arabicNumber]).asReadOnlyBuffer();
+            ByteBuffer direct = ByteBuffer.allocateDirect(ASCII[arabicNumber].length);
+            direct.put(ASCII[arabicNumber]).flip();
+            DIRECT_BUFFERS[arabicNumber] = direct.asReadOnlyBuffer();
+        }
+        INSTRUMENTED.setEnabled(true);
+    }
+
+    // ****
+    // main
+    // ****
+
+    @Test
+    public void testAllPathsConcurrently() throws Exception {
+        List<String> mismatches = Collections.synchronizedList(new ArrayList<>());
+        runConcurrently(thread -> {
+            List<Encoding> encodings = new ArrayList<>();
+            List<Decoding> decodings = new ArrayList<>();
+            ENCODERS.forEach(path -> encodings.add(path.factory.get()));
+            DECODERS.forEach(path -> decodings.add(path.factory.get()));
+
+            for (int i = 0; i < MAX; i++) {
+                int arabicNumber = 1 + (i + thread * 997) % MAX;
+                for (int p = 0; p < encodings.size(); p++) {
+                    try {
+                        CharSequence romanNumeral = encodings.get(p).encode(arabicNumber);
+                        if (!contentEquals(REFERENCE[arabicNumber], romanNumeral)) {
+                            mismatches.add(ENCODERS.get(p).name + ": " + arabicNumber + " -> " + romanNumeral);
+                        }
+                    } catch (Exception e) {
+                        mismatches.add(ENCODERS.get(p).name + ": " + arabicNumber + " -> " + e);
+                    }
+                }
+                for (int p = 0; p < decodings.size(); p++) {
+                    try {
+                        int value = decodings.get(p).decode(arabicNumber);
+                        if (value != arabicNumber) {
+                            mismatches.add(DECODERS.get(p).name + ": " + REFERENCE[arabicNumber] + " -> " + value);
+                        }
+                    } catch (Exception e) {
+                        mismatches.add(DECODERS.get(p).name + ": " + REFERENCE[arabicNumber] + " -> " + e);
+                    }
+                }
+            }
+        });
+        assertEquals(firstOf(mismatches), 0, mismatches.size());
+    }
+
+    @Test
+    public void testBulkPaths() throws Exception {
+        int[] all = new int[MAX];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i + 1;
+        }
+        String[] expected = Arrays.copyOfRange(REFERENCE, 1, MAX + 1);
+        String joined = String.join(",", expected);
+
+        byte[] column = new byte[MAX * RomanDigitFragments.MAX_ROMAN_LENGTH];
+        Arrays.fill(column, BulkRomanNumeralDecoder.PAD);
+        for (int i = 0; i < MAX; i++) {
+            System.arraycopy(ASCII[i + 1], 0, column, i * RomanDigitFragments.MAX_ROMAN_LENGTH, ASCII[i + 1].length);
+        }
+
+        ParallelRomanNumerals parallel = new ParallelRomanNumerals();
+        runConcurrently(thread -> {
+            assertArrayEquals(expected, parallel.convertRange(1, MAX));
+            assertArrayEquals(expected, parallel.convertArabicNumbers(all));
+            assertEquals(joined, LOOKUP_TABLE.convertArabicNumbers(all, ',', new StringBuilder()).toString());
+
+            for (BulkRomanNumeralDecoder.Implementation implementation : BulkRomanNumeralDecoder.Implementation.values()) {
+                if (implementation == BulkRomanNumeralDecoder.Implementation.SCALAR || implementation == BulkRomanNumeralDecoder.getBestImplementation()) {
+                    assertArrayEquals(implementation.name(), all, new BulkRomanNumeralDecoder(implementation).convertRomanNumerals(column, RomanDigitFragments.MAX_ROMAN_LENGTH));
+                }
+            }
+
+            RomanNumeralColumn packed = RomanNumeralColumn.writer(ByteBuffer.allocate(2 * MAX))
+                    .addAll(joined.getBytes(StandardCharsets.US_ASCII), 0, joined.length(), (byte) ',')
+                    .toColumn();
+            int[] values = new int[MAX];
+            packed.getArabicNumbers(0, values, 0, MAX);
+            assertArrayEquals(all, values);
+
+            RomanCounter counter = new RomanCounter(1);
+            for (int arabicNumber = 1; ; arabicNumber++) {
+                assertTrue(contentEquals(expected[arabicNumber - 1], counter));
+                if (!counter.canIncrement()) {
+                    break;
+                }
+                counter.increment();
+            }
+            assertArrayEquals(expected, RomanCounter.range(1, MAX + 1).map(RomanCounter::toString).toArray(String[]::new));
+
+            assertEquals("[" + String.join(", ", expected) + "]", RomanNumberArray.of(all).toString());
+
+            String[] shuffled = expected.clone();
+            Collections.reverse(Arrays.asList(shuffled));
+            RomanNumeralSorter.sort(shuffled);
+            assertArrayEquals(expected, shuffled);
+        });
+
+        try (RomanConversionService service = new RomanConversionService()) {
+            List<CompletableFuture<String>> encoded = new ArrayList<>();
+            List<CompletableFuture<Integer>> decoded = new ArrayList<>();
+            for (int arabicNumber = 1; arabicNumber <= MAX; arabicNumber++) {
+                encoded.add(service.convertArabicNumber(arabicNumber));
+                decoded.add(service.convertRomanNumeral(REFERENCE[arabicNumber]));
+            }
+            for (int arabicNumber = 1; arabicNumber <= MAX; arabicNumber++) {
+                assertEquals(REFERENCE[arabicNumber], encoded.get(arabicNumber - 1).get(10, TimeUnit.SECONDS));
+                assertEquals(Integer.valueOf(arabicNumber), decoded.get(arabicNumber - 1).get(10, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    public void testAllocationBudget() throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        List<String> overBudget = new ArrayList<>();
+        for (Path<Encoding> path : ENCODERS) {
+            if (path.budget != NOT_GUARDED) {
+                Encoding encoding = path.factory.get();
+                Conversion conversion = arabicNumber -> encoding.encode(arabicNumber).length();
+                checkBudget(path, conversion, allocations, threadId, overBudget);
+            }
+        }
+        for (Path<Decoding> path : DECODERS) {
+            if (path.budget != NOT_GUARDED) {
+                checkBudget(path, path.factory.get()::decode, allocations, threadId, overBudget);
+            }
+        }
+        assertTrue(String.join("\n", overBudget), overBudget.isEmpty());
+    }
+
+    // ----------------------------------------------------------
+
+    interface Encoding {
+        CharSequence encode(int arabicNumber) throws Exception;
+    }
+
+    // gets the number, decodes the numeral of the number (so the inputs can be prepared without allocation)
+    interface Decoding {
+        int decode(int arabicNumber) throws Exception;
+    }
+
+    interface Conversion {
+        int convert(int arabicNumber) throws Exception;
+    }
+
+    interface ThreadBody {
+        void run(int thread) throws Exception;
+    }
+
+    static final class Path<T> {
+        final String name;
+        final long budget; // bytes per conversion
+        final Supplier<T> factory; // one conversion per thread, it may keep buffers
+
+        Path(String name, long budget, Supplier<T> factory) {
+            this.name = name;
+            this.budget = budget;
+            this.factory = factory;
+        }
+    }
+
+    private static <T> Path<T> path(String name, long budget, Supplier<T> factory) {
+        return new Path<>(name, budget, factory);
+    }
+
+    private static Encoding byteBufferEncoding(ByteBuffer buffer) {
+        StringBuilder result = new StringBuilder(RomanDigitFragments.MAX_ROMAN_LENGTH);
+        return arabicNumber -> {
+            buffer.clear();
+            LOOKUP_TABLE.convertArabicNumber(arabicNumber, buffer);
+            result.setLength(0);
+            for (int i = 0; i < buffer.position(); i++) {
+                result.append((char) buffer.get(i));
+            }
+            return result;
+        };
+    }
+
+    private static void checkBudget(Path<?> path, Conversion conversion, com.sun.management.ThreadMXBean allocations,
+                                    long threadId, List<String> overBudget) throws Exception {
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            convertAll(conversion);
+        }
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            convertAll(conversion);
+        }
+        long bytesPerConversion = (allocations.getThreadAllocatedBytes(threadId) - before) / ((long) MEASURED_ROUNDS * MAX);
+        if (bytesPerConversion > path.budget) {
+            overBudget.add(path.name + ": " + bytesPerConversion + " bytes per conversion, budget " + path.budget);
+        }
+    }
+
+    private static void convertAll(Conversion conversion) throws Exception {
+        long sum = 0;
+        for (int arabicNumber = 1; arabicNumber <= MAX; arabicNumber++) {
+            sum += conversion.convert(arabicNumber);
+        }
+        sink = sum;
+    }
+
+    private static void runConcurrently(ThreadBody body) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    body.run(thread);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static boolean contentEquals(String expected, CharSequence actual) {
+        if (actual == null || actual.length() != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (expected.charAt(i) != actual.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String firstOf(List<String> mismatches) {
+        return mismatches.isEmpty() ? "" : mismatches.size() + " mismatches, first: " + mismatches.get(0);
+    }
+}
@@ -0,0 +1,70 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RomanSymbolIndexTest {
+
+    @Test
+    public void testSymbolToValue() throws Exception {
+        assertEquals(1, RomanSymbolIndex.getValue('I'));
+        assertEquals(5, RomanSymbolIndex.getValue('V'));
+        assertEquals(10, RomanSymbolIndex.getValue('X'));
+        assertEquals(50, RomanSymbolIndex.getValue('L'));
+        assertEquals(100, RomanSymbolIndex.getValue('C'));
+        assertEquals(500, RomanSymbolIndex.getValue('D'));
+        assertEquals(1000, RomanSymbolIndex.getValue('M'));
+    }
+
+    @Test
+    public void testValueToSymbol() throws Exception {
+        assertEquals('I', RomanSymbolIndex.getSymbol(1));
+        assertEquals('M', RomanSymbolIndex.getSymbol(1000));
+        assertEquals("D", RomanSymbolIndex.getSymbolString(500));
+        assertSame(RomanSymbolIndex.getSymbolString(500), RomanSymbolIndex.getSymbolString(500));
+    }
+
+    @Test
+    public void testBothDirectionsForAllRanks() throws Exception {
+        for (int rank = 0; rank < RomanSymbolIndex.SYMBOL_COUNT; rank++) {
+            char symbol = RomanSymbolIndex.getSymbolByRank(rank);
+            int value = RomanSymbolIndex.getValueByRank(rank);
+            assertEquals(value, RomanSymbolIndex.getValue(symbol));
+            assertEquals(symbol, RomanSymbolIndex.getSymbol(value));
+            assertTrue(RomanSymbolIndex.isSymbol(symbol));
+        }
+    }
+
+    @Test
+    public void testEverythingElseHasNoValue() throws Exception {
+        int symbols = 0;
+        for (int c = -1; c <= Character.MAX_VALUE; c++) {
+            if (RomanSymbolIndex.isSymbol(c)) {
+                symbols++;
+            } else {
+                assertEquals(RomanSymbolIndex.NO_VALUE, RomanSymbolIndex.getValue(c));
+            }
+        }
+        assertEquals(RomanSymbolIndex.SYMBOL_COUNT, symbols);
+        assertFalse(RomanSymbolIndex.isSymbol('i'));
+    }
+
+    @Test
+    public void testEverythingElseHasNoSymbol() throws Exception {
+        assertEquals(RomanSymbolIndex.NO_SYMBOL, RomanSymbolIndex.getSymbol(0));
+        assertEquals(RomanSymbolIndex.NO_SYMBOL, RomanSymbolIndex.getSymbol(4));
+        assertEquals(RomanSymbolIndex.NO_SYMBOL, RomanSymbolIndex.getSymbol(-1));
+        assertEquals(RomanSymbolIndex.NO_SYMBOL, RomanSymbolIndex.getSymbol(5000));
+        assertNull(RomanSymbolIndex.getSymbolString(10000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRankOutOfRangeThrowsException() throws Exception {
+        RomanSymbolIndex.getSymbolByRank(RomanSymbolIndex.SYMBOL_COUNT);
+    }
+}
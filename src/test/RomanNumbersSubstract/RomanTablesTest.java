@@ -0,0 +1,67 @@
+package RomanNumbersSubstract;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/*
+The generated tables against the original kata: RomanTablesGenerator walks the ranges on its own,
+so it's checked here that it comes to the same roman digits as RomanNumerals.
+ */
+public class RomanTablesTest {
+
+    @Test
+    public void testFragmentsAreTheDigitsOfRomanNumerals() throws Exception {
+        RomanNumerals romanNumerals = new RomanNumerals();
+        for (int digit = 0; digit <= 9; digit++) {
+            assertFragment(romanNumerals.convertOnes(digit), 1, digit);
+            assertFragment(romanNumerals.convertTens(digit), 2, digit);
+            assertFragment(romanNumerals.convertHundreds(digit), 3, digit);
+        }
+        for (int digit = 0; digit <= 3; digit++) {
+            assertFragment(romanNumerals.convertThousands(digit), 4, digit);
+        }
+        for (int digit = 4; digit <= 9; digit++) {
+            assertNull(RomanTables.FRAGMENTS[3][digit]);
+            assertNull(RomanTables.FRAGMENT_BYTES[3][digit]);
+        }
+    }
+
+    @Test
+    public void testSymbolTables() throws Exception {
+        assertEquals(RomanSymbolIndex.MAX_VALUE + 1, RomanTables.SYMBOL_BY_VALUE.length);
+        int symbols = 0;
+        for (int value = 0; value < RomanTables.SYMBOL_BY_VALUE.length; value++) {
+            char symbol = RomanTables.SYMBOL_BY_VALUE[value];
+            if (symbol != RomanSymbolIndex.NO_SYMBOL) {
+                assertEquals(value, RomanTables.VALUE_BY_SYMBOL[symbol]);
+                symbols++;
+            }
+        }
+        assertEquals(RomanTables.SYMBOLS.length, symbols);
+        for (int rank = 0; rank < RomanTables.SYMBOLS.length; rank++) {
+            assertEquals(RomanTables.VALUES[rank], RomanTables.VALUE_BY_SYMBOL[RomanTables.SYMBOLS[rank]]);
+            assertEquals(String.valueOf(RomanTables.SYMBOLS[rank]), RomanTables.SYMBOL_STRINGS[rank]);
+        }
+    }
+
+    @Test
+    public void testLimitsOfTheRanges() throws Exception {
+        assertArrayEquals(new char[]{'X', 'C', 'M', '?'}, RomanTables.UPPER_SYMBOLS);
+        assertArrayEquals(new char[]{'V', 'L', 'D', '?'}, RomanTables.MIDDLE_SYMBOLS);
+        assertArrayEquals(new char[]{'I', 'X', 'C', 'M'}, RomanTables.LOWER_SYMBOLS);
+    }
+
+    // ----------------------------------------------------------
+
+    private static void assertFragment(String expected, int magnitude, int digit) {
+        assertEquals(expected, new String(RomanTables.FRAGMENTS[magnitude - 1][digit]));
+        byte[] bytes = RomanTables.FRAGMENT_BYTES[magnitude - 1][digit];
+        assertEquals(expected.length(), bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            assertEquals(expected.charAt(i), (char) bytes[i]);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package RomanNumbersSubstract;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+The VECTOR kernel of BulkRomanNumeralDecoder: one row per vector, every byte of the row in its own lane.
+
+The bytes are widened to shorts (the values don't fit into a byte) and every lane gets the value of its numeral
+by comparing the whole vector with each of the 7 numerals. The row is loaded a second time one byte further,
+so every lane sees its right neighbour in the same lane of the second vector:
+
+    bytes         M     C     M     X     C     _
+    value      1000   100  1000    10   100     0
+    next value  100  1000    10   100     0     0
+    subtract      -     x     -     x     -     -     (value < next value)
+    lanes      1000  -100  1000   -10   100     0     -> sum of the lanes = 1990
+
+Lanes behind the row count as PAD. A lane that is neither a numeral nor PAD, or PAD followed by a numeral,
+rejects the row.
+
+Only compares, blends, a negation and one reduction per row - no shuffles, those aren't intrinsics on every JDK.
+A row must fit into one vector of 16 lanes (128 bit bytes, 256 bit shorts), wider rows go through the scalar kernel.
+
+This source is only compiled on JDK 17+ (profile "vector") and loaded by reflection,
+see BulkRomanNumeralDecoder.loadVectorKernel.
+ */
+final class VectorBulkDecoderKernel implements BulkRomanNumeralDecoder.Kernel {
+
+    private static final short[] SYMBOL = new short[RomanSymbolIndex.SYMBOL_COUNT];
+    private static final short[] VALUE = new short[RomanSymbolIndex.SYMBOL_COUNT];
+    static {
+        for (int rank = 0; rank < RomanSymbolIndex.SYMBOL_COUNT; rank++) {
+            SYMBOL[rank] = (short) RomanSymbolIndex.getSymbolByRank(rank);
+            VALUE[rank] = (short) RomanSymbolIndex.getValueByRank(rank);
+        }
+    }
+
+    // the species must be constants, otherwise C2 can't turn the vector operations into instructions.
+    // 16 lanes, also on 512 bit CPUs. Note: on AVX-512 JDK 17 doesn't turn all mask operations into instructions
+    // (the kernel allocates some boxes per row there and is only a little faster than the scalar one), JDK 21 does
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_128;
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_256;
+    private static final int LANES = BYTES.length();
+
+    private final BulkRomanNumeralDecoder.Kernel scalar = new BulkRomanNumeralDecoder.ScalarKernel();
+
+    VectorBulkDecoderKernel() {
+        int maxShortLanes = ShortVector.SPECIES_PREFERRED.length();
+        if (maxShortLanes < 16) {
+            throw new UnsupportedOperationException("vectors with 16 short lanes needed, only " + maxShortLanes + " available");
+        }
+    }
+
+    @Override
+    public int decode(byte[] column, int offset, int width, int rows, int[] values, int valuesOffset) {
+        if (width > LANES) {
+            return scalar.decode(column, offset, width, rows, values, valuesOffset);
+        }
+
+        VectorMask<Byte> row = BYTES.indexInRange(0, width);
+        VectorMask<Byte> rowBehindFirst = BYTES.indexInRange(0, width - 1);
+        ShortVector zero = ShortVector.zero(SHORTS);
+
+        for (int r = 0; r < rows; r++) {
+            int start = offset + r * width;
+            ShortVector numerals = load(column, start, row);
+            ShortVector nextNumerals = load(column, start + 1, rowBehindFirst);
+
+            VectorMask<Short> pad = numerals.compare(VectorOperators.EQ, BulkRomanNumeralDecoder.PAD);
+            VectorMask<Short> nextPad = nextNumerals.compare(VectorOperators.EQ, BulkRomanNumeralDecoder.PAD);
+            if (pad.andNot(nextPad).anyTrue()) {
+                return r; // numeral behind the padding
+            }
+
+            VectorMask<Short> known = pad;
+            ShortVector value = zero;
+            ShortVector nextValue = zero;
+            for (int i = 0; i < SYMBOL.length; i++) {
+                VectorMask<Short> numeral = numerals.compare(VectorOperators.EQ, SYMBOL[i]);
+                known = known.or(numeral);
+                value = value.blend(VALUE[i], numeral);
+                nextValue = nextValue.blend(VALUE[i], nextNumerals.compare(VectorOperators.EQ, SYMBOL[i]));
+            }
+            if (!known.allTrue()) {
+                return r;
+            }
+
+            VectorMask<Short> subtract = value.compare(VectorOperators.LT, nextValue);
+            int sum = value.lanewise(VectorOperators.NEG, subtract).reduceLanes(VectorOperators.ADD);
+            if (sum < RomanNumeralEncoder.MIN_ARABIC_NUMBER || sum > RomanNumeralEncoder.MAX_ARABIC_NUMBER) {
+                return r;
+            }
+            values[valuesOffset + r] = sum;
+        }
+        return -1;
+    }
+
+    // the bytes at start widened to shorts, lanes outside of mask are PAD
+    private static ShortVector load(byte[] column, int start, VectorMask<Byte> mask) {
+        ByteVector b = start + LANES <= column.length
+                ? ByteVector.fromArray(BYTES, column, start)
+                : ByteVector.fromArray(BYTES, column, start, mask);
+        return (ShortVector) b.blend(BulkRomanNumeralDecoder.PAD, mask.not()).convertShape(VectorOperators.B2S, SHORTS, 0);
+    }
+}